@@ -0,0 +1,82 @@
+-- ========================================
+-- BENCHMARK: Appointment Query Plans Before / After Indexes
+-- ========================================
+-- Seeds 10M appointments into a scratch schema and prints EXPLAIN (ANALYZE, BUFFERS)
+-- for the hot AppointmentRepository queries, first with no secondary indexes and then
+-- with the indexes from migration_appointment_indexes.sql.
+--
+-- Run against a disposable database, never production:
+--   psql -d appointments_bench -f benchmark_appointment_indexes.sql > plans.txt
+-- Compare the two "PLANS" sections: sequential scans over 10M rows should turn into
+-- index / index-only scans touching a few buffers.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path = bench;
+
+-- Same columns and checks as public.appointments, without indexes or foreign keys
+CREATE TABLE appointments (LIKE public.appointments INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+
+-- 10M rows: 2,000 sessions of 500 doctors, 1M patients, ~3 years of dates, ~5 per session day,
+-- status mix of a mature system (mostly COMPLETED history, a small live tail)
+INSERT INTO appointments (appointment_id, patient_id, doctor_id, clinic_id, clinic_profile_id, session_id,
+                          appointment_date, queue_number, appointment_type, status, payment_status,
+                          created_at, updated_at)
+SELECT gen_random_uuid(),
+       'pat_' || (i % 1000000),
+       'doc_' || ((i % 2000) % 500),
+       NULL,
+       (i % 50) + 1,
+       (i % 2000) + 1,
+       DATE '2024-01-01' + ((i / 2000) % 1100),
+       (i / 2200000) + 1,
+       CASE WHEN i % 3 = 0 THEN 'VIRTUAL' ELSE 'IN_PERSON' END,
+       CASE
+           WHEN (i / 7) % 100 < 70 THEN 'COMPLETED'
+           WHEN (i / 7) % 100 < 82 THEN 'CANCELLED'
+           WHEN (i / 7) % 100 < 88 THEN 'NO_SHOW'
+           WHEN (i / 7) % 100 < 96 THEN 'BOOKED'
+           WHEN (i / 7) % 100 < 98 THEN 'CHECKED_IN'
+           ELSE 'IN_PROGRESS'
+       END,
+       'PAID',
+       now(), now()
+FROM generate_series(0, 9999999) AS i;
+
+ANALYZE appointments;
+
+-- Sample keys that exist in the data set
+\set doctor_id '''doc_42'''
+\set patient_id '''pat_4242'''
+\set session_id 43
+\set the_date '''2025-06-15'''
+
+\echo ======================================== PLANS: NO SECONDARY INDEXES
+\ir benchmark_appointment_queries.sql
+
+-- Indexes from migration_appointment_indexes.sql (non-concurrent: scratch table)
+CREATE INDEX ON appointments(session_id, appointment_date, status);
+CREATE INDEX ON appointments(doctor_id, appointment_date);
+CREATE INDEX ON appointments(patient_id, appointment_date);
+CREATE INDEX ON appointments(patient_id, doctor_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'NO_SHOW');
+CREATE INDEX ON appointments(patient_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'COMPLETED', 'NO_SHOW');
+CREATE INDEX ON appointments(doctor_id, appointment_date, queue_number)
+    WHERE status IN ('CHECKED_IN', 'IN_PROGRESS');
+CREATE INDEX ON appointments(patient_id, appointment_date DESC, queue_number, appointment_id);
+VACUUM ANALYZE appointments;
+
+\echo ======================================== PLANS: WITH COMPOSITE AND PARTIAL INDEXES
+\ir benchmark_appointment_queries.sql
+
+-- Index sizes: partial indexes stay a fraction of the full ones
+SELECT indexrelid::regclass AS index_name, pg_size_pretty(pg_relation_size(indexrelid)) AS size
+FROM pg_index WHERE indrelid = 'appointments'::regclass ORDER BY pg_relation_size(indexrelid) DESC;
+
+RESET search_path;
@@ -0,0 +1,44 @@
+-- ========================================
+-- Hot appointment queries, run by benchmark_appointment_indexes.sql
+-- Expects search_path = bench and the doctor_id / patient_id / session_id / the_date variables
+-- ========================================
+
+\echo --- Doctor queue for a day (findQueueEntriesByDoctorIdAndDate / getDoctorQueueStatistics)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT status, COUNT(*) FROM appointments
+WHERE doctor_id = :doctor_id AND appointment_date = :the_date
+GROUP BY status;
+
+\echo --- Capacity seed for a session day (SessionDayCapacityRepository.insertIfAbsent)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT COUNT(*) FILTER (WHERE status NOT IN ('CANCELLED', 'NO_SHOW')), COALESCE(MAX(queue_number), 0)
+FROM appointments
+WHERE session_id = :session_id AND appointment_date = :the_date;
+
+\echo --- Duplicate-booking check (findActiveAppointmentByPatientDoctorAndDate)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT appointment_id FROM appointments
+WHERE patient_id = :patient_id AND doctor_id = :doctor_id AND appointment_date = :the_date
+  AND status NOT IN ('CANCELLED', 'NO_SHOW');
+
+\echo --- Upcoming appointments of a patient (findUpcomingAppointmentsByPatientId)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT appointment_id, appointment_date FROM appointments
+WHERE patient_id = :patient_id AND appointment_date >= :the_date
+  AND status NOT IN ('CANCELLED', 'COMPLETED', 'NO_SHOW')
+ORDER BY appointment_date;
+
+\echo --- Live queue rebuild (WaitingRoomRepository.findLiveQueueEntries)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT appointment_id, queue_number FROM appointments
+WHERE doctor_id = :doctor_id AND appointment_date = :the_date
+  AND status IN ('CHECKED_IN', 'IN_PROGRESS')
+ORDER BY queue_number;
+
+\echo --- First keyset page of a patient's history (findListViewPageByPatientId)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT appointment_id, appointment_date, queue_number FROM appointments
+WHERE patient_id = :patient_id
+  AND (appointment_date < DATE '9999-12-31')
+ORDER BY appointment_date DESC, queue_number ASC, appointment_id ASC
+LIMIT 51;
@@ -0,0 +1,98 @@
+// ========================================
+// BENCHMARK: Platform vs Virtual Thread Request Handling (k6 scenario)
+// ========================================
+// Constant arrival rate against the availability search and live queue endpoints.
+// Run through benchmark_virtual_threads.sh, which starts the service once per mode;
+// to run by hand against an already running instance:
+//   k6 run -e BASE_URL=http://localhost:8083 -e DOCTOR_ID=doc_42 -e MODE=virtual benchmark_virtual_threads.js
+//
+// Reported per endpoint: achieved request rate (http_reqs), p50/p95/p99 latency and
+// dropped iterations (arrivals k6 could not start because every VU was still waiting,
+// i.e. the server stopped keeping up).
+//
+// Date: 2026-10-16
+// ========================================
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const DOCTOR_ID = __ENV.DOCTOR_ID || 'doc_42';
+const RATE = parseInt(__ENV.RATE || '1500');
+const DURATION = __ENV.DURATION || '2m';
+const MODE = __ENV.MODE || 'unknown';
+
+export const options = {
+    discardResponseBodies: true,
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    scenarios: {
+        availability_search: {
+            executor: 'constant-arrival-rate',
+            exec: 'availabilitySearch',
+            rate: Math.floor(RATE / 2),
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 500,
+            maxVUs: 2000,
+            tags: { endpoint: 'availability_search' },
+        },
+        doctor_queue: {
+            executor: 'constant-arrival-rate',
+            exec: 'doctorQueue',
+            rate: Math.ceil(RATE / 2),
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 500,
+            maxVUs: 2000,
+            tags: { endpoint: 'doctor_queue' },
+        },
+    },
+    // Per-endpoint sub-metrics so both show up in the summary
+    thresholds: {
+        'http_req_duration{endpoint:availability_search}': ['p(99)>=0'],
+        'http_req_duration{endpoint:doctor_queue}': ['p(99)>=0'],
+        'http_reqs{endpoint:availability_search}': ['count>=0'],
+        'http_reqs{endpoint:doctor_queue}': ['count>=0'],
+        'dropped_iterations': ['count>=0'],
+    },
+};
+
+function searchDate() {
+    // Spread searches over the coming week so the calendar cache sees several keys
+    const date = new Date(Date.now() + (Math.floor(Math.random() * 7) * 86400000));
+    return date.toISOString().substring(0, 10);
+}
+
+export function availabilitySearch() {
+    const res = http.get(`${BASE_URL}/availability/search?date=${searchDate()}`);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function doctorQueue() {
+    const res = http.get(`${BASE_URL}/api/queue/doctor/${DOCTOR_ID}/today`);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    return {
+        [`benchmark_virtual_threads_${MODE}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n=== mode: ${MODE} ===\n` + textSummary(data),
+    };
+}
+
+function textSummary(data) {
+    const lines = [];
+    for (const endpoint of ['availability_search', 'doctor_queue']) {
+        const duration = data.metrics[`http_req_duration{endpoint:${endpoint}}`];
+        const reqs = data.metrics[`http_reqs{endpoint:${endpoint}}`];
+        if (!duration || !reqs) {
+            continue;
+        }
+        const v = duration.values;
+        lines.push(`${endpoint}: ${reqs.values.rate.toFixed(1)} req/s, ` +
+            `p50 ${v['p(50)'].toFixed(1)} ms, p95 ${v['p(95)'].toFixed(1)} ms, p99 ${v['p(99)'].toFixed(1)} ms`);
+    }
+    const dropped = data.metrics.dropped_iterations;
+    lines.push(`dropped iterations: ${dropped ? dropped.values.count : 0}`);
+    return lines.join('\n') + '\n';
+}
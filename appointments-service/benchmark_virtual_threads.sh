@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# ========================================
+# BENCHMARK: Platform vs Virtual Thread Request Handling
+# ========================================
+# Starts the appointments service twice, once with the default Tomcat platform-thread
+# pool and once with VIRTUAL_THREADS_ENABLED=true, and runs benchmark_virtual_threads.js
+# against each. Results land in benchmark_virtual_threads_{platform,virtual}.json and
+# a one-line summary per endpoint is printed for each mode.
+#
+# Requirements: JDK 21, k6, a seeded database and RabbitMQ reachable through the usual
+# environment (.env). Use a database with realistic data and a doctor ID that has
+# appointments today.
+#
+#   ./benchmark_virtual_threads.sh                    # defaults below
+#   RATE=3000 DURATION=5m DOCTOR_ID=doc_7 ./benchmark_virtual_threads.sh
+#
+# The connection pool is raised for both runs so the request threads, not the pool,
+# are the first limit hit; compare p99 and dropped iterations between the modes.
+#
+# Date: 2026-10-16
+# ========================================
+
+set -euo pipefail
+cd "$(dirname "$0")"
+
+PORT="${SERVER_PORT:-8083}"
+BASE_URL="http://localhost:${PORT}"
+export RATE="${RATE:-1500}"
+export DURATION="${DURATION:-2m}"
+export DOCTOR_ID="${DOCTOR_ID:-doc_42}"
+export SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE="${SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE:-50}"
+
+mvn -B -q package -DskipTests
+JAR="$(ls target/appointments-service-*-exec.jar | head -n 1)"
+
+run_mode() {
+    local mode="$1" virtual="$2"
+    echo "=== Starting service (${mode} threads)"
+    VIRTUAL_THREADS_ENABLED="${virtual}" SERVER_PORT="${PORT}" java -jar "${JAR}" > "benchmark_virtual_threads_${mode}.log" 2>&1 &
+    local pid=$!
+    trap "kill ${pid} 2>/dev/null || true" EXIT
+
+    for _ in $(seq 1 60); do
+        if curl -fs "${BASE_URL}/api/queue/health" > /dev/null; then
+            break
+        fi
+        sleep 2
+    done
+
+    # Warm-up: JIT, connection pool, calendar cache
+    k6 run --quiet -e BASE_URL="${BASE_URL}" -e MODE="${mode}-warmup" -e RATE=200 -e DURATION=30s \
+        benchmark_virtual_threads.js > /dev/null
+    k6 run --quiet -e BASE_URL="${BASE_URL}" -e MODE="${mode}" benchmark_virtual_threads.js
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+rm -f benchmark_virtual_threads_*-warmup.json
@@ -0,0 +1,113 @@
+package com.pulseone.appointments_service.benchmarks;
+
+import com.pulseone.appointments_service.dto.request.AvailabilitySearchRequest;
+import com.pulseone.appointments_service.dto.request.BookAppointmentRequest;
+import com.pulseone.appointments_service.enums.AppointmentType;
+import com.pulseone.appointments_service.service.AppointmentService;
+import com.pulseone.appointments_service.service.AvailabilityService;
+import com.pulseone.appointments_service.service.QueueService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the appointment service hot paths against a seeded database of 100, 1k and 10k doctors.
+ * Run with -prof gc for allocation rate (gc.alloc.rate.norm is bytes per call); SQL statements per call
+ * come from the sqlStatements secondary result. See benchmarks/README.md.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(1)
+public class AppointmentsBenchmark {
+
+    /** Bookings spread over this many days ahead, so no (session, date) reaches its queue limit */
+    private static final int BOOKING_HORIZON_DAYS = 364;
+
+    private AppointmentService appointmentService;
+    private AvailabilityService availabilityService;
+    private QueueService queueService;
+    private DatasetSeeder.SessionIndex sessionIndex;
+    private int doctors;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long bookings;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkEnvironment environment) {
+        appointmentService = environment.bean(AppointmentService.class);
+        availabilityService = environment.bean(AvailabilityService.class);
+        queueService = environment.bean(QueueService.class);
+        sessionIndex = environment.sessionIndex();
+        doctors = environment.doctors;
+    }
+
+    @Benchmark
+    public Object bookAppointment(BenchmarkEnvironment environment, SqlStatements sql) {
+        long sequence = bookings++;
+        int doctor = (int) (sequence % doctors);
+        LocalDate date = LocalDate.now().plusDays(1 + (sequence / doctors) % BOOKING_HORIZON_DAYS);
+        boolean weekend = date.getDayOfWeek().getValue() >= 6;
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setPatientId(DatasetSeeder.BENCHMARK_PATIENT_PREFIX + sequence);
+        request.setDoctorId(DatasetSeeder.doctorUserId(doctor));
+        request.setAppointmentDate(date);
+        request.setSessionId(sessionIndex.sessionId(doctor, date.getDayOfWeek()));
+        request.setAppointmentType(weekend ? AppointmentType.VIRTUAL : AppointmentType.IN_PERSON);
+        request.setChiefComplaint("Benchmark booking");
+
+        long before = environment.statementCount();
+        Object response = appointmentService.bookAppointment(request);
+        sql.record(environment, before);
+        return response;
+    }
+
+    @Benchmark
+    public Object searchAvailableDoctors(BenchmarkEnvironment environment, SqlStatements sql) {
+        AvailabilitySearchRequest request = new AvailabilitySearchRequest();
+        request.setDate(LocalDate.now().plusDays(random.nextInt(7)));
+        request.setSpecialization(DatasetSeeder.SPECIALIZATIONS[random.nextInt(DatasetSeeder.SPECIALIZATIONS.length)]);
+
+        long before = environment.statementCount();
+        Object response = availabilityService.searchAvailableDoctors(request);
+        sql.record(environment, before);
+        return response;
+    }
+
+    @Benchmark
+    public Object getDoctorCalendar(BenchmarkEnvironment environment, SqlStatements sql) {
+        String doctorUserId = DatasetSeeder.doctorUserId(random.nextInt(doctors));
+
+        long before = environment.statementCount();
+        Object response = availabilityService.getDoctorCalendar(doctorUserId);
+        sql.record(environment, before);
+        return response;
+    }
+
+    @Benchmark
+    public Object getDoctorQueue(BenchmarkEnvironment environment, SqlStatements sql) {
+        String doctorUserId = DatasetSeeder.doctorUserId(random.nextInt(doctors));
+
+        long before = environment.statementCount();
+        Object response = queueService.getDoctorQueue(doctorUserId, LocalDate.now());
+        sql.record(environment, before);
+        return response;
+    }
+}
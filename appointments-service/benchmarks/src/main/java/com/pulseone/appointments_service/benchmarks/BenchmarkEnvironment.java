@@ -0,0 +1,130 @@
+package com.pulseone.appointments_service.benchmarks;
+
+import com.pulseone.appointments_service.AppointmentsServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One seeded appointments-service per fork: an embedded PostgreSQL, the Spring context started
+ * without a web server or RabbitMQ listeners, and a dataset of the requested number of doctors.
+ * Hibernate statistics are switched on so benchmarks can count the SQL statements each call issues.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkEnvironment {
+
+    @Param({"100", "1000", "10000"})
+    public int doctors;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+    private DatasetSeeder.SessionIndex sessionIndex;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(AppointmentsServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(applicationArguments(postgres.getJdbcUrl("postgres", "postgres")));
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        DatasetSeeder seeder = new DatasetSeeder(jdbcTemplate);
+        seeder.seed(doctors);
+        sessionIndex = seeder.loadSessionIndex(doctors);
+    }
+
+    /**
+     * Drop what bookAppointment wrote during the iteration so every iteration starts from the seeded dataset
+     */
+    @TearDown(Level.Iteration)
+    public void resetBookings() throws InterruptedException {
+        // Let the audit writer flush its buffered history rows before their appointments are deleted
+        Thread.sleep(1000);
+        new DatasetSeeder(jdbcTemplate).deleteBookings();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long statementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public DatasetSeeder.SessionIndex sessionIndex() {
+        return sessionIndex;
+    }
+
+    /**
+     * Values for every placeholder in application.properties without a default, plus the benchmark overrides
+     */
+    private static String[] applicationArguments(String jdbcUrl) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.datasource.url=" + jdbcUrl);
+        args.add("--spring.datasource.username=postgres");
+        args.add("--spring.datasource.password=postgres");
+        args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+        args.add("--spring.jpa.hibernate.ddl-auto=create");
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+        args.add("--spring.jpa.properties.hibernate.generate_statistics=true");
+        args.add("--logging.level.root=WARN");
+        args.add("--logging.level.org.hibernate.SQL=WARN");
+        args.add("--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        args.add("--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+
+        args.add("--server.port=0");
+        args.add("--server.address=127.0.0.1");
+        args.add("--management.endpoints.web.exposure.include=health");
+        args.add("--management.endpoint.health.show-details=never");
+        args.add("--management.endpoints.web.base-path=/actuator");
+        args.add("--spring.web.cors.allowed-origins=*");
+        args.add("--spring.web.cors.allowed-methods=GET");
+        args.add("--spring.web.cors.allowed-headers=*");
+        args.add("--spring.web.cors.allow-credentials=false");
+        args.add("--management.endpoints.web.cors.allowed-origins=*");
+        args.add("--springdoc.api-docs.path=/v3/api-docs");
+        args.add("--springdoc.swagger-ui.path=/swagger-ui.html");
+
+        // No broker: listeners stay stopped and the outbox relay effectively never polls
+        args.add("--spring.rabbitmq.host=localhost");
+        args.add("--spring.rabbitmq.port=5672");
+        args.add("--spring.rabbitmq.username=guest");
+        args.add("--spring.rabbitmq.password=guest");
+        args.add("--spring.rabbitmq.virtual-host=/");
+        args.add("--spring.rabbitmq.connection-timeout=1000");
+        args.add("--spring.rabbitmq.listener.simple.auto-startup=false");
+        args.add("--outbox.relay.poll-interval-ms=86400000");
+        return args.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,124 @@
+package com.pulseone.appointments_service.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+
+/**
+ * Seeds the benchmark dataset with set-based inserts:
+ * one clinic per ten doctors, a weekly schedule per doctor (Monday to Friday in-person at the doctor's
+ * clinic, weekends virtual) and twenty appointments per doctor today in a mix of queue states.
+ * Doctor user IDs are doc_1 .. doc_N.
+ */
+public class DatasetSeeder {
+
+    static final String BENCHMARK_PATIENT_PREFIX = "bench-patient-";
+    static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "General Practice", "Neurology", "Pediatrics"};
+
+    private static final int APPOINTMENTS_TODAY_PER_DOCTOR = 20;
+    private static final int MAX_QUEUE_SIZE = 40;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatasetSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void seed(int doctors) {
+        int clinics = Math.max(1, doctors / 10);
+
+        jdbcTemplate.update(
+                "INSERT INTO clinics (profile_clinic_id, name, address, is_active) " +
+                "SELECT g, 'Clinic ' || g, g || ' Main Street', true FROM generate_series(1, ?) g",
+                clinics);
+
+        jdbcTemplate.update(
+                "INSERT INTO doctors (user_id, name, specialization, is_active, clinic_id) " +
+                "SELECT 'doc_' || g, 'Doctor ' || g, " +
+                "       (ARRAY['Cardiology', 'Dermatology', 'General Practice', 'Neurology', 'Pediatrics'])[1 + g % 5], " +
+                "       true, (SELECT id FROM clinics WHERE profile_clinic_id = 1 + g % ?) " +
+                "FROM generate_series(1, ?) g",
+                clinics, doctors);
+
+        jdbcTemplate.update(
+                "INSERT INTO sessions (doctor_id, doctor_user_id, clinic_id, clinic_profile_id, day_of_week, " +
+                "                      session_start_time, session_end_time, service_type, max_queue_size, " +
+                "                      estimated_consultation_minutes, effective_from, is_active) " +
+                "SELECT d.id, d.user_id, " +
+                "       CASE WHEN dow.n <= 5 THEN c.id END, CASE WHEN dow.n <= 5 THEN c.profile_clinic_id END, " +
+                "       (ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'])[dow.n], " +
+                "       TIME '09:00', TIME '13:00', CASE WHEN dow.n <= 5 THEN 'IN_PERSON' ELSE 'VIRTUAL' END, " +
+                "       ?, 10, CURRENT_DATE - 30, true " +
+                "FROM doctors d JOIN clinics c ON c.id = d.clinic_id CROSS JOIN generate_series(1, 7) dow(n)",
+                MAX_QUEUE_SIZE);
+
+        // Today's queue: completed, in consultation, checked in, no-show and still booked
+        jdbcTemplate.update(
+                "INSERT INTO appointments (appointment_id, patient_id, doctor_id, clinic_id, clinic_profile_id, " +
+                "                          session_id, appointment_date, queue_number, appointment_type, status, " +
+                "                          payment_status, estimated_start_time, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'seed-patient-' || s.id || '-' || q, s.doctor_user_id, s.clinic_id, " +
+                "       s.clinic_profile_id, s.id, CURRENT_DATE, q, " +
+                "       CASE s.service_type WHEN 'VIRTUAL' THEN 'VIRTUAL' ELSE 'IN_PERSON' END, " +
+                "       CASE WHEN q <= 8 THEN 'COMPLETED' WHEN q = 9 THEN 'IN_PROGRESS' WHEN q <= 12 THEN 'CHECKED_IN' " +
+                "            WHEN q = 13 THEN 'NO_SHOW' ELSE 'BOOKED' END, " +
+                "       'PENDING', CURRENT_DATE + s.session_start_time + (q - 1) * INTERVAL '10 minutes', now(), now() " +
+                "FROM sessions s CROSS JOIN generate_series(1, ?) q " +
+                "WHERE s.day_of_week = (ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'])" +
+                "      [EXTRACT(ISODOW FROM CURRENT_DATE)::int]",
+                APPOINTMENTS_TODAY_PER_DOCTOR);
+
+        jdbcTemplate.update(
+                "INSERT INTO session_day_capacity (session_id, capacity_date, booked_count, last_queue_number) " +
+                "SELECT session_id, appointment_date, COUNT(*) FILTER (WHERE status NOT IN ('CANCELLED', 'NO_SHOW')), " +
+                "       MAX(queue_number) " +
+                "FROM appointments GROUP BY session_id, appointment_date");
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Remove appointments booked by the benchmark and the capacity counters they created
+     */
+    public void deleteBookings() {
+        jdbcTemplate.update(
+                "DELETE FROM appointment_history WHERE appointment_id IN " +
+                "(SELECT appointment_id FROM appointments WHERE patient_id LIKE ?)",
+                BENCHMARK_PATIENT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM appointments WHERE patient_id LIKE ?", BENCHMARK_PATIENT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM session_day_capacity WHERE capacity_date > CURRENT_DATE");
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    /**
+     * Session IDs by doctor number and day of week, so bookings can target a valid session without a lookup
+     */
+    public SessionIndex loadSessionIndex(int doctors) {
+        long[][] sessionIds = new long[doctors][7];
+        jdbcTemplate.query(
+                "SELECT doctor_user_id, day_of_week, id FROM sessions",
+                rs -> {
+                    int doctor = Integer.parseInt(rs.getString("doctor_user_id").substring("doc_".length())) - 1;
+                    int day = DayOfWeek.valueOf(rs.getString("day_of_week")).getValue() - 1;
+                    sessionIds[doctor][day] = rs.getLong("id");
+                });
+        return new SessionIndex(sessionIds);
+    }
+
+    public static String doctorUserId(int doctorIndex) {
+        return "doc_" + (doctorIndex + 1);
+    }
+
+    public static final class SessionIndex {
+
+        private final long[][] sessionIds;
+
+        SessionIndex(long[][] sessionIds) {
+            this.sessionIds = sessionIds;
+        }
+
+        public long sessionId(int doctorIndex, DayOfWeek dayOfWeek) {
+            return sessionIds[doctorIndex][dayOfWeek.getValue() - 1];
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.pulseone.appointments_service.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result with a baseline and exits non-zero on a regression:
+ * allocation per call up by more than the threshold percentage, or at least one more SQL statement
+ * per call on average. Throughput is printed next to the baseline but not gated: single-fork runs on
+ * small machines have confidence intervals wider than the score, so an ops/s gate would only be noise.
+ *
+ *   java RegressionCheck target/jmh-result.json baseline.json 10 [record]
+ *
+ * A missing baseline fails the check, so a misplaced or deleted baseline cannot silently turn it off.
+ * With record set to true the result is written over the baseline instead of being compared, minus the
+ * path of the JVM that ran it.
+ */
+public class RegressionCheck {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final String SQL_METRIC = "sqlStatements";
+    private static final double SQL_TOLERANCE = 0.5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RegressionCheck <result.json> <baseline.json> [threshold-percent] [record]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100.0 : 0.10;
+        boolean record = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        Map<String, Result> current = read(new File(args[0]));
+        print(current);
+
+        File baselineFile = new File(args[1]);
+        if (record) {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode runs = mapper.readTree(new File(args[0]));
+            for (JsonNode run : runs) {
+                ((ObjectNode) run).remove("jvm");
+            }
+            mapper.writerWithDefaultPrettyPrinter().writeValue(baselineFile, runs);
+            System.out.println("Recorded " + args[0] + " as the baseline at " + baselineFile);
+            return;
+        }
+        if (!baselineFile.exists()) {
+            System.err.println("No baseline at " + baselineFile + "; run with -Dbenchmark.record=true to record one.");
+            System.exit(1);
+        }
+        Map<String, Result> baseline = read(baselineFile);
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            Result after = entry.getValue();
+            System.out.printf("%-45s throughput %.1f -> %.1f ops/s (not gated)%n",
+                    entry.getKey(), before.opsPerSecond, after.opsPerSecond);
+            if (before.bytesPerOp > 0 && after.bytesPerOp > before.bytesPerOp * (1 + threshold)) {
+                regressions.add(String.format("%s: allocation %.0f -> %.0f B/op",
+                        entry.getKey(), before.bytesPerOp, after.bytesPerOp));
+            }
+            if (after.sqlPerOp > before.sqlPerOp + SQL_TOLERANCE) {
+                regressions.add(String.format("%s: SQL statements %.2f -> %.2f per op",
+                        entry.getKey(), before.sqlPerOp, after.sqlPerOp));
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Performance regressions against " + baselineFile + ":");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("No regressions against " + baselineFile);
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String benchmark = run.path("benchmark").asText();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            String key = name + "(doctors=" + run.path("params").path("doctors").asText() + ")";
+
+            double ops = run.path("primaryMetric").path("score").asDouble();
+            JsonNode secondary = run.path("secondaryMetrics");
+            double bytesPerOp = secondary.path(ALLOCATION_METRIC).path("score").asDouble(0);
+            double sqlPerOp = ops > 0 ? secondary.path(SQL_METRIC).path("score").asDouble(0) / ops : 0;
+            results.put(key, new Result(ops, bytesPerOp, sqlPerOp));
+        }
+        return results;
+    }
+
+    private static void print(Map<String, Result> results) {
+        System.out.printf("%-45s %14s %14s %10s%n", "Benchmark", "ops/s", "B/op", "SQL/op");
+        results.forEach((key, result) -> System.out.printf("%-45s %14.1f %14.0f %10.2f%n",
+                key, result.opsPerSecond, result.bytesPerOp, result.sqlPerOp));
+    }
+
+    private record Result(double opsPerSecond, double bytesPerOp, double sqlPerOp) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.pulseone.appointments_service.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary JMH result with the number of JDBC statements Hibernate prepared.
+ * Reported in the same unit as the primary score (statements/s next to ops/s), so statements per
+ * operation is their ratio; RegressionCheck prints it. The Hibernate counter is global, so this is
+ * only exact with one benchmark thread, which is how AppointmentsBenchmark runs.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class SqlStatements {
+
+    public long sqlStatements;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        sqlStatements = 0;
+    }
+
+    void record(BenchmarkEnvironment environment, long before) {
+        sqlStatements += environment.statementCount() - before;
+    }
+}
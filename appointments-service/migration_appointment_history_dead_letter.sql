@@ -0,0 +1,30 @@
+-- ========================================
+-- MIGRATION: Dead-Letter Table for Appointment History
+-- ========================================
+-- The audit writer inserts appointment_history rows in batches after commit.
+-- A batch that still fails after its bounded retries is written row by row,
+-- and rows that fail again are parked here instead of being dropped. Once the
+-- cause is fixed they can be copied back:
+--
+--   INSERT INTO appointment_history (history_id, appointment_id, previous_status, new_status,
+--                                    change_reason, changed_by, changed_by_type, changed_at)
+--   SELECT history_id, appointment_id, previous_status, new_status,
+--          change_reason, changed_by, changed_by_type, changed_at
+--   FROM appointment_history_dead_letter
+--   ON CONFLICT (history_id) DO NOTHING;
+--
+-- Date: 2026-10-16
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS appointment_history_dead_letter (
+    history_id UUID PRIMARY KEY,                   -- Same ID the row would have had in appointment_history
+    appointment_id UUID NOT NULL,                  -- No foreign key: kept even if the appointment is gone
+    previous_status VARCHAR(20),
+    new_status VARCHAR(20) NOT NULL,
+    change_reason VARCHAR(500),
+    changed_by VARCHAR(255),
+    changed_by_type VARCHAR(20),
+    changed_at TIMESTAMP NOT NULL,
+    failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    error VARCHAR(1000)                            -- Last insert error
+);
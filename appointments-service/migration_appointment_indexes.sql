@@ -0,0 +1,58 @@
+-- ========================================
+-- MIGRATION: Composite and Partial Appointment Indexes
+-- ========================================
+-- Matches the hot AppointmentRepository / WaitingRoomRepository predicates:
+--   (session_id, appointment_date, status)      capacity seeding, session day lists
+--   (doctor_id, appointment_date)               doctor queue, calendar, statistics
+--   (patient_id, appointment_date)              patient history, duplicate-booking check
+-- Partial indexes cover only the rows the live paths read (active statuses),
+-- so they stay small as CANCELLED / COMPLETED history grows.
+-- Single-column indexes that are a prefix of a composite index are dropped to
+-- cut write amplification on every booking.
+--
+-- Run outside a transaction block (CREATE/DROP INDEX CONCURRENTLY).
+-- Use benchmark_appointment_indexes.sql to compare plans before and after.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+-- Composite indexes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_session_date_status
+    ON appointments(session_id, appointment_date, status);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_doctor_date
+    ON appointments(doctor_id, appointment_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_patient_date
+    ON appointments(patient_id, appointment_date);
+
+-- Partial indexes on active statuses
+-- Duplicate-booking check: findActiveAppointmentByPatientDoctorAndDate
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_patient_doctor_date_active
+    ON appointments(patient_id, doctor_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'NO_SHOW');
+
+-- Upcoming appointments: findUpcomingAppointmentsByPatientId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_patient_upcoming
+    ON appointments(patient_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'COMPLETED', 'NO_SHOW');
+
+-- Live queue rebuild and next-patient lookups: CHECKED_IN / IN_PROGRESS only
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_live_queue
+    ON appointments(doctor_id, appointment_date, queue_number)
+    WHERE status IN ('CHECKED_IN', 'IN_PROGRESS');
+
+-- Audit trail of one appointment in time order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointment_history_appointment_changed_at
+    ON appointment_history(appointment_id, changed_at);
+
+-- Redundant indexes (prefix of a composite index, or too unselective to be used)
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_patient;
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_doctor;
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_session;
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_session_date;
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_status;
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointment_history_appointment;
+
+ANALYZE appointments;
+ANALYZE appointment_history;
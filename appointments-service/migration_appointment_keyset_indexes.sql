@@ -0,0 +1,15 @@
+-- ========================================
+-- MIGRATION: Appointment Keyset Pagination Indexes
+-- ========================================
+-- Supports cursor-based paging of clinic and patient appointment listings,
+-- ordered by (appointment_date DESC, queue_number, appointment_id).
+-- Each page is an index range scan whose cost does not grow with history.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_clinic_keyset
+    ON appointments(clinic_id, appointment_date DESC, queue_number, appointment_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_patient_keyset
+    ON appointments(patient_id, appointment_date DESC, queue_number, appointment_id);
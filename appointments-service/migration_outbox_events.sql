@@ -0,0 +1,26 @@
+-- ========================================
+-- MIGRATION: Transactional Outbox for RabbitMQ Events
+-- ========================================
+-- Outgoing video session requests are inserted here in the same transaction as the
+-- appointment change and published by OutboxRelay with publisher confirms, so booking
+-- never waits on the broker and no event is lost when the broker is down.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(100) NOT NULL,            -- Appointment ID or video session ID
+    event_type VARCHAR(100) NOT NULL,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,                         -- Serialized JSON message body
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,                        -- NULL until the broker confirms the message
+    attempts INTEGER NOT NULL DEFAULT 0,           -- Unconfirmed publish attempts
+    last_error VARCHAR(500)
+);
+
+-- Pending events in publish order; stays small because published rows drop out
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(id) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,186 @@
+-- ========================================
+-- MIGRATION: Range-Partition appointments and appointment_history (OPT-IN)
+-- ========================================
+-- Converts appointments into a table range-partitioned by appointment_date and
+-- appointment_history into one partitioned by changed_at (it has no appointment
+-- date), both with monthly partitions, so old months can be detached and archived
+-- instead of deleted row by row.
+--
+-- Requirements: PostgreSQL 15+ (foreign keys across cross-partition updates).
+-- Take a maintenance window: the data copy holds an exclusive lock on both tables.
+--
+-- Notes:
+--   * A primary key on a partitioned table must include the partition key, so the
+--     keys become (appointment_id, appointment_date) and (history_id, changed_at).
+--     The JPA entities keep their single-column @Id; IDs remain globally unique UUIDs.
+--   * waiting_room and consultation_notes get a denormalized appointment_date
+--     (filled by trigger) so their foreign keys can reference the composite key.
+--     Moving an appointment to another date cascades to them.
+--   * appointment_history no longer has a foreign key to appointments: audit rows
+--     outlive detached appointment partitions.
+--   * Views and the status-change trigger bind to the old table and are dropped here;
+--     re-run their CREATE OR REPLACE VIEW / CREATE TRIGGER statements from schema.sql
+--     (they are idempotent) right after this script.
+--
+-- Detaching a month (history first, it is not referenced by anything):
+--   ALTER TABLE appointment_history DETACH PARTITION appointment_history_2024_01 CONCURRENTLY;
+--   ALTER TABLE appointments DETACH PARTITION appointments_2024_01 CONCURRENTLY;
+--   (waiting_room / consultation_notes rows of that month must be removed or archived first)
+--
+-- Keep future partitions ahead of time, e.g. monthly:
+--   SELECT create_monthly_partitions('appointments', CURRENT_DATE, (CURRENT_DATE + INTERVAL '3 months')::date);
+--   SELECT create_monthly_partitions('appointment_history', CURRENT_DATE, (CURRENT_DATE + INTERVAL '3 months')::date);
+--
+-- Date: 2026-10-16
+-- ========================================
+
+-- Creates the monthly partitions of a partitioned table covering from_date through to_date
+-- Partitions are named <parent_table>_YYYY_MM
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent_table TEXT, from_date DATE, to_date DATE)
+RETURNS VOID AS $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(date_trunc('month', from_date), date_trunc('month', to_date), INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+            parent_table || '_' || to_char(month_start, 'YYYY_MM'),
+            parent_table,
+            month_start,
+            (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Fills appointment_date of rows that reference an appointment
+CREATE OR REPLACE FUNCTION fill_appointment_date()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.appointment_date IS NULL THEN
+        SELECT a.appointment_date INTO NEW.appointment_date
+        FROM appointments a
+        WHERE a.appointment_id = NEW.appointment_id;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+BEGIN;
+
+LOCK TABLE appointments, appointment_history, waiting_room, consultation_notes IN ACCESS EXCLUSIVE MODE;
+
+-- 1. Drop objects bound to the current tables
+DROP TRIGGER IF EXISTS appointment_status_change_trigger ON appointments;
+DROP VIEW IF EXISTS current_queue_status, patient_appointment_summary, current_waiting_room,
+    doctor_queue_dashboard, patient_consultation_history CASCADE;
+
+ALTER TABLE appointment_history DROP CONSTRAINT IF EXISTS appointment_history_appointment_id_fkey;
+ALTER TABLE waiting_room DROP CONSTRAINT IF EXISTS waiting_room_appointment_id_fkey;
+ALTER TABLE consultation_notes DROP CONSTRAINT IF EXISTS consultation_notes_appointment_id_fkey;
+
+-- 2. Partitioned appointments
+CREATE TABLE appointments_partitioned (
+    LIKE appointments INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+    PRIMARY KEY (appointment_id, appointment_date),
+    UNIQUE (session_id, appointment_date, queue_number),
+    FOREIGN KEY (clinic_id) REFERENCES clinics(id) ON DELETE SET NULL,
+    FOREIGN KEY (session_id) REFERENCES sessions(id) ON DELETE CASCADE
+) PARTITION BY RANGE (appointment_date);
+
+SELECT create_monthly_partitions('appointments_partitioned',
+    LEAST(COALESCE((SELECT MIN(appointment_date) FROM appointments), CURRENT_DATE), CURRENT_DATE),
+    GREATEST(COALESCE((SELECT MAX(appointment_date) FROM appointments), CURRENT_DATE),
+             (CURRENT_DATE + INTERVAL '3 months')::date));
+CREATE TABLE appointments_partitioned_default PARTITION OF appointments_partitioned DEFAULT;
+
+INSERT INTO appointments_partitioned SELECT * FROM appointments;
+
+-- 3. Partitioned appointment_history
+CREATE TABLE appointment_history_partitioned (
+    LIKE appointment_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+    PRIMARY KEY (history_id, changed_at)
+) PARTITION BY RANGE (changed_at);
+
+UPDATE appointment_history SET changed_at = CURRENT_TIMESTAMP WHERE changed_at IS NULL;
+ALTER TABLE appointment_history_partitioned ALTER COLUMN changed_at SET NOT NULL;
+
+SELECT create_monthly_partitions('appointment_history_partitioned',
+    LEAST(COALESCE((SELECT MIN(changed_at)::date FROM appointment_history), CURRENT_DATE), CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '3 months')::date);
+CREATE TABLE appointment_history_partitioned_default PARTITION OF appointment_history_partitioned DEFAULT;
+
+INSERT INTO appointment_history_partitioned SELECT * FROM appointment_history;
+
+-- 4. Swap tables and drop the _partitioned infix from partition names
+ALTER TABLE appointments RENAME TO appointments_unpartitioned;
+ALTER TABLE appointments_partitioned RENAME TO appointments;
+ALTER TABLE appointment_history RENAME TO appointment_history_unpartitioned;
+ALTER TABLE appointment_history_partitioned RENAME TO appointment_history;
+
+DO $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent IN ('appointments'::regclass, 'appointment_history'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', partition_name, replace(partition_name, '_partitioned', ''));
+    END LOOP;
+END;
+$$;
+
+-- 5. Indexes (created on the parent, propagated to every partition)
+CREATE INDEX idx_p_appointments_clinic_profile_id ON appointments(clinic_profile_id);
+CREATE INDEX idx_p_appointments_session_date_status ON appointments(session_id, appointment_date, status);
+CREATE INDEX idx_p_appointments_patient_date ON appointments(patient_id, appointment_date);
+CREATE INDEX idx_p_appointments_doctor_date ON appointments(doctor_id, appointment_date);
+CREATE INDEX idx_p_appointments_patient_doctor_date_active ON appointments(patient_id, doctor_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'NO_SHOW');
+CREATE INDEX idx_p_appointments_patient_upcoming ON appointments(patient_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'COMPLETED', 'NO_SHOW');
+CREATE INDEX idx_p_appointments_live_queue ON appointments(doctor_id, appointment_date, queue_number)
+    WHERE status IN ('CHECKED_IN', 'IN_PROGRESS');
+CREATE INDEX idx_p_appointments_clinic_keyset ON appointments(clinic_id, appointment_date DESC, queue_number, appointment_id);
+CREATE INDEX idx_p_appointments_patient_keyset ON appointments(patient_id, appointment_date DESC, queue_number, appointment_id);
+-- Lookups by ID alone (findById) probe each partition's index
+CREATE INDEX idx_p_appointments_id ON appointments(appointment_id);
+
+CREATE INDEX idx_p_appointment_history_appointment_changed_at ON appointment_history(appointment_id, changed_at);
+CREATE INDEX idx_p_appointment_history_changed_by ON appointment_history(changed_by);
+
+-- 6. Referencing tables point at the composite key
+ALTER TABLE waiting_room ADD COLUMN IF NOT EXISTS appointment_date DATE;
+UPDATE waiting_room w SET appointment_date = a.appointment_date
+FROM appointments a WHERE a.appointment_id = w.appointment_id;
+ALTER TABLE waiting_room ALTER COLUMN appointment_date SET NOT NULL;
+ALTER TABLE waiting_room ADD CONSTRAINT fk_waiting_room_appointment
+    FOREIGN KEY (appointment_id, appointment_date) REFERENCES appointments(appointment_id, appointment_date)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+DROP TRIGGER IF EXISTS waiting_room_fill_appointment_date ON waiting_room;
+CREATE TRIGGER waiting_room_fill_appointment_date
+    BEFORE INSERT ON waiting_room
+    FOR EACH ROW EXECUTE FUNCTION fill_appointment_date();
+
+ALTER TABLE consultation_notes ADD COLUMN IF NOT EXISTS appointment_date DATE;
+UPDATE consultation_notes n SET appointment_date = a.appointment_date
+FROM appointments a WHERE a.appointment_id = n.appointment_id;
+ALTER TABLE consultation_notes ALTER COLUMN appointment_date SET NOT NULL;
+ALTER TABLE consultation_notes ADD CONSTRAINT fk_consultation_notes_appointment
+    FOREIGN KEY (appointment_id, appointment_date) REFERENCES appointments(appointment_id, appointment_date)
+    ON UPDATE CASCADE ON DELETE CASCADE;
+DROP TRIGGER IF EXISTS consultation_notes_fill_appointment_date ON consultation_notes;
+CREATE TRIGGER consultation_notes_fill_appointment_date
+    BEFORE INSERT ON consultation_notes
+    FOR EACH ROW EXECUTE FUNCTION fill_appointment_date();
+
+COMMIT;
+
+ANALYZE appointments;
+ANALYZE appointment_history;
+
+-- Once the application is verified against the partitioned tables:
+--   DROP TABLE appointments_unpartitioned;
+--   DROP TABLE appointment_history_unpartitioned;
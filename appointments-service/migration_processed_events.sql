@@ -0,0 +1,18 @@
+-- ========================================
+-- MIGRATION: Processed Event Store for Idempotent Consumers
+-- ========================================
+-- RabbitMQ consumers record each applied event here in the same transaction as
+-- their writes, so redelivered user registration and clinic update events are
+-- dropped instead of being applied again.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_key VARCHAR(200) PRIMARY KEY,            -- Consumer name and event ID
+    consumer VARCHAR(100) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Retention cleanup
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at ON processed_events(processed_at);
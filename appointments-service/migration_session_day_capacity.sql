@@ -0,0 +1,31 @@
+-- ========================================
+-- MIGRATION: Session Day Capacity Counters
+-- ========================================
+-- Adds a materialized booking counter per session per date.
+-- Booking locks and increments a single counter row instead of counting
+-- appointments and reading MAX(queue_number), which keeps capacity checks and
+-- queue numbers correct under concurrent bookings.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS session_day_capacity (
+    id BIGSERIAL PRIMARY KEY,
+    session_id BIGINT NOT NULL REFERENCES sessions(id) ON DELETE CASCADE,
+    capacity_date DATE NOT NULL,                   -- Date the counter applies to
+    booked_count INTEGER NOT NULL DEFAULT 0,       -- Active (not CANCELLED / NO_SHOW) bookings
+    last_queue_number INTEGER NOT NULL DEFAULT 0,  -- Highest queue number issued, never reused
+
+    CONSTRAINT chk_booked_count CHECK (booked_count >= 0),
+    CONSTRAINT uk_session_day_capacity_session_date UNIQUE (session_id, capacity_date)
+);
+
+-- Backfill counters from existing appointments
+INSERT INTO session_day_capacity (session_id, capacity_date, booked_count, last_queue_number)
+SELECT a.session_id,
+       a.appointment_date,
+       COUNT(*) FILTER (WHERE a.status NOT IN ('CANCELLED', 'NO_SHOW')),
+       MAX(a.queue_number)
+FROM appointments a
+GROUP BY a.session_id, a.appointment_date
+ON CONFLICT (session_id, capacity_date) DO NOTHING;
@@ -279,16 +279,22 @@ CREATE TABLE IF NOT EXISTS appointments (
 );
 
 -- Indexes for appointments table
-CREATE INDEX IF NOT EXISTS idx_appointments_patient ON appointments(patient_id);
-CREATE INDEX IF NOT EXISTS idx_appointments_doctor ON appointments(doctor_id);
 CREATE INDEX IF NOT EXISTS idx_appointments_clinic_profile_id ON appointments(clinic_profile_id);
-CREATE INDEX IF NOT EXISTS idx_appointments_session ON appointments(session_id);
 CREATE INDEX IF NOT EXISTS idx_appointments_date ON appointments(appointment_date);
-CREATE INDEX IF NOT EXISTS idx_appointments_status ON appointments(status);
-CREATE INDEX IF NOT EXISTS idx_appointments_session_date ON appointments(session_id, appointment_date);
+CREATE INDEX IF NOT EXISTS idx_appointments_session_date_status ON appointments(session_id, appointment_date, status);
 CREATE INDEX IF NOT EXISTS idx_appointments_patient_date ON appointments(patient_id, appointment_date);
 CREATE INDEX IF NOT EXISTS idx_appointments_doctor_date ON appointments(doctor_id, appointment_date);
 CREATE INDEX IF NOT EXISTS idx_appointments_queue ON appointments(session_id, appointment_date, queue_number);
+-- Partial indexes on active statuses (see migration_appointment_indexes.sql)
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_doctor_date_active ON appointments(patient_id, doctor_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'NO_SHOW');
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_upcoming ON appointments(patient_id, appointment_date)
+    WHERE status NOT IN ('CANCELLED', 'COMPLETED', 'NO_SHOW');
+CREATE INDEX IF NOT EXISTS idx_appointments_live_queue ON appointments(doctor_id, appointment_date, queue_number)
+    WHERE status IN ('CHECKED_IN', 'IN_PROGRESS');
+-- Keyset pagination of clinic and patient listings (appointment_date DESC, queue_number, appointment_id)
+CREATE INDEX IF NOT EXISTS idx_appointments_clinic_keyset ON appointments(clinic_id, appointment_date DESC, queue_number, appointment_id);
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_keyset ON appointments(patient_id, appointment_date DESC, queue_number, appointment_id);
 
 -- Table: appointment_history
 -- ========================================
@@ -310,10 +316,74 @@ CREATE TABLE IF NOT EXISTS appointment_history (
 );
 
 -- Indexes for appointment_history table
-CREATE INDEX IF NOT EXISTS idx_appointment_history_appointment ON appointment_history(appointment_id);
+CREATE INDEX IF NOT EXISTS idx_appointment_history_appointment_changed_at ON appointment_history(appointment_id, changed_at);
 CREATE INDEX IF NOT EXISTS idx_appointment_history_changed_at ON appointment_history(changed_at);
 CREATE INDEX IF NOT EXISTS idx_appointment_history_changed_by ON appointment_history(changed_by);
 
+-- Table: appointment_history_dead_letter
+-- ========================================
+-- History rows the audit writer could not insert after its retries (see migration_appointment_history_dead_letter.sql)
+CREATE TABLE IF NOT EXISTS appointment_history_dead_letter (
+    history_id UUID PRIMARY KEY,                   -- Same ID the row would have had in appointment_history
+    appointment_id UUID NOT NULL,                  -- No foreign key: kept even if the appointment is gone
+    previous_status VARCHAR(20),
+    new_status VARCHAR(20) NOT NULL,
+    change_reason VARCHAR(500),
+    changed_by VARCHAR(255),
+    changed_by_type VARCHAR(20),
+    changed_at TIMESTAMP NOT NULL,
+    failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    error VARCHAR(1000)                            -- Last insert error
+);
+
+-- Table: session_day_capacity
+-- ========================================
+-- Materialized booking counter per session per date (see migration_session_day_capacity.sql)
+CREATE TABLE IF NOT EXISTS session_day_capacity (
+    id BIGSERIAL PRIMARY KEY,
+    session_id BIGINT NOT NULL REFERENCES sessions(id) ON DELETE CASCADE,
+    capacity_date DATE NOT NULL,                   -- Date the counter applies to
+    booked_count INTEGER NOT NULL DEFAULT 0,       -- Active (not CANCELLED / NO_SHOW) bookings
+    last_queue_number INTEGER NOT NULL DEFAULT 0,  -- Highest queue number issued, never reused
+
+    CONSTRAINT chk_booked_count CHECK (booked_count >= 0),
+    CONSTRAINT uk_session_day_capacity_session_date UNIQUE (session_id, capacity_date)
+);
+
+-- ========================================
+-- Table: outbox_events
+-- ========================================
+-- Outgoing RabbitMQ messages published by OutboxRelay (see migration_outbox_events.sql)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(100) NOT NULL,            -- Appointment ID or video session ID
+    event_type VARCHAR(100) NOT NULL,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,                         -- Serialized JSON message body
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,                        -- NULL until the broker confirms the message
+    attempts INTEGER NOT NULL DEFAULT 0,           -- Unconfirmed publish attempts
+    last_error VARCHAR(500)
+);
+
+-- Pending events in publish order; stays small because published rows drop out
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(id) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
+
+-- ========================================
+-- Table: processed_events
+-- ========================================
+-- Events already applied by RabbitMQ consumers (see migration_processed_events.sql)
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_key VARCHAR(200) PRIMARY KEY,            -- Consumer name and event ID
+    consumer VARCHAR(100) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Retention cleanup
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at ON processed_events(processed_at);
+
 -- ========================================
 -- Views for Common Queries - Part 2
 -- ========================================
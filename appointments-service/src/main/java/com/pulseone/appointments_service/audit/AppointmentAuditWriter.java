@@ -0,0 +1,303 @@
+package com.pulseone.appointments_service.audit;
+
+import com.pulseone.appointments_service.enums.AppointmentStatus;
+import com.pulseone.appointments_service.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes appointment_history audit rows off the request path.
+ * A status change is handed over when its transaction commits (rolled back changes are never audited),
+ * queued in a bounded in-memory buffer and inserted by a background writer in JDBC batches.
+ * History IDs and timestamps are assigned when the change is recorded, so rows keep their original
+ * order and can be batch-inserted without database-generated keys.
+ * When the buffer is full the committing thread writes its row itself. A batch that keeps failing is
+ * retried a bounded number of times with backoff, then written row by row; rows that still fail are
+ * parked in appointment_history_dead_letter, and logged in full if even that insert fails.
+ * Rows still buffered when the process dies abruptly are lost.
+ */
+@Component
+public class AppointmentAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentAuditWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO appointment_history " +
+            "(history_id, appointment_id, previous_status, new_status, change_reason, changed_by, changed_by_type, changed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DEAD_LETTER_SQL = "INSERT INTO appointment_history_dead_letter " +
+            "(history_id, appointment_id, previous_status, new_status, change_reason, changed_by, changed_by_type, changed_at, failed_at, error) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxAttempts;
+    private final long maxBackoffMillis;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter failureCounter;
+    private final Counter overflowCounter;
+    private final Counter deadLetterCounter;
+    private final Counter lostCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AppointmentAuditWriter(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${audit.queue.capacity:10000}") int capacity,
+                                  @Value("${audit.batch-size:200}") int batchSize,
+                                  @Value("${audit.flush-interval-ms:200}") long flushIntervalMillis,
+                                  @Value("${audit.max-attempts:5}") int maxAttempts,
+                                  @Value("${audit.max-backoff-ms:5000}") long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("audit.max-attempts must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // Own transaction per batch: after-commit callbacks still see the committed transaction's resources
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoffMillis = maxBackoffMillis;
+
+        Gauge.builder("appointments.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit rows waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("appointments.audit.flush")
+                .description("Time to insert one batch of audit rows")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("appointments.audit.rows.written")
+                .description("Audit rows inserted")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("appointments.audit.flush.failures")
+                .description("Failed audit batch inserts")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("appointments.audit.queue.overflow")
+                .description("Audit rows written by the committing thread because the queue was full")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("appointments.audit.rows.dead_lettered")
+                .description("Audit rows parked in appointment_history_dead_letter after their retries")
+                .register(meterRegistry);
+        this.lostCounter = Counter.builder("appointments.audit.rows.lost")
+                .description("Audit rows that could not be written anywhere and were only logged")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record an appointment status change; the row is queued once the current transaction commits
+     */
+    public void record(UUID appointmentId, AppointmentStatus previousStatus, AppointmentStatus newStatus,
+                       String changeReason, String changedBy, String changedByType) {
+        AuditRecord record = new AuditRecord(UUID.randomUUID(), appointmentId, previousStatus, newStatus,
+                changeReason, changedBy, changedByType, LocalDateTime.now());
+        TransactionCallbacks.afterCommit(() -> enqueue(record));
+    }
+
+    private void enqueue(AuditRecord record) {
+        if (!queue.offer(record)) {
+            overflowCounter.increment();
+            writeOrSalvage(List.of(record));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "appointment-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Flush whatever is left before the datasource goes away
+        List<AuditRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            writeOrSalvage(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    private void runWriter() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flushWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Stop requested; the batch in hand is written or salvaged now, the rest by stop()
+                if (!batch.isEmpty()) {
+                    writeOrSalvage(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retry a failed batch up to audit.max-attempts times with exponential backoff, then salvage it
+     * row by row; the queue absorbs new rows meanwhile
+     */
+    private void flushWithRetry(List<AuditRecord> batch) throws InterruptedException {
+        long backoffMillis = flushIntervalMillis;
+        for (int attempt = 1; attempt < maxAttempts; attempt++) {
+            if (writeBatch(batch)) {
+                return;
+            }
+            if (!running) {
+                throw new InterruptedException();
+            }
+            Thread.sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+        }
+        writeOrSalvage(batch);
+    }
+
+    private void writeOrSalvage(List<AuditRecord> batch) {
+        if (!writeBatch(batch)) {
+            salvage(batch);
+        }
+    }
+
+    /**
+     * Write the rows of a batch that keeps failing one at a time, so a single bad row cannot take
+     * the rest down with it; rows that still fail go to the dead-letter table
+     */
+    private void salvage(List<AuditRecord> batch) {
+        for (AuditRecord record : batch) {
+            try {
+                writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, ps -> bindRow(ps, record)));
+                writtenCounter.increment();
+            } catch (RuntimeException e) {
+                deadLetter(record, e);
+            }
+        }
+    }
+
+    private void deadLetter(AuditRecord record, RuntimeException cause) {
+        String error = String.valueOf(cause.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        String reason = error;
+        try {
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(DEAD_LETTER_SQL, ps -> {
+                bindRow(ps, record);
+                ps.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+                ps.setString(10, reason);
+            }));
+            deadLetterCounter.increment();
+            logger.error("Appointment audit row {} for appointment {} moved to appointment_history_dead_letter: {}",
+                    record.historyId, record.appointmentId, reason);
+        } catch (RuntimeException e) {
+            lostCounter.increment();
+            logger.error("Lost appointment audit row {}", record, e);
+        }
+    }
+
+    private boolean writeBatch(List<AuditRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            writeTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AppointmentAuditWriter::bindRow));
+            writtenCounter.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            logger.error("Failed to write {} appointment audit rows", batch.size(), e);
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void bindRow(PreparedStatement ps, AuditRecord record) throws SQLException {
+        ps.setObject(1, record.historyId);
+        ps.setObject(2, record.appointmentId);
+        ps.setString(3, record.previousStatus != null ? record.previousStatus.name() : null);
+        ps.setString(4, record.newStatus.name());
+        ps.setString(5, record.changeReason);
+        ps.setString(6, record.changedBy);
+        ps.setString(7, record.changedByType);
+        ps.setTimestamp(8, Timestamp.valueOf(record.changedAt));
+    }
+
+    /**
+     * Immutable audit row captured at the time of the change
+     */
+    private static final class AuditRecord {
+        private final UUID historyId;
+        private final UUID appointmentId;
+        private final AppointmentStatus previousStatus;
+        private final AppointmentStatus newStatus;
+        private final String changeReason;
+        private final String changedBy;
+        private final String changedByType;
+        private final LocalDateTime changedAt;
+
+        private AuditRecord(UUID historyId, UUID appointmentId, AppointmentStatus previousStatus,
+                            AppointmentStatus newStatus, String changeReason, String changedBy,
+                            String changedByType, LocalDateTime changedAt) {
+            this.historyId = historyId;
+            this.appointmentId = appointmentId;
+            this.previousStatus = previousStatus;
+            this.newStatus = newStatus;
+            this.changeReason = changeReason;
+            this.changedBy = changedBy;
+            this.changedByType = changedByType;
+            this.changedAt = changedAt;
+        }
+
+        @Override
+        public String toString() {
+            return "AuditRecord{historyId=" + historyId + ", appointmentId=" + appointmentId +
+                    ", previousStatus=" + previousStatus + ", newStatus=" + newStatus +
+                    ", changeReason='" + changeReason + "', changedBy='" + changedBy +
+                    "', changedByType='" + changedByType + "', changedAt=" + changedAt + "}";
+        }
+    }
+}
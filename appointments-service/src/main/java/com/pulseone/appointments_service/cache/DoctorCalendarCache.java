@@ -0,0 +1,113 @@
+package com.pulseone.appointments_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pulseone.appointments_service.dto.response.DoctorCalendarResponse;
+import com.pulseone.appointments_service.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-memory cache of generated doctor calendar days, keyed by (doctorUserId, date).
+ * Entries are evicted by size and TTL, and invalidated when bookings, sessions or overrides change.
+ * Invalidations requested inside a transaction are applied after commit so that a concurrent
+ * reader cannot re-populate an entry with data that is about to change.
+ */
+@Component
+public class DoctorCalendarCache {
+
+    private final Cache<CalendarKey, DoctorCalendarResponse.CalendarDay> cache;
+
+    public DoctorCalendarCache(@Value("${calendar.cache.max-size:50000}") long maxSize,
+                               @Value("${calendar.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Get the calendar days for a doctor and a set of dates.
+     * Missing days are computed together by a single call to the bulk loader and cached.
+     */
+    public Map<LocalDate, DoctorCalendarResponse.CalendarDay> getAll(
+            String doctorUserId, Collection<LocalDate> dates,
+            Function<Set<LocalDate>, Map<LocalDate, DoctorCalendarResponse.CalendarDay>> loader) {
+        List<CalendarKey> keys = dates.stream()
+                .map(date -> new CalendarKey(doctorUserId, date))
+                .collect(Collectors.toList());
+
+        Map<CalendarKey, DoctorCalendarResponse.CalendarDay> cached = cache.getAll(keys, missingKeys -> {
+            Set<LocalDate> missingDates = new HashSet<>();
+            for (CalendarKey key : missingKeys) {
+                missingDates.add(key.date);
+            }
+            Map<CalendarKey, DoctorCalendarResponse.CalendarDay> loaded = new HashMap<>();
+            loader.apply(missingDates).forEach((date, day) -> loaded.put(new CalendarKey(doctorUserId, date), day));
+            return loaded;
+        });
+
+        Map<LocalDate, DoctorCalendarResponse.CalendarDay> result = new HashMap<>();
+        cached.forEach((key, day) -> result.put(key.date, day));
+        return result;
+    }
+
+    /**
+     * Invalidate the entry for a doctor on a specific date
+     */
+    public void invalidate(String doctorUserId, LocalDate date) {
+        TransactionCallbacks.afterCommit(() -> cache.invalidate(new CalendarKey(doctorUserId, date)));
+    }
+
+    /**
+     * Invalidate all entries of a doctor that fall on the given days of the week
+     * (used when a recurring session is created, updated or removed)
+     */
+    public void invalidateDays(String doctorUserId, Collection<DayOfWeek> daysOfWeek) {
+        TransactionCallbacks.afterCommit(() -> cache.asMap().keySet().removeIf(key ->
+                key.doctorUserId.equals(doctorUserId) && daysOfWeek.contains(key.date.getDayOfWeek())));
+    }
+
+    /**
+     * Cache key combining the doctor and the calendar date
+     */
+    private static final class CalendarKey {
+        private final String doctorUserId;
+        private final LocalDate date;
+
+        private CalendarKey(String doctorUserId, LocalDate date) {
+            this.doctorUserId = doctorUserId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CalendarKey)) {
+                return false;
+            }
+            CalendarKey other = (CalendarKey) o;
+            return doctorUserId.equals(other.doctorUserId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorUserId, date);
+        }
+    }
+}
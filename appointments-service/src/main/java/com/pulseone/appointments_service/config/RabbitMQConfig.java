@@ -1,15 +1,19 @@
 package com.pulseone.appointments_service.config;
 
+import com.pulseone.appointments_service.monitoring.SqlStatementMonitor;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.rabbit.listener.adapter.MessageListenerAdapter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import com.pulseone.appointments_service.events.UserEventListener;
 
 /**
  * RabbitMQ configuration for the Appointments Service
@@ -34,6 +38,15 @@ public class RabbitMQConfig {
     public static final String VIDEO_SESSION_RESPONSES_QUEUE = "video-session-responses-appointments";
     public static final String VIDEO_SESSION_RESPONSES_ROUTING_KEY = "video.session.#";
 
+    // Listener container factories, one per consumed queue
+    public static final String USER_REGISTRATION_LISTENER_FACTORY = "userRegistrationListenerFactory";
+    public static final String CLINIC_UPDATE_LISTENER_FACTORY = "clinicUpdateListenerFactory";
+    public static final String VIDEO_CONSULTATION_LISTENER_FACTORY = "videoConsultationListenerFactory";
+    public static final String VIDEO_SESSION_RESPONSES_LISTENER_FACTORY = "videoSessionResponsesListenerFactory";
+
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
     /**
      * Declare the appointments exchange for outgoing events
      */
@@ -142,4 +155,76 @@ public class RabbitMQConfig {
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
         return rabbitTemplate;
     }
+
+    /**
+     * Listener container for user registration events
+     * Batch mode: the listener receives up to batch-size messages and creates doctors in one transaction
+     */
+    @Bean(USER_REGISTRATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory userRegistrationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.user-registration.concurrency:2}") int concurrency,
+            @Value("${rabbitmq.listener.user-registration.max-concurrency:8}") int maxConcurrency,
+            @Value("${rabbitmq.listener.user-registration.prefetch:100}") int prefetch,
+            @Value("${rabbitmq.listener.user-registration.batch-size:50}") int batchSize) {
+        SimpleRabbitListenerContainerFactory factory =
+                listenerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        // Hand over a partial batch when no further message arrives within this time
+        factory.setReceiveTimeout(500L);
+        return factory;
+    }
+
+    /**
+     * Listener container for clinic update events
+     */
+    @Bean(CLINIC_UPDATE_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory clinicUpdateListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.clinic-update.concurrency:1}") int concurrency,
+            @Value("${rabbitmq.listener.clinic-update.max-concurrency:3}") int maxConcurrency,
+            @Value("${rabbitmq.listener.clinic-update.prefetch:20}") int prefetch) {
+        return listenerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+
+    /**
+     * Listener container for video consultation completion events
+     */
+    @Bean(VIDEO_CONSULTATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory videoConsultationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.video-consultation.concurrency:2}") int concurrency,
+            @Value("${rabbitmq.listener.video-consultation.max-concurrency:5}") int maxConcurrency,
+            @Value("${rabbitmq.listener.video-consultation.prefetch:20}") int prefetch) {
+        return listenerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+
+    /**
+     * Listener container for video session responses
+     */
+    @Bean(VIDEO_SESSION_RESPONSES_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory videoSessionResponsesListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.video-session-responses.concurrency:2}") int concurrency,
+            @Value("${rabbitmq.listener.video-session-responses.max-concurrency:5}") int maxConcurrency,
+            @Value("${rabbitmq.listener.video-session-responses.prefetch:20}") int prefetch) {
+        return listenerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+
+    /**
+     * Container factory with the spring.rabbitmq.listener.simple.* defaults applied first
+     */
+    private SimpleRabbitListenerContainerFactory listenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            int concurrency, int maxConcurrency, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
+        factory.setAdviceChain(sqlStatementMonitor.listenerAdvice());
+        return factory;
+    }
 }
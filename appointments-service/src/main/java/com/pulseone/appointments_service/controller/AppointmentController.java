@@ -31,6 +31,9 @@ import java.util.UUID;
 @Tag(name = "Appointment Management", description = "APIs for booking, viewing, and managing appointments")
 public class AppointmentController {
 
+    /** Page size used when a cursor is given without a limit */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     @Autowired
     private AppointmentService appointmentService;
 
@@ -71,7 +74,7 @@ public class AppointmentController {
      * Get all appointments for a specific patient
      */
     @GetMapping("/patient/{patientId}")
-    @Operation(summary = "Get patient appointments", description = "Retrieve all appointments for a specific patient")
+    @Operation(summary = "Get patient appointments", description = "Retrieve all appointments for a specific patient, or one page of them when cursor or limit is given")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Patient appointments retrieved successfully",
                     content = @Content(mediaType = "application/json")),
@@ -80,12 +83,31 @@ public class AppointmentController {
     })
     public ResponseEntity<?> getPatientAppointments(
             @Parameter(description = "Patient's user ID from auth service", required = true)
-            @PathVariable String patientId) {
+            @PathVariable String patientId,
+            @Parameter(description = "Return the lightweight list format without notes, meeting and session details")
+            @RequestParam(defaultValue = "false") boolean summary,
+            @Parameter(description = "Continuation token from a previous page's nextCursor; enables pagination")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-200); enables pagination, default 50 when only cursor is given")
+            @RequestParam(required = false) Integer limit) {
         
         try {
-            List<AppointmentResponse> appointments = appointmentService.getPatientAppointments(patientId);
+            if (cursor != null || limit != null) {
+                int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+                return ResponseEntity.ok(summary
+                        ? appointmentService.getPatientAppointmentSummaryPage(patientId, cursor, pageSize)
+                        : appointmentService.getPatientAppointmentPage(patientId, cursor, pageSize));
+            }
+
+            List<?> appointments = summary
+                    ? appointmentService.getPatientAppointmentSummaries(patientId)
+                    : appointmentService.getPatientAppointments(patientId);
             return ResponseEntity.ok(appointments);
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "An unexpected error occurred while retrieving patient appointments"));
@@ -278,10 +300,14 @@ public class AppointmentController {
     })
     public ResponseEntity<?> getTodayAppointments(
             @Parameter(description = "Clinic ID", required = true)
-            @RequestParam Long clinicId) {
+            @RequestParam Long clinicId,
+            @Parameter(description = "Return the lightweight list format without notes, meeting and session details")
+            @RequestParam(defaultValue = "false") boolean summary) {
         
         try {
-            List<AppointmentResponse> appointments = appointmentService.getTodayAppointments(clinicId);
+            List<?> appointments = summary
+                    ? appointmentService.getTodayAppointmentSummaries(clinicId)
+                    : appointmentService.getTodayAppointments(clinicId);
             return ResponseEntity.ok(Map.of(
                     "clinicId", clinicId,
                     "appointments", appointments,
@@ -334,7 +360,7 @@ public class AppointmentController {
      * Get all appointments for a specific clinic
      */
     @GetMapping("/clinic/{clinicId}")
-    @Operation(summary = "Get clinic appointments", description = "Retrieve all appointments for a specific clinic")
+    @Operation(summary = "Get clinic appointments", description = "Retrieve all appointments for a specific clinic, or one page of them when cursor or limit is given")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Clinic appointments retrieved successfully",
                     content = @Content(mediaType = "application/json")),
@@ -343,14 +369,32 @@ public class AppointmentController {
     })
     public ResponseEntity<?> getClinicAppointments(
             @Parameter(description = "Clinic ID", required = true)
-            @PathVariable Long clinicId) {
+            @PathVariable Long clinicId,
+            @Parameter(description = "Return the lightweight list format without notes, meeting and session details")
+            @RequestParam(defaultValue = "false") boolean summary,
+            @Parameter(description = "Continuation token from a previous page's nextCursor; enables pagination")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-200); enables pagination, default 50 when only cursor is given")
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<AppointmentResponse> appointments = appointmentService.getClinicAppointments(clinicId);
+            if (cursor != null || limit != null) {
+                int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+                return ResponseEntity.ok(summary
+                        ? appointmentService.getClinicAppointmentSummaryPage(clinicId, cursor, pageSize)
+                        : appointmentService.getClinicAppointmentPage(clinicId, cursor, pageSize));
+            }
+
+            List<?> appointments = summary
+                    ? appointmentService.getClinicAppointmentSummaries(clinicId)
+                    : appointmentService.getClinicAppointments(clinicId);
             return ResponseEntity.ok(Map.of(
                     "clinicId", clinicId,
                     "appointments", appointments,
                     "count", appointments.size()
             ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "An unexpected error occurred while retrieving clinic appointments"));
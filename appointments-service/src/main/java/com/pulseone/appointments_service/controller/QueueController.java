@@ -14,8 +14,10 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -264,6 +266,44 @@ public class QueueController {
         }
     }
 
+    // ========================================
+    // LIVE QUEUE STREAMS (SERVER-SENT EVENTS)
+    // ========================================
+
+    @GetMapping(value = "/doctor/{doctorId}/today/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream doctor's queue for today", description = "Sends today's queue as a 'queue-snapshot' event, then a 'queue-delta' event for every check-in, call, consultation start, completion and no-show")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Doctor not found")
+    })
+    public ResponseEntity<SseEmitter> streamDoctorQueueToday(
+            @Parameter(description = "Doctor's user ID", required = true)
+            @PathVariable String doctorId) {
+
+        try {
+            return ResponseEntity.ok(queueService.streamDoctorQueueToday(doctorId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @GetMapping(value = "/waiting-room/patient/{appointmentId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream patient's position in queue", description = "Sends the patient's position as a 'queue-snapshot' event, then a 'queue-delta' event for every change in the same doctor's queue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Appointment not found")
+    })
+    public ResponseEntity<SseEmitter> streamPatientQueuePosition(
+            @Parameter(description = "Appointment ID", required = true)
+            @PathVariable UUID appointmentId) {
+
+        try {
+            return ResponseEntity.ok(queueService.streamPatientQueuePosition(appointmentId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
     // ========================================
     // QUEUE ANALYTICS AND MONITORING
     // ========================================
@@ -14,6 +14,7 @@ public class UserRegistrationEventDTO {
     private String phoneNumber;
     private String timestamp;
     private String eventType;
+    private String eventId;        // Broker delivery identity used for deduplication, null for direct calls
     
     // Clinic-related fields for CLINIC_ADMIN users
     private String clinicName;
@@ -96,6 +97,14 @@ public class UserRegistrationEventDTO {
         this.eventType = eventType;
     }
 
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
     public String getClinicName() {
         return clinicName;
     }
@@ -0,0 +1,136 @@
+package com.pulseone.appointments_service.dto.projection;
+
+import com.pulseone.appointments_service.enums.AppointmentStatus;
+import com.pulseone.appointments_service.enums.AppointmentType;
+import com.pulseone.appointments_service.enums.PaymentStatus;
+import com.pulseone.appointments_service.enums.ServiceType;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Read-only row of an appointment list
+ * Selected with a JPQL constructor expression that joins the session, its doctor and the clinic
+ * once, so list endpoints do not load the LAZY associations of each appointment one by one
+ */
+public class AppointmentListView {
+
+    private final UUID appointmentId;
+    private final String patientId;
+    private final String doctorId;
+    private final LocalDate appointmentDate;
+    private final Integer queueNumber;
+    private final AppointmentType appointmentType;
+    private final AppointmentStatus status;
+    private final String chiefComplaint;
+    private final BigDecimal consultationFee;
+    private final PaymentStatus paymentStatus;
+    private final String paymentId;
+    private final String doctorNotes;
+    private final LocalDateTime estimatedStartTime;
+    private final LocalDateTime actualStartTime;
+    private final LocalDateTime actualEndTime;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final String meetingLink;
+    private final String meetingId;
+
+    // Doctor information (null when the session has no doctor)
+    private final String doctorUserId;
+    private final String doctorName;
+    private final String doctorSpecialization;
+
+    // Clinic information (null for direct doctor bookings)
+    private final Long clinicProfileId;
+    private final String clinicName;
+    private final String clinicAddress;
+
+    // Session information
+    private final Long sessionId;
+    private final DayOfWeek sessionDayOfWeek;
+    private final LocalTime sessionStartTime;
+    private final LocalTime sessionEndTime;
+    private final ServiceType sessionServiceType;
+    private final Integer estimatedConsultationMinutes;
+
+    public AppointmentListView(UUID appointmentId, String patientId, String doctorId, LocalDate appointmentDate,
+                               Integer queueNumber, AppointmentType appointmentType, AppointmentStatus status,
+                               String chiefComplaint, BigDecimal consultationFee, PaymentStatus paymentStatus,
+                               String paymentId, String doctorNotes, LocalDateTime estimatedStartTime,
+                               LocalDateTime actualStartTime, LocalDateTime actualEndTime,
+                               LocalDateTime createdAt, LocalDateTime updatedAt,
+                               String meetingLink, String meetingId,
+                               String doctorUserId, String doctorName, String doctorSpecialization,
+                               Long clinicProfileId, String clinicName, String clinicAddress,
+                               Long sessionId, DayOfWeek sessionDayOfWeek, LocalTime sessionStartTime,
+                               LocalTime sessionEndTime, ServiceType sessionServiceType,
+                               Integer estimatedConsultationMinutes) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.appointmentDate = appointmentDate;
+        this.queueNumber = queueNumber;
+        this.appointmentType = appointmentType;
+        this.status = status;
+        this.chiefComplaint = chiefComplaint;
+        this.consultationFee = consultationFee;
+        this.paymentStatus = paymentStatus;
+        this.paymentId = paymentId;
+        this.doctorNotes = doctorNotes;
+        this.estimatedStartTime = estimatedStartTime;
+        this.actualStartTime = actualStartTime;
+        this.actualEndTime = actualEndTime;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.meetingLink = meetingLink;
+        this.meetingId = meetingId;
+        this.doctorUserId = doctorUserId;
+        this.doctorName = doctorName;
+        this.doctorSpecialization = doctorSpecialization;
+        this.clinicProfileId = clinicProfileId;
+        this.clinicName = clinicName;
+        this.clinicAddress = clinicAddress;
+        this.sessionId = sessionId;
+        this.sessionDayOfWeek = sessionDayOfWeek;
+        this.sessionStartTime = sessionStartTime;
+        this.sessionEndTime = sessionEndTime;
+        this.sessionServiceType = sessionServiceType;
+        this.estimatedConsultationMinutes = estimatedConsultationMinutes;
+    }
+
+    // Getters
+    public UUID getAppointmentId() { return appointmentId; }
+    public String getPatientId() { return patientId; }
+    public String getDoctorId() { return doctorId; }
+    public LocalDate getAppointmentDate() { return appointmentDate; }
+    public Integer getQueueNumber() { return queueNumber; }
+    public AppointmentType getAppointmentType() { return appointmentType; }
+    public AppointmentStatus getStatus() { return status; }
+    public String getChiefComplaint() { return chiefComplaint; }
+    public BigDecimal getConsultationFee() { return consultationFee; }
+    public PaymentStatus getPaymentStatus() { return paymentStatus; }
+    public String getPaymentId() { return paymentId; }
+    public String getDoctorNotes() { return doctorNotes; }
+    public LocalDateTime getEstimatedStartTime() { return estimatedStartTime; }
+    public LocalDateTime getActualStartTime() { return actualStartTime; }
+    public LocalDateTime getActualEndTime() { return actualEndTime; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public String getMeetingLink() { return meetingLink; }
+    public String getMeetingId() { return meetingId; }
+    public String getDoctorUserId() { return doctorUserId; }
+    public String getDoctorName() { return doctorName; }
+    public String getDoctorSpecialization() { return doctorSpecialization; }
+    public Long getClinicProfileId() { return clinicProfileId; }
+    public String getClinicName() { return clinicName; }
+    public String getClinicAddress() { return clinicAddress; }
+    public Long getSessionId() { return sessionId; }
+    public DayOfWeek getSessionDayOfWeek() { return sessionDayOfWeek; }
+    public LocalTime getSessionStartTime() { return sessionStartTime; }
+    public LocalTime getSessionEndTime() { return sessionEndTime; }
+    public ServiceType getSessionServiceType() { return sessionServiceType; }
+    public Integer getEstimatedConsultationMinutes() { return estimatedConsultationMinutes; }
+}
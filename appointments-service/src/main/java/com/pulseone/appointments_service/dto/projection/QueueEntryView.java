@@ -0,0 +1,130 @@
+package com.pulseone.appointments_service.dto.projection;
+
+import com.pulseone.appointments_service.enums.AppointmentStatus;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Read-only row of a doctor's queue list
+ * Selected with a JPQL constructor expression that joins the appointment, its session and its
+ * waiting room entry in one query, so no Appointment entities or lazy proxies are created
+ */
+public class QueueEntryView {
+
+    private final UUID appointmentId;
+    private final String patientId;
+    private final String doctorId;
+    private final LocalDate appointmentDate;
+    private final Integer queueNumber;
+    private final AppointmentStatus status;
+    private final String chiefComplaint;
+    private final Long clinicProfileId;
+
+    // Session information
+    private final LocalTime sessionStartTime;
+    private final Integer estimatedConsultationMinutes;
+
+    // Waiting room information (null when the patient has not checked in)
+    private final LocalDateTime checkedInAt;
+    private final LocalDateTime calledAt;
+    private final String calledBy;
+    private final LocalDateTime consultationStartedAt;
+
+    public QueueEntryView(UUID appointmentId, String patientId, String doctorId, LocalDate appointmentDate,
+                          Integer queueNumber, AppointmentStatus status, String chiefComplaint, Long clinicProfileId,
+                          LocalTime sessionStartTime, Integer estimatedConsultationMinutes,
+                          LocalDateTime checkedInAt, LocalDateTime calledAt, String calledBy,
+                          LocalDateTime consultationStartedAt) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.appointmentDate = appointmentDate;
+        this.queueNumber = queueNumber;
+        this.status = status;
+        this.chiefComplaint = chiefComplaint;
+        this.clinicProfileId = clinicProfileId;
+        this.sessionStartTime = sessionStartTime;
+        this.estimatedConsultationMinutes = estimatedConsultationMinutes;
+        this.checkedInAt = checkedInAt;
+        this.calledAt = calledAt;
+        this.calledBy = calledBy;
+        this.consultationStartedAt = consultationStartedAt;
+    }
+
+    /**
+     * Whether the patient has a waiting room entry
+     */
+    public boolean isCheckedIn() {
+        return checkedInAt != null;
+    }
+
+    /**
+     * Minutes waited since check-in, until called or until now (same rule as WaitingRoom)
+     */
+    public long getWaitTimeMinutes() {
+        if (checkedInAt == null) return 0;
+
+        LocalDateTime endTime = calledAt != null ? calledAt : LocalDateTime.now();
+        return Duration.between(checkedInAt, endTime).toMinutes();
+    }
+
+    // Getters
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public Integer getQueueNumber() {
+        return queueNumber;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public String getChiefComplaint() {
+        return chiefComplaint;
+    }
+
+    public Long getClinicProfileId() {
+        return clinicProfileId;
+    }
+
+    public LocalTime getSessionStartTime() {
+        return sessionStartTime;
+    }
+
+    public Integer getEstimatedConsultationMinutes() {
+        return estimatedConsultationMinutes;
+    }
+
+    public LocalDateTime getCheckedInAt() {
+        return checkedInAt;
+    }
+
+    public LocalDateTime getCalledAt() {
+        return calledAt;
+    }
+
+    public String getCalledBy() {
+        return calledBy;
+    }
+
+    public LocalDateTime getConsultationStartedAt() {
+        return consultationStartedAt;
+    }
+}
@@ -0,0 +1,61 @@
+package com.pulseone.appointments_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * Response DTO for one page of a keyset-paginated appointment listing
+ * Pass nextCursor back as the cursor parameter to fetch the following page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AppointmentPageResponse<T> {
+
+    private List<T> appointments;
+    private Integer count;
+    private String nextCursor;     // Absent on the last page
+    private Boolean hasMore;
+
+    // Constructors
+    public AppointmentPageResponse() {
+    }
+
+    public AppointmentPageResponse(List<T> appointments, String nextCursor) {
+        this.appointments = appointments;
+        this.count = appointments.size();
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters and Setters
+    public List<T> getAppointments() {
+        return appointments;
+    }
+
+    public void setAppointments(List<T> appointments) {
+        this.appointments = appointments;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
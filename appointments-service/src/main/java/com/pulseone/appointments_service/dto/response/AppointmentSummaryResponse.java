@@ -0,0 +1,138 @@
+package com.pulseone.appointments_service.dto.response;
+
+import com.pulseone.appointments_service.enums.AppointmentStatus;
+import com.pulseone.appointments_service.enums.AppointmentType;
+import com.pulseone.appointments_service.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight response DTO for appointment list views
+ * Selected directly by a JPQL constructor expression, without notes, meeting or session details
+ */
+public class AppointmentSummaryResponse {
+
+    private UUID appointmentId;
+    private String patientId;
+    private String doctorId;
+    private String doctorName;
+    private String clinicName;
+    private LocalDate appointmentDate;
+    private Integer queueNumber;
+    private AppointmentType appointmentType;
+    private AppointmentStatus status;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime estimatedStartTime;
+
+    // Constructors
+    public AppointmentSummaryResponse() {
+    }
+
+    public AppointmentSummaryResponse(UUID appointmentId, String patientId, String doctorId, String doctorName,
+                                      String clinicName, LocalDate appointmentDate, Integer queueNumber,
+                                      AppointmentType appointmentType, AppointmentStatus status,
+                                      PaymentStatus paymentStatus, LocalDateTime estimatedStartTime) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.clinicName = clinicName;
+        this.appointmentDate = appointmentDate;
+        this.queueNumber = queueNumber;
+        this.appointmentType = appointmentType;
+        this.status = status;
+        this.paymentStatus = paymentStatus;
+        this.estimatedStartTime = estimatedStartTime;
+    }
+
+    // Getters and Setters
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(UUID appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(String patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public String getClinicName() {
+        return clinicName;
+    }
+
+    public void setClinicName(String clinicName) {
+        this.clinicName = clinicName;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+
+    public Integer getQueueNumber() {
+        return queueNumber;
+    }
+
+    public void setQueueNumber(Integer queueNumber) {
+        this.queueNumber = queueNumber;
+    }
+
+    public AppointmentType getAppointmentType() {
+        return appointmentType;
+    }
+
+    public void setAppointmentType(AppointmentType appointmentType) {
+        this.appointmentType = appointmentType;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AppointmentStatus status) {
+        this.status = status;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public LocalDateTime getEstimatedStartTime() {
+        return estimatedStartTime;
+    }
+
+    public void setEstimatedStartTime(LocalDateTime estimatedStartTime) {
+        this.estimatedStartTime = estimatedStartTime;
+    }
+}
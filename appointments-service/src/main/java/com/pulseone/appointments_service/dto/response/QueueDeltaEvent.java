@@ -0,0 +1,127 @@
+package com.pulseone.appointments_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pulseone.appointments_service.enums.AppointmentStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compact queue change pushed to queue stream subscribers
+ * Carries only the appointment that changed and the doctor's new queue head, so a patient client
+ * can update its own position from its queue number without another request
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QueueDeltaEvent {
+
+    /**
+     * Queue operation that produced the change
+     */
+    public enum Type {
+        CHECKED_IN,
+        CALLED,
+        CONSULTATION_STARTED,
+        COMPLETED,
+        NO_SHOW
+    }
+
+    private Type type;
+    private String doctorId;
+    private LocalDate date;
+    private UUID appointmentId;
+    private Integer queueNumber;
+    private AppointmentStatus status;
+
+    // Queue head after the change
+    private Integer currentQueueNumber;      // Queue number currently being served
+    private Integer nextQueueNumber;         // Next checked-in queue number, absent if none
+
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public QueueDeltaEvent() {}
+
+    public QueueDeltaEvent(Type type, String doctorId, LocalDate date, UUID appointmentId,
+                           Integer queueNumber, AppointmentStatus status) {
+        this.type = type;
+        this.doctorId = doctorId;
+        this.date = date;
+        this.appointmentId = appointmentId;
+        this.queueNumber = queueNumber;
+        this.status = status;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(UUID appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public Integer getQueueNumber() {
+        return queueNumber;
+    }
+
+    public void setQueueNumber(Integer queueNumber) {
+        this.queueNumber = queueNumber;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AppointmentStatus status) {
+        this.status = status;
+    }
+
+    public Integer getCurrentQueueNumber() {
+        return currentQueueNumber;
+    }
+
+    public void setCurrentQueueNumber(Integer currentQueueNumber) {
+        this.currentQueueNumber = currentQueueNumber;
+    }
+
+    public Integer getNextQueueNumber() {
+        return nextQueueNumber;
+    }
+
+    public void setNextQueueNumber(Integer nextQueueNumber) {
+        this.nextQueueNumber = nextQueueNumber;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -17,7 +17,11 @@ import java.util.UUID;
  * Links to sessions and manages the queue position and status.
  */
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_session_date_status", columnList = "session_id, appointment_date, status"),
+        @Index(name = "idx_appointments_doctor_date", columnList = "doctor_id, appointment_date"),
+        @Index(name = "idx_appointments_patient_date", columnList = "patient_id, appointment_date")
+})
 public class Appointment {
 
     @Id
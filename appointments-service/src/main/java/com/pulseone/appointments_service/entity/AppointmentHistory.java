@@ -12,7 +12,9 @@ import java.util.UUID;
  * This provides complete history of appointment lifecycle.
  */
 @Entity
-@Table(name = "appointment_history")
+@Table(name = "appointment_history", indexes = {
+        @Index(name = "idx_appointment_history_appointment_changed_at", columnList = "appointment_id, changed_at")
+})
 public class AppointmentHistory {
 
     @Id
@@ -0,0 +1,95 @@
+package com.pulseone.appointments_service.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Appointment history row the audit writer could not insert into appointment_history after its retries.
+ * Kept without a foreign key so the row survives even when its appointment is gone; once the cause is
+ * fixed the rows can be copied back into appointment_history by history_id.
+ */
+@Entity
+@Table(name = "appointment_history_dead_letter")
+public class AppointmentHistoryDeadLetter {
+
+    @Id
+    @Column(name = "history_id")
+    private UUID historyId;
+
+    @Column(name = "appointment_id", nullable = false)
+    private UUID appointmentId;
+
+    @Column(name = "previous_status", length = 20)
+    private String previousStatus;
+
+    @Column(name = "new_status", nullable = false, length = 20)
+    private String newStatus;
+
+    @Column(name = "change_reason", length = 500)
+    private String changeReason;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    @Column(name = "changed_by_type", length = 20)
+    private String changedByType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * When the row was given up on, and why
+     */
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    // Constructors
+    public AppointmentHistoryDeadLetter() {
+    }
+
+    // Getters
+    public UUID getHistoryId() {
+        return historyId;
+    }
+
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    public String getChangeReason() {
+        return changeReason;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public String getChangedByType() {
+        return changedByType;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
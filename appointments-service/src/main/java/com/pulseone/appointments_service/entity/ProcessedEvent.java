@@ -0,0 +1,57 @@
+package com.pulseone.appointments_service.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker for an incoming event a consumer has already applied.
+ * Inserted in the same transaction as the consumer's writes, so an event counts as processed
+ * exactly when its effects are committed.
+ */
+@Entity
+@Table(name = "processed_events")
+public class ProcessedEvent {
+
+    /**
+     * Consumer name and event ID, e.g. "user-registration:3f2a..."
+     */
+    @Id
+    @Column(name = "event_key", length = 200)
+    private String eventKey;
+
+    @Column(name = "consumer", nullable = false, length = 100)
+    private String consumer;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public ProcessedEvent() {
+    }
+
+    // Getters and Setters
+    public String getEventKey() {
+        return eventKey;
+    }
+
+    public void setEventKey(String eventKey) {
+        this.eventKey = eventKey;
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -0,0 +1,91 @@
+package com.pulseone.appointments_service.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Materialized booking counter for a single session on a single date.
+ * Holds the number of active bookings and the last issued queue number so that
+ * booking and availability checks read one row instead of aggregating appointments.
+ */
+@Entity
+@Table(name = "session_day_capacity",
+       uniqueConstraints = @UniqueConstraint(name = "uk_session_day_capacity_session_date",
+                                             columnNames = {"session_id", "capacity_date"}))
+public class SessionDayCapacity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the session this counter belongs to
+     */
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    /**
+     * Date the counter applies to
+     */
+    @Column(name = "capacity_date", nullable = false)
+    private LocalDate capacityDate;
+
+    /**
+     * Number of active (not cancelled, not no-show) appointments for this session and date
+     */
+    @Column(name = "booked_count", nullable = false)
+    private Integer bookedCount = 0;
+
+    /**
+     * Highest queue number issued for this session and date.
+     * Never decremented, so queue numbers are not reused after a cancellation.
+     */
+    @Column(name = "last_queue_number", nullable = false)
+    private Integer lastQueueNumber = 0;
+
+    // Constructors
+    public SessionDayCapacity() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public LocalDate getCapacityDate() {
+        return capacityDate;
+    }
+
+    public void setCapacityDate(LocalDate capacityDate) {
+        this.capacityDate = capacityDate;
+    }
+
+    public Integer getBookedCount() {
+        return bookedCount;
+    }
+
+    public void setBookedCount(Integer bookedCount) {
+        this.bookedCount = bookedCount;
+    }
+
+    public Integer getLastQueueNumber() {
+        return lastQueueNumber;
+    }
+
+    public void setLastQueueNumber(Integer lastQueueNumber) {
+        this.lastQueueNumber = lastQueueNumber;
+    }
+}
@@ -1,10 +1,12 @@
 package com.pulseone.appointments_service.events;
 
 import com.pulseone.appointments_service.config.RabbitMQConfig;
+import com.pulseone.appointments_service.idempotency.IdempotentConsumer;
 import com.pulseone.appointments_service.service.ClinicSyncService;
 import events.v1.UserEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,18 +29,19 @@ public class ClinicEventListener {
      * Listen for clinic update events
      * This method is called when profile service creates or updates a clinic
      */
-    @RabbitListener(queues = RabbitMQConfig.CLINIC_UPDATE_QUEUE)
+    @RabbitListener(queues = RabbitMQConfig.CLINIC_UPDATE_QUEUE,
+                    containerFactory = RabbitMQConfig.CLINIC_UPDATE_LISTENER_FACTORY)
     @Transactional
-    public void handleClinicUpdate(byte[] message) {
+    public void handleClinicUpdate(Message message) {
         try {
             // Parse the protobuf message
-            UserEvents.ClinicUpdateEvent event = UserEvents.ClinicUpdateEvent.parseFrom(message);
+            UserEvents.ClinicUpdateEvent event = UserEvents.ClinicUpdateEvent.parseFrom(message.getBody());
             
             logger.info("Received clinic update event via RabbitMQ: clinicId={}, eventType={}, name={}", 
                        event.getClinicId(), event.getEventType(), event.getName());
             
             // Process the event using ClinicSyncService
-            clinicSyncService.processClinicUpdateEvent(event);
+            clinicSyncService.processClinicUpdateEvent(IdempotentConsumer.eventId(message), event);
             
             logger.info("Successfully processed clinic update event for clinic ID: {}", event.getClinicId());
             
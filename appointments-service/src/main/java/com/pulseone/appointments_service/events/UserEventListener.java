@@ -1,15 +1,19 @@
 package com.pulseone.appointments_service.events;
 
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import com.pulseone.appointments_service.config.RabbitMQConfig;
 import com.pulseone.appointments_service.dto.UserRegistrationEventDTO;
+import com.pulseone.appointments_service.idempotency.IdempotentConsumer;
 import com.pulseone.appointments_service.service.AppointmentEventService;
 import events.v1.UserEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Listens to user events from RabbitMQ and processes them
  */
@@ -26,41 +30,65 @@ public class UserEventListener {
 
     /**
      * Listen for user registration events
-     * This method is called when a new user registers in the auth service
+     * This method is called when new users register in the auth service; messages arrive in batches
+     * (see RabbitMQConfig.userRegistrationListenerFactory) and are processed in one transaction
      */
-    @RabbitListener(queues = RabbitMQConfig.USER_REGISTRATION_QUEUE)
-    @Transactional
-    public void handleUserRegistration(byte[] message) {
-        try {
-            // Parse the protobuf message
-            UserEvents.UserRegistrationEvent event = UserEvents.UserRegistrationEvent.parseFrom(message);
-            
-            logger.info("Received user registration event for user: {} ({})", event.getUserId(), event.getEmail());
-            
-            // Convert to DTO for processing
-            UserRegistrationEventDTO dto = new UserRegistrationEventDTO();
-            dto.setUserId(event.getUserId());
-            dto.setEmail(event.getEmail());
-            dto.setRole(event.getRole());
-            dto.setFirstName(event.getFirstName());
-            dto.setLastName(event.getLastName());
-            dto.setPhoneNumber(event.getPhoneNumber());
-            dto.setEventType(event.getEventType());
-            
-            // Handle clinic data if present
-            if (event.hasClinicData()) {
-                UserEvents.ClinicData clinicData = event.getClinicData();
-                dto.setClinicName(clinicData.getName());
-                dto.setClinicAddress(clinicData.getPhysicalAddress());
-                dto.setClinicPhone(clinicData.getContactPhone());
-                dto.setClinicOperatingHours(clinicData.getOperatingHours());
+    @RabbitListener(queues = RabbitMQConfig.USER_REGISTRATION_QUEUE,
+                    containerFactory = RabbitMQConfig.USER_REGISTRATION_LISTENER_FACTORY)
+    public void handleUserRegistrations(List<Message> messages) {
+        List<UserRegistrationEventDTO> events = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                UserRegistrationEventDTO dto = toDto(UserEvents.UserRegistrationEvent.parseFrom(message.getBody()));
+                dto.setEventId(IdempotentConsumer.eventId(message));
+                events.add(dto);
+            } catch (Exception e) {
+                logger.error("Error parsing user registration event: {}", e.getMessage(), e);
             }
-            
-            // Process the event using AppointmentEventService
-            appointmentEventService.processUserRegistrationEvent(dto);
-            
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        logger.info("Received {} user registration events", events.size());
+        try {
+            appointmentEventService.processUserRegistrationEvents(events);
         } catch (Exception e) {
-            logger.error("Error processing user registration event: {}", e.getMessage(), e);
+            // One bad event must not drop the whole batch: retry one by one, each in its own transaction
+            logger.warn("Batch of {} user registration events failed, processing individually: {}",
+                    events.size(), e.getMessage());
+            for (UserRegistrationEventDTO event : events) {
+                try {
+                    appointmentEventService.processUserRegistrationEvent(event);
+                } catch (Exception single) {
+                    logger.error("Error processing user registration event for user {}: {}",
+                            event.getUserId(), single.getMessage(), single);
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert the protobuf event to a DTO for processing
+     */
+    private UserRegistrationEventDTO toDto(UserEvents.UserRegistrationEvent event) {
+        UserRegistrationEventDTO dto = new UserRegistrationEventDTO();
+        dto.setUserId(event.getUserId());
+        dto.setEmail(event.getEmail());
+        dto.setRole(event.getRole());
+        dto.setFirstName(event.getFirstName());
+        dto.setLastName(event.getLastName());
+        dto.setPhoneNumber(event.getPhoneNumber());
+        dto.setEventType(event.getEventType());
+        
+        // Handle clinic data if present
+        if (event.hasClinicData()) {
+            UserEvents.ClinicData clinicData = event.getClinicData();
+            dto.setClinicName(clinicData.getName());
+            dto.setClinicAddress(clinicData.getPhysicalAddress());
+            dto.setClinicPhone(clinicData.getContactPhone());
+            dto.setClinicOperatingHours(clinicData.getOperatingHours());
         }
+        return dto;
     }
 }
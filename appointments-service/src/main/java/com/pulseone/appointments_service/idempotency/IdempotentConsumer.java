@@ -0,0 +1,135 @@
+package com.pulseone.appointments_service.idempotency;
+
+import com.pulseone.appointments_service.repository.ProcessedEventRepository;
+import com.pulseone.appointments_service.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Drops redelivered events before their handlers run.
+ * Handlers call claim() inside their own transaction: the event key is inserted into processed_events
+ * together with the handler's writes, so a rolled-back attempt can be retried and a committed one never
+ * runs twice, across restarts and instances.
+ * An in-memory Bloom filter of recently committed keys sits in front of the table: a key it has never seen
+ * goes straight to the claim insert, and only keys it may have seen pay for the read-only lookup that
+ * confirms the duplicate. Retry storms therefore cost one primary key read per duplicate and no writes.
+ * The filter is bounded by keeping two generations and dropping the older one when the newer is full.
+ */
+@Component
+public class IdempotentConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentConsumer.class);
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final MeterRegistry meterRegistry;
+    private final int generationCapacity;
+    private final double falsePositiveProbability;
+    private final int retentionDays;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private int currentInsertions;
+
+    public IdempotentConsumer(ProcessedEventRepository processedEventRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.bloom.expected-insertions:100000}") int generationCapacity,
+                              @Value("${idempotency.bloom.false-positive-probability:0.01}") double falsePositiveProbability,
+                              @Value("${idempotency.retention-days:7}") int retentionDays) {
+        this.processedEventRepository = processedEventRepository;
+        this.meterRegistry = meterRegistry;
+        this.generationCapacity = generationCapacity;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.retentionDays = retentionDays;
+        this.current = new BloomFilter(generationCapacity, falsePositiveProbability);
+        this.previous = new BloomFilter(generationCapacity, falsePositiveProbability);
+    }
+
+    /**
+     * Claim an event for processing in the current transaction.
+     * Returns false when the consumer already processed it; a null event ID is always processed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(String consumer, String eventId) {
+        if (eventId == null) {
+            return true;
+        }
+        String key = consumer + ":" + eventId;
+
+        if (mightHaveSeen(key) && processedEventRepository.existsById(key)) {
+            duplicateCounter(consumer).increment();
+            logger.debug("Dropping duplicate event {} for consumer {}", eventId, consumer);
+            return false;
+        }
+        if (processedEventRepository.insertIfAbsent(key, consumer) == 0) {
+            duplicateCounter(consumer).increment();
+            remember(key);
+            logger.debug("Dropping duplicate event {} for consumer {}", eventId, consumer);
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> remember(key));
+        return true;
+    }
+
+    /**
+     * Event ID of a broker message: the publisher's message ID when set, otherwise a digest of the body.
+     * Redeliveries carry the same bytes, so the digest identifies them without a producer-side ID.
+     */
+    public static String eventId(Message message) {
+        String messageId = message.getMessageProperties().getMessageId();
+        if (messageId != null && !messageId.isBlank()) {
+            return messageId;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(message.getBody());
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Remove markers past the retention period; redeliveries do not arrive that late
+     */
+    @Scheduled(cron = "${idempotency.cleanup.cron:0 30 3 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info("Deleted {} processed event markers older than {} days", deleted, retentionDays);
+        }
+    }
+
+    private boolean mightHaveSeen(String key) {
+        return current.mightContain(key) || previous.mightContain(key);
+    }
+
+    private synchronized void remember(String key) {
+        if (currentInsertions >= generationCapacity) {
+            previous = current;
+            current = new BloomFilter(generationCapacity, falsePositiveProbability);
+            currentInsertions = 0;
+        }
+        current.put(key);
+        currentInsertions++;
+    }
+
+    private Counter duplicateCounter(String consumer) {
+        return Counter.builder("appointments.events.duplicates")
+                .description("Redelivered events dropped before processing")
+                .tag("consumer", consumer)
+                .register(meterRegistry);
+    }
+}
@@ -1,8 +1,10 @@
 package com.pulseone.appointments_service.messaging;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pulseone.appointments_service.config.RabbitMQConfig;
 import com.pulseone.appointments_service.entity.Appointment;
 import com.pulseone.appointments_service.enums.AppointmentStatus;
+import com.pulseone.appointments_service.queue.QueueStateEngine;
 import com.pulseone.appointments_service.repository.AppointmentRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +34,9 @@ public class VideoConsultationEventListener {
     
     @Autowired
     private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueueStateEngine queueStateEngine;
     
     /**
      * Listen for video consultation completion events from the Video Service.
@@ -52,7 +57,8 @@ public class VideoConsultationEventListener {
      * 
      * @param message The RabbitMQ message containing the event
      */
-    @RabbitListener(queues = "video-consultation-events-appointments")
+    @RabbitListener(queues = RabbitMQConfig.VIDEO_CONSULTATION_QUEUE,
+                    containerFactory = RabbitMQConfig.VIDEO_CONSULTATION_LISTENER_FACTORY)
     public void handleVideoConsultationCompleted(String message) {
         try {
             log.info("Received video consultation event from Video Service");
@@ -127,6 +133,7 @@ public class VideoConsultationEventListener {
             
             // Save updated appointment
             appointmentRepository.save(appointment);
+            queueStateEngine.evict(appointment.getDoctorId(), appointment.getAppointmentDate());
             
             log.info("Successfully updated appointment {} to COMPLETED. Consultation duration: {} minutes", 
                     appointmentId, durationMinutes);
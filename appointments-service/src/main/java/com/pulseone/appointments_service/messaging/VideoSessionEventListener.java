@@ -2,6 +2,7 @@ package com.pulseone.appointments_service.messaging;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pulseone.appointments_service.config.RabbitMQConfig;
 import com.pulseone.appointments_service.entity.Appointment;
 import com.pulseone.appointments_service.repository.AppointmentRepository;
 import org.slf4j.Logger;
@@ -33,7 +34,8 @@ public class VideoSessionEventListener {
      * Listen for video session creation success events
      * Updates the appointment with meeting link and ID
      */
-    @RabbitListener(queues = "video-session-responses-appointments")
+    @RabbitListener(queues = RabbitMQConfig.VIDEO_SESSION_RESPONSES_QUEUE,
+                    containerFactory = RabbitMQConfig.VIDEO_SESSION_RESPONSES_LISTENER_FACTORY)
     public void handleVideoSessionCreated(Message message) {
         try {
             // Manually convert message body to String to avoid Jackson deserialization issues
@@ -0,0 +1,137 @@
+package com.pulseone.appointments_service.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate issues and the entities it loads per unit of work in the
+ * appointments service: one HTTP request, or one delivery on the user registration, clinic update,
+ * video consultation or video session response queue (every listener container factory in
+ * RabbitMQConfig carries listenerAdvice).
+ * Counts are published as appointments.sql.statements and appointments.sql.entities.loaded, tagged
+ * with the endpoint or queue, and units above sql.monitor.warn-threshold are logged as likely N+1 loops.
+ * Appointment history rows are inserted by AppointmentAuditWriter through JdbcTemplate, which bypasses
+ * Hibernate, so they are not counted.
+ */
+@Component
+public class SqlStatementMonitor implements StatementInspector, PostLoadEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementMonitor.class);
+
+    private static final ThreadLocal<Unit> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlStatementMonitor(MeterRegistry meterRegistry,
+                               @Value("${sql.monitor.warn-threshold:50}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Unit unit = CURRENT.get();
+        if (unit != null) {
+            unit.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Unit unit = CURRENT.get();
+        if (unit != null) {
+            unit.entities++;
+        }
+    }
+
+    /**
+     * Open a unit of work on this thread; returns false when one is already open (the outer unit counts)
+     */
+    public boolean begin() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Unit());
+        return true;
+    }
+
+    /**
+     * Close the unit opened by begin() and record its counts
+     */
+    public void end(String kind, String name) {
+        Unit unit = CURRENT.get();
+        CURRENT.remove();
+        if (unit == null) {
+            return;
+        }
+
+        DistributionSummary.builder("appointments.sql.statements")
+                .description("SQL statements issued per HTTP request or listener invocation")
+                .tags("kind", kind, "name", name)
+                .register(meterRegistry)
+                .record(unit.statements);
+        DistributionSummary.builder("appointments.sql.entities.loaded")
+                .description("Entities loaded per HTTP request or listener invocation")
+                .tags("kind", kind, "name", name)
+                .register(meterRegistry)
+                .record(unit.entities);
+
+        if (unit.statements > warnThreshold) {
+            Counter.builder("appointments.sql.threshold.exceeded")
+                    .description("Units of work that issued more SQL statements than the warning threshold")
+                    .tags("kind", kind, "name", name)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("{} {} issued {} SQL statements and loaded {} entities (threshold {}); likely an N+1 query",
+                    kind, name, unit.statements, unit.entities, warnThreshold);
+        }
+    }
+
+    /**
+     * Advice for listener containers: one unit per delivery (or per batch), named after the consuming queue
+     */
+    public MethodInterceptor listenerAdvice() {
+        return invocation -> {
+            if (!begin()) {
+                return invocation.proceed();
+            }
+            String queue = "unknown";
+            try {
+                queue = consumerQueue(invocation.getArguments()[1]);
+                return invocation.proceed();
+            } finally {
+                end("rabbit", queue);
+            }
+        };
+    }
+
+    private static String consumerQueue(Object data) {
+        Message message = null;
+        if (data instanceof Message single) {
+            message = single;
+        } else if (data instanceof List<?> batch && !batch.isEmpty() && batch.get(0) instanceof Message first) {
+            message = first;
+        }
+        String queue = message != null ? message.getMessageProperties().getConsumerQueue() : null;
+        return queue != null ? queue : "unknown";
+    }
+
+    private static final class Unit {
+        private int statements;
+        private int entities;
+    }
+}
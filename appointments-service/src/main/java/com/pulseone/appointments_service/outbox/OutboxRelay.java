@@ -0,0 +1,187 @@
+package com.pulseone.appointments_service.outbox;
+
+import com.pulseone.appointments_service.entity.OutboxEvent;
+import com.pulseone.appointments_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes pending outbox_events rows to RabbitMQ.
+ * Each poll claims a batch with FOR UPDATE SKIP LOCKED (so several instances can run the relay),
+ * sends the whole batch, then waits for the publisher confirms and marks acknowledged rows published
+ * in the same transaction. Rows that are nacked or time out stay pending and are retried on the next poll,
+ * which makes delivery at-least-once: consumers must tolerate duplicates.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final int retentionHours;
+
+    private final Timer batchTimer;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                       @Value("${outbox.retention-hours:72}") int retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.retentionHours = retentionHours;
+
+        this.batchTimer = Timer.builder("appointments.outbox.relay.batch")
+                .description("Time to publish and confirm one batch of outbox events")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("appointments.outbox.published")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("appointments.outbox.publish.failures")
+                .description("Outbox event publish attempts that were not confirmed (retried)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain pending events; keeps going while full batches are confirmed, so a backlog is not
+     * limited to one batch per poll interval
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relayPending() {
+        boolean more = true;
+        while (more) {
+            Boolean drainedFullBatch = transactionTemplate.execute(status -> relayBatch());
+            more = Boolean.TRUE.equals(drainedFullBatch);
+        }
+    }
+
+    /**
+     * Remove published events past the retention period
+     */
+    @Scheduled(cron = "${outbox.cleanup.cron:0 15 * * * *}")
+    public void deletePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} published outbox events older than {} hours", deleted, retentionHours);
+        }
+    }
+
+    /**
+     * Publish one claimed batch; returns true when a full batch was published without failures
+     */
+    private boolean relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimPending(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        List<CorrelationData> confirms = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(event.getId()));
+            try {
+                rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+                confirms.add(correlation);
+            } catch (RuntimeException e) {
+                // Broker unreachable: nothing after this will go through either
+                confirms.add(null);
+                markFailed(event, e.getMessage());
+                logger.warn("Failed to publish outbox event {} ({}): {}", event.getId(), event.getEventType(), e.getMessage());
+                break;
+            }
+        }
+
+        // Wait for all confirms of the batch against a single deadline
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMillis);
+        LocalDateTime now = LocalDateTime.now();
+        int published = 0;
+        for (int i = 0; i < confirms.size(); i++) {
+            CorrelationData correlation = confirms.get(i);
+            if (correlation == null) {
+                continue;
+            }
+            OutboxEvent event = batch.get(i);
+            String error = awaitConfirm(correlation, deadline);
+            if (error == null) {
+                event.setPublishedAt(now);
+                published++;
+            } else {
+                markFailed(event, error);
+                logger.warn("Outbox event {} ({}) not confirmed: {}", event.getId(), event.getEventType(), error);
+            }
+        }
+
+        publishedCounter.increment(published);
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return published == batchSize;
+    }
+
+    /**
+     * Returns null when the broker acknowledged the message, otherwise the reason it was not
+     */
+    private String awaitConfirm(CorrelationData correlation, long deadlineNanos) {
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            if (confirm.isAck()) {
+                return null;
+            }
+            return "Nacked by broker: " + confirm.getReason();
+        } catch (TimeoutException e) {
+            return "No publisher confirm within " + confirmTimeoutMillis + " ms";
+        } catch (ExecutionException e) {
+            return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for publisher confirm";
+        }
+    }
+
+    private void markFailed(OutboxEvent event, String error) {
+        failureCounter.increment();
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.getId()))
+                .setType(event.getEventType())
+                .build();
+    }
+}
@@ -0,0 +1,224 @@
+package com.pulseone.appointments_service.queue;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Live in-memory queue of one doctor on one date.
+ * Tracks patients who are checked in (waiting to be called) and in consultation,
+ * so queue position reads are answered without touching the database:
+ * the current queue number, the next patient and the number of patients ahead
+ * are all O(log n) lookups. All methods are thread-safe and idempotent per appointment.
+ */
+public class DoctorDayQueue {
+
+    /**
+     * Stage of an appointment inside the live queue
+     */
+    private enum Stage {
+        WAITING,
+        IN_CONSULTATION
+    }
+
+    private static final Comparator<Entry> BY_QUEUE_NUMBER =
+            Comparator.comparingInt((Entry e) -> e.queueNumber).thenComparing(e -> e.appointmentId);
+
+    private final String doctorName;
+    private final String doctorClinicName;
+    private final Integer defaultConsultationMinutes;
+    private final Map<Long, SessionInfo> sessions;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> waiting = new TreeSet<>(BY_QUEUE_NUMBER);
+    private final TreeSet<Entry> inConsultation = new TreeSet<>(BY_QUEUE_NUMBER);
+    private final QueueNumberCounter active = new QueueNumberCounter();
+
+    public DoctorDayQueue(String doctorName, String doctorClinicName,
+                          Integer defaultConsultationMinutes, Map<Long, SessionInfo> sessions) {
+        this.doctorName = doctorName;
+        this.doctorClinicName = doctorClinicName;
+        this.defaultConsultationMinutes = defaultConsultationMinutes;
+        this.sessions = new HashMap<>(sessions);
+    }
+
+    // Mutations
+
+    /**
+     * Patient checked in and is waiting to be called
+     */
+    public synchronized void checkIn(UUID appointmentId, int queueNumber) {
+        if (entries.containsKey(appointmentId)) {
+            return;
+        }
+        Entry entry = new Entry(appointmentId, queueNumber, Stage.WAITING);
+        entries.put(appointmentId, entry);
+        waiting.add(entry);
+        active.add(queueNumber, 1);
+    }
+
+    /**
+     * Patient was called and is now in consultation
+     */
+    public synchronized void call(UUID appointmentId, int queueNumber) {
+        Entry entry = entries.get(appointmentId);
+        if (entry == null) {
+            entry = new Entry(appointmentId, queueNumber, Stage.IN_CONSULTATION);
+            entries.put(appointmentId, entry);
+            active.add(queueNumber, 1);
+        } else if (entry.stage == Stage.WAITING) {
+            waiting.remove(entry);
+            entry.stage = Stage.IN_CONSULTATION;
+        }
+        inConsultation.add(entry);
+    }
+
+    /**
+     * Patient left the queue (consultation completed, no-show, cancelled)
+     */
+    public synchronized void remove(UUID appointmentId) {
+        Entry entry = entries.remove(appointmentId);
+        if (entry == null) {
+            return;
+        }
+        waiting.remove(entry);
+        inConsultation.remove(entry);
+        active.add(entry.queueNumber, -1);
+    }
+
+    // Reads
+
+    /**
+     * Highest queue number currently in consultation, 0 if none
+     */
+    public synchronized int getCurrentQueueNumber() {
+        return inConsultation.isEmpty() ? 0 : inConsultation.last().queueNumber;
+    }
+
+    /**
+     * Queue number of the next checked-in patient to be called, null if none
+     */
+    public synchronized Integer getNextQueueNumber() {
+        return waiting.isEmpty() ? null : waiting.first().queueNumber;
+    }
+
+    /**
+     * Number of checked-in or in-consultation patients with a lower queue number
+     */
+    public synchronized int countPatientsAhead(int queueNumber) {
+        return active.countBelow(queueNumber);
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public String getDoctorClinicName() {
+        return doctorClinicName;
+    }
+
+    /**
+     * Consultation minutes of the doctor's first session on this day, used for wait estimates
+     */
+    public Integer getDefaultConsultationMinutes() {
+        return defaultConsultationMinutes;
+    }
+
+    /**
+     * Session details for a session of this doctor, null if not known to the queue
+     */
+    public synchronized SessionInfo getSession(Long sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Register session details that were not loaded when the queue was built
+     */
+    public synchronized void putSession(Long sessionId, SessionInfo sessionInfo) {
+        sessions.put(sessionId, sessionInfo);
+    }
+
+    /**
+     * Immutable session details needed for queue responses
+     */
+    public static final class SessionInfo {
+        private final LocalTime startTime;
+        private final Integer estimatedConsultationMinutes;
+
+        public SessionInfo(LocalTime startTime, Integer estimatedConsultationMinutes) {
+            this.startTime = startTime;
+            this.estimatedConsultationMinutes = estimatedConsultationMinutes;
+        }
+
+        public LocalTime getStartTime() {
+            return startTime;
+        }
+
+        public Integer getEstimatedConsultationMinutes() {
+            return estimatedConsultationMinutes;
+        }
+    }
+
+    /**
+     * Appointment inside the live queue
+     */
+    private static final class Entry {
+        private final UUID appointmentId;
+        private final int queueNumber;
+        private Stage stage;
+
+        private Entry(UUID appointmentId, int queueNumber, Stage stage) {
+            this.appointmentId = appointmentId;
+            this.queueNumber = queueNumber;
+            this.stage = stage;
+        }
+    }
+
+    /**
+     * Fenwick tree over queue numbers giving O(log n) "how many below" counts
+     */
+    private static final class QueueNumberCounter {
+        private int[] counts = new int[64];
+        private int[] tree = new int[65];
+
+        void add(int queueNumber, int delta) {
+            if (queueNumber < 0) {
+                return;
+            }
+            ensureCapacity(queueNumber);
+            counts[queueNumber] += delta;
+            for (int i = queueNumber + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        int countBelow(int queueNumber) {
+            int sum = 0;
+            for (int i = Math.min(queueNumber, counts.length); i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        private void ensureCapacity(int queueNumber) {
+            if (queueNumber < counts.length) {
+                return;
+            }
+            int size = counts.length;
+            while (size <= queueNumber) {
+                size *= 2;
+            }
+            counts = Arrays.copyOf(counts, size);
+            tree = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j <= size; j += j & -j) {
+                    tree[j] += counts[i];
+                }
+            }
+        }
+    }
+}
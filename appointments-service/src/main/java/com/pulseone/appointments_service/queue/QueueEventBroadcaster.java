@@ -0,0 +1,238 @@
+package com.pulseone.appointments_service.queue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pulseone.appointments_service.dto.response.QueueDeltaEvent;
+import com.pulseone.appointments_service.entity.Appointment;
+import com.pulseone.appointments_service.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes queue changes to Server-Sent Events subscribers of a (doctor, date) queue.
+ * Each change is serialized to JSON once and the same payload is written to every subscriber.
+ * Deltas are published after commit, so clients never see a change that was rolled back.
+ * Each subscriber has a bounded buffer drained by a small fixed pool of fan-out threads, so a slow
+ * client holds up at most one thread and never the queue operation or other doctors' streams;
+ * a subscriber whose buffer fills up is completed and reconnects to get a fresh snapshot.
+ * Subscribers only receive changes made on the instance they are connected to.
+ */
+@Component
+public class QueueEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueEventBroadcaster.class);
+
+    public static final String DELTA_EVENT = "queue-delta";
+    public static final String SNAPSHOT_EVENT = "queue-snapshot";
+
+    private final Map<ChannelKey, List<Subscriber>> channels = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor fanOutExecutor;
+
+    private final QueueStateEngine queueStateEngine;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int subscriberBufferSize;
+
+    public QueueEventBroadcaster(QueueStateEngine queueStateEngine,
+                                 ObjectMapper objectMapper,
+                                 @Value("${queue.stream.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${queue.stream.fan-out-threads:4}") int fanOutThreads,
+                                 @Value("${queue.stream.fan-out-queue-capacity:10000}") int fanOutQueueCapacity,
+                                 @Value("${queue.stream.subscriber-buffer:64}") int subscriberBufferSize) {
+        this.queueStateEngine = queueStateEngine;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.subscriberBufferSize = subscriberBufferSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // At most one pending drain task per subscriber, so the work queue is bounded by the subscriber count
+        this.fanOutExecutor = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanOutQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "queue-event-fan-out-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Open a stream of queue deltas for a doctor's queue on a date.
+     * The initial snapshot, if any, is sent to this subscriber only.
+     */
+    public SseEmitter subscribe(String doctorId, LocalDate date, Object snapshot) {
+        ChannelKey key = new ChannelKey(doctorId, date);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, subscriberBufferSize);
+        // Add inside the map operation so a concurrent unsubscribe of the last subscriber cannot orphan the list
+        channels.compute(key, (k, subscribers) -> {
+            List<Subscriber> list = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+
+        Runnable unsubscribe = () -> unsubscribe(key, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        if (snapshot != null) {
+            try {
+                emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                unsubscribe.run();
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Publish the change of an appointment to the subscribers of its queue after the transaction commits
+     */
+    public void publish(Appointment appointment, QueueDeltaEvent.Type type) {
+        QueueDeltaEvent event = new QueueDeltaEvent(type, appointment.getDoctorId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentId(), appointment.getQueueNumber(), appointment.getStatus());
+        TransactionCallbacks.afterCommit(() -> broadcast(event));
+    }
+
+    private void broadcast(QueueDeltaEvent event) {
+        ChannelKey key = new ChannelKey(event.getDoctorId(), event.getDate());
+        List<Subscriber> subscribers = channels.get(key);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        // Queue head as of the committed change
+        DoctorDayQueue queue = queueStateEngine.getQueue(event.getDoctorId(), event.getDate());
+        event.setCurrentQueueNumber(queue.getCurrentQueueNumber());
+        event.setNextQueueNumber(queue.getNextQueueNumber());
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize queue delta for doctor {} on {}", event.getDoctorId(), event.getDate(), e);
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.pending.offer(payload)) {
+                dropLagging(key, subscriber);
+            } else if (subscriber.draining.compareAndSet(false, true)) {
+                try {
+                    fanOutExecutor.execute(() -> drain(key, subscriber));
+                } catch (RejectedExecutionException e) {
+                    dropLagging(key, subscriber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a subscriber's buffered deltas in order; runs on one fan-out thread per subscriber at a time
+     */
+    private void drain(ChannelKey key, Subscriber subscriber) {
+        do {
+            String payload;
+            while ((payload = subscriber.pending.poll()) != null) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().name(DELTA_EVENT).data(payload, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(key, subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // A delta offered after the last poll but before the flag was cleared must not be stranded
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Close a subscriber that cannot keep up; the client reconnects and starts from a fresh snapshot
+     */
+    private void dropLagging(ChannelKey key, Subscriber subscriber) {
+        logger.warn("Closing queue stream for doctor {} on {}: subscriber fell behind", key.doctorId, key.date);
+        unsubscribe(key, subscriber);
+        subscriber.pending.clear();
+        subscriber.emitter.complete();
+    }
+
+    private void unsubscribe(ChannelKey key, Subscriber subscriber) {
+        channels.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOutExecutor.shutdownNow();
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+    }
+
+    /**
+     * An emitter with its bounded buffer of serialized deltas not yet written
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    /**
+     * Channel key combining the doctor and the queue date
+     */
+    private static final class ChannelKey {
+        private final String doctorId;
+        private final LocalDate date;
+
+        private ChannelKey(String doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChannelKey)) {
+                return false;
+            }
+            ChannelKey other = (ChannelKey) o;
+            return doctorId.equals(other.doctorId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorId, date);
+        }
+    }
+}
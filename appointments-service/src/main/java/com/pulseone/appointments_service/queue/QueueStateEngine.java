@@ -0,0 +1,171 @@
+package com.pulseone.appointments_service.queue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pulseone.appointments_service.entity.Appointment;
+import com.pulseone.appointments_service.entity.Doctor;
+import com.pulseone.appointments_service.entity.Session;
+import com.pulseone.appointments_service.repository.DoctorRepository;
+import com.pulseone.appointments_service.repository.SessionRepository;
+import com.pulseone.appointments_service.repository.WaitingRoomRepository;
+import com.pulseone.appointments_service.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Holds the live {@link DoctorDayQueue} of each (doctor, date) in memory.
+ * A queue is built from the database on first access (three queries) and then kept up to date by
+ * the queue operations in QueueService, which still persist every change in the same transaction.
+ * The database stays the durable store: a rolled back change evicts the queue, changes made outside
+ * the queue flow evict it after commit, and every queue is rebuilt after queue.state.ttl-seconds
+ * so instances running side by side converge.
+ */
+@Component
+public class QueueStateEngine {
+
+    private final Cache<QueueKey, DoctorDayQueue> queues;
+    private final DoctorRepository doctorRepository;
+    private final SessionRepository sessionRepository;
+    private final WaitingRoomRepository waitingRoomRepository;
+
+    public QueueStateEngine(DoctorRepository doctorRepository,
+                            SessionRepository sessionRepository,
+                            WaitingRoomRepository waitingRoomRepository,
+                            @Value("${queue.state.max-size:10000}") long maxSize,
+                            @Value("${queue.state.ttl-seconds:60}") long ttlSeconds) {
+        this.doctorRepository = doctorRepository;
+        this.sessionRepository = sessionRepository;
+        this.waitingRoomRepository = waitingRoomRepository;
+        this.queues = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Get the live queue of a doctor on a date, building it from the database if needed
+     */
+    public DoctorDayQueue getQueue(String doctorId, LocalDate date) {
+        return queues.get(new QueueKey(doctorId, date), key -> load(key.doctorId, key.date));
+    }
+
+    /**
+     * Get the live queue an appointment belongs to, registering its session if the queue does not know it yet
+     */
+    public DoctorDayQueue getQueue(Appointment appointment) {
+        DoctorDayQueue queue = getQueue(appointment.getDoctorId(), appointment.getAppointmentDate());
+        Long sessionId = appointment.getSessionId();
+        if (sessionId != null && queue.getSession(sessionId) == null) {
+            Session session = appointment.getSession();
+            queue.putSession(sessionId, new DoctorDayQueue.SessionInfo(
+                    session.getSessionStartTime(), session.getEstimatedConsultationMinutes()));
+        }
+        return queue;
+    }
+
+    /**
+     * Record a check-in
+     */
+    public void checkIn(Appointment appointment) {
+        getQueue(appointment).checkIn(appointment.getAppointmentId(), appointment.getQueueNumber());
+        evictOnRollback(appointment);
+    }
+
+    /**
+     * Record that a patient was called into consultation
+     */
+    public void call(Appointment appointment) {
+        getQueue(appointment).call(appointment.getAppointmentId(), appointment.getQueueNumber());
+        evictOnRollback(appointment);
+    }
+
+    /**
+     * Record that a patient left the queue (completed, no-show)
+     */
+    public void remove(Appointment appointment) {
+        getQueue(appointment).remove(appointment.getAppointmentId());
+        evictOnRollback(appointment);
+    }
+
+    /**
+     * Drop the live queue after commit, for changes made outside the queue operations
+     */
+    public void evict(String doctorId, LocalDate date) {
+        TransactionCallbacks.afterCommit(() -> queues.invalidate(new QueueKey(doctorId, date)));
+    }
+
+    private void evictOnRollback(Appointment appointment) {
+        QueueKey key = new QueueKey(appointment.getDoctorId(), appointment.getAppointmentDate());
+        TransactionCallbacks.afterRollback(() -> queues.invalidate(key));
+    }
+
+    /**
+     * Build the live queue of a doctor on a date from the database
+     */
+    private DoctorDayQueue load(String doctorId, LocalDate date) {
+        Optional<Doctor> doctor = doctorRepository.findByUserId(doctorId);
+        String doctorName = doctor.map(Doctor::getName).orElse(null);
+        String clinicName = doctor.map(Doctor::getClinic).map(c -> c.getName()).orElse(null);
+
+        List<Session> daySessions = sessionRepository.findByDoctorIdAndDayOfWeek(doctorId, date.getDayOfWeek());
+        Map<Long, DoctorDayQueue.SessionInfo> sessions = new HashMap<>();
+        for (Session session : daySessions) {
+            sessions.put(session.getId(), new DoctorDayQueue.SessionInfo(
+                    session.getSessionStartTime(), session.getEstimatedConsultationMinutes()));
+        }
+        Integer defaultMinutes = daySessions.isEmpty() ? null : daySessions.get(0).getEstimatedConsultationMinutes();
+
+        DoctorDayQueue queue = new DoctorDayQueue(doctorName, clinicName, defaultMinutes, sessions);
+        for (Object[] row : waitingRoomRepository.findLiveQueueEntries(doctorId, date)) {
+            UUID appointmentId = (UUID) row[0];
+            Integer queueNumber = (Integer) row[1];
+            LocalDateTime calledAt = (LocalDateTime) row[2];
+            if (calledAt == null) {
+                queue.checkIn(appointmentId, queueNumber);
+            } else {
+                queue.call(appointmentId, queueNumber);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Cache key combining the doctor and the queue date
+     */
+    private static final class QueueKey {
+        private final String doctorId;
+        private final LocalDate date;
+
+        private QueueKey(String doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueueKey)) {
+                return false;
+            }
+            QueueKey other = (QueueKey) o;
+            return doctorId.equals(other.doctorId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorId, date);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.pulseone.appointments_service.repository;
 
+import com.pulseone.appointments_service.dto.projection.AppointmentListView;
+import com.pulseone.appointments_service.dto.projection.QueueEntryView;
+import com.pulseone.appointments_service.dto.response.AppointmentSummaryResponse;
 import com.pulseone.appointments_service.entity.Appointment;
 import com.pulseone.appointments_service.entity.Session;
 import com.pulseone.appointments_service.enums.AppointmentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -41,6 +45,46 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     List<Appointment> findByDoctorIdAndAppointmentDateOrderByQueueNumberAsc(@Param("doctorId") String doctorId, 
                                                                            @Param("date") LocalDate date);
 
+    /**
+     * Get a doctor's queue list for a date as read-only rows, joined with the session and the
+     * waiting room entry in one query
+     */
+    @Query("SELECT new com.pulseone.appointments_service.dto.projection.QueueEntryView(" +
+           "a.appointmentId, a.patientId, a.doctorId, a.appointmentDate, a.queueNumber, a.status, " +
+           "a.chiefComplaint, a.clinicProfileId, s.sessionStartTime, s.estimatedConsultationMinutes, " +
+           "wr.checkedInAt, wr.calledAt, wr.calledBy, wr.consultationStartedAt) " +
+           "FROM Appointment a " +
+           "JOIN a.session s " +
+           "LEFT JOIN WaitingRoom wr ON wr.appointment = a " +
+           "WHERE a.doctorId = :doctorId AND a.appointmentDate = :date " +
+           "ORDER BY a.queueNumber ASC")
+    List<QueueEntryView> findQueueEntriesByDoctorIdAndDate(@Param("doctorId") String doctorId,
+                                                           @Param("date") LocalDate date);
+
+    /**
+     * Get the queue statistics of a doctor on a date in a single pass over the day's appointments.
+     * Returns one row: [total, booked, checkedIn, inProgress, completed, noShow, cancelled,
+     * currentQueueNumber, nextQueueNumber, avgWaitMinutes]
+     */
+    @Query(value = "SELECT " +
+           "COUNT(*), " +
+           "COUNT(*) FILTER (WHERE a.status = 'BOOKED'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'CHECKED_IN'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'IN_PROGRESS'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'COMPLETED'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'NO_SHOW'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'CANCELLED'), " +
+           "COALESCE(MAX(a.queue_number) FILTER (WHERE a.status = 'IN_PROGRESS' AND wr.waiting_room_id IS NOT NULL), 0), " +
+           "MIN(a.queue_number) FILTER (WHERE a.status = 'CHECKED_IN' AND wr.waiting_room_id IS NOT NULL AND wr.called_at IS NULL), " +
+           "AVG(EXTRACT(EPOCH FROM (wr.called_at - wr.checked_in_at)) / 60) " +
+           "    FILTER (WHERE wr.called_at IS NOT NULL AND a.status IN ('COMPLETED', 'IN_PROGRESS')) " +
+           "FROM appointments a " +
+           "LEFT JOIN waiting_room wr ON wr.appointment_id = a.appointment_id " +
+           "WHERE a.doctor_id = :doctorId AND a.appointment_date = :date",
+           nativeQuery = true)
+    List<Object[]> getDoctorQueueStatistics(@Param("doctorId") String doctorId,
+                                            @Param("date") LocalDate date);
+
     /**
      * Get the maximum queue number for a session on a specific date
      */
@@ -107,4 +151,114 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
      */
     @Query("SELECT a FROM Appointment a WHERE a.clinic.profileClinicId = :clinicId ORDER BY a.appointmentDate DESC, a.queueNumber ASC")
     List<Appointment> findByClinicId(@Param("clinicId") Long clinicId);
-}
\ No newline at end of file
+
+    // Read-only list projections: session, doctor and clinic are joined once instead of per row
+
+    String LIST_VIEW_SELECT = "SELECT new com.pulseone.appointments_service.dto.projection.AppointmentListView(" +
+            "a.appointmentId, a.patientId, a.doctorId, a.appointmentDate, a.queueNumber, a.appointmentType, " +
+            "a.status, a.chiefComplaint, a.consultationFee, a.paymentStatus, a.paymentId, a.doctorNotes, " +
+            "a.estimatedStartTime, a.actualStartTime, a.actualEndTime, a.createdAt, a.updatedAt, " +
+            "a.meetingLink, a.meetingId, " +
+            "d.userId, d.name, d.specialization, " +
+            "c.profileClinicId, c.name, c.address, " +
+            "s.id, s.dayOfWeek, s.sessionStartTime, s.sessionEndTime, s.serviceType, s.estimatedConsultationMinutes) " +
+            "FROM Appointment a JOIN a.session s LEFT JOIN s.doctor d LEFT JOIN a.clinic c ";
+
+    String SUMMARY_SELECT = "SELECT new com.pulseone.appointments_service.dto.response.AppointmentSummaryResponse(" +
+            "a.appointmentId, a.patientId, a.doctorId, d.name, c.name, a.appointmentDate, a.queueNumber, " +
+            "a.appointmentType, a.status, a.paymentStatus, a.estimatedStartTime) " +
+            "FROM Appointment a JOIN a.session s LEFT JOIN s.doctor d LEFT JOIN a.clinic c ";
+
+    /**
+     * Find all appointments for a specific clinic as list rows
+     */
+    @Query(LIST_VIEW_SELECT +
+           "WHERE c.profileClinicId = :clinicId ORDER BY a.appointmentDate DESC, a.queueNumber ASC")
+    List<AppointmentListView> findListViewsByClinicId(@Param("clinicId") Long clinicId);
+
+    /**
+     * Find all appointments for a specific clinic as summaries
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE c.profileClinicId = :clinicId ORDER BY a.appointmentDate DESC, a.queueNumber ASC")
+    List<AppointmentSummaryResponse> findSummariesByClinicId(@Param("clinicId") Long clinicId);
+
+    /**
+     * Find all appointments for a specific patient as list rows
+     */
+    @Query(LIST_VIEW_SELECT +
+           "WHERE a.patientId = :patientId ORDER BY a.appointmentDate DESC, a.createdAt DESC")
+    List<AppointmentListView> findListViewsByPatientId(@Param("patientId") String patientId);
+
+    /**
+     * Find all appointments for a specific patient as summaries
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE a.patientId = :patientId ORDER BY a.appointmentDate DESC, a.createdAt DESC")
+    List<AppointmentSummaryResponse> findSummariesByPatientId(@Param("patientId") String patientId);
+
+    /**
+     * Find today's active appointments for a specific clinic as list rows
+     */
+    @Query(LIST_VIEW_SELECT +
+           "WHERE c.profileClinicId = :clinicId AND a.appointmentDate = :today " +
+           "AND a.status NOT IN ('CANCELLED', 'NO_SHOW') ORDER BY a.queueNumber ASC")
+    List<AppointmentListView> findTodayListViewsByClinicId(@Param("clinicId") Long clinicId,
+                                                           @Param("today") LocalDate today);
+
+    /**
+     * Find today's active appointments for a specific clinic as summaries
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE c.profileClinicId = :clinicId AND a.appointmentDate = :today " +
+           "AND a.status NOT IN ('CANCELLED', 'NO_SHOW') ORDER BY a.queueNumber ASC")
+    List<AppointmentSummaryResponse> findTodaySummariesByClinicId(@Param("clinicId") Long clinicId,
+                                                                  @Param("today") LocalDate today);
+
+    // Keyset pages ordered by (appointmentDate DESC, queueNumber ASC, appointmentId ASC), starting after a cursor
+
+    String KEYSET_AFTER_CURSOR = "AND (a.appointmentDate < :cursorDate OR (a.appointmentDate = :cursorDate " +
+            "AND (a.queueNumber > :cursorQueueNumber OR (a.queueNumber = :cursorQueueNumber " +
+            "AND a.appointmentId > :cursorAppointmentId)))) " +
+            "ORDER BY a.appointmentDate DESC, a.queueNumber ASC, a.appointmentId ASC";
+
+    /**
+     * Find a page of a clinic's appointments as list rows
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE c.profileClinicId = :clinicId " + KEYSET_AFTER_CURSOR)
+    List<AppointmentListView> findListViewPageByClinicId(@Param("clinicId") Long clinicId,
+                                                         @Param("cursorDate") LocalDate cursorDate,
+                                                         @Param("cursorQueueNumber") Integer cursorQueueNumber,
+                                                         @Param("cursorAppointmentId") UUID cursorAppointmentId,
+                                                         Limit limit);
+
+    /**
+     * Find a page of a clinic's appointments as summaries
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.profileClinicId = :clinicId " + KEYSET_AFTER_CURSOR)
+    List<AppointmentSummaryResponse> findSummaryPageByClinicId(@Param("clinicId") Long clinicId,
+                                                               @Param("cursorDate") LocalDate cursorDate,
+                                                               @Param("cursorQueueNumber") Integer cursorQueueNumber,
+                                                               @Param("cursorAppointmentId") UUID cursorAppointmentId,
+                                                               Limit limit);
+
+    /**
+     * Find a page of a patient's appointments as list rows
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE a.patientId = :patientId " + KEYSET_AFTER_CURSOR)
+    List<AppointmentListView> findListViewPageByPatientId(@Param("patientId") String patientId,
+                                                          @Param("cursorDate") LocalDate cursorDate,
+                                                          @Param("cursorQueueNumber") Integer cursorQueueNumber,
+                                                          @Param("cursorAppointmentId") UUID cursorAppointmentId,
+                                                          Limit limit);
+
+    /**
+     * Find a page of a patient's appointments as summaries
+     */
+    @Query(SUMMARY_SELECT + "WHERE a.patientId = :patientId " + KEYSET_AFTER_CURSOR)
+    List<AppointmentSummaryResponse> findSummaryPageByPatientId(@Param("patientId") String patientId,
+                                                                @Param("cursorDate") LocalDate cursorDate,
+                                                                @Param("cursorQueueNumber") Integer cursorQueueNumber,
+                                                                @Param("cursorAppointmentId") UUID cursorAppointmentId,
+                                                                Limit limit);
+}
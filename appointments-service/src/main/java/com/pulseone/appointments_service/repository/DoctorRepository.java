@@ -4,6 +4,7 @@ import com.pulseone.appointments_service.entity.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,11 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      */
     Optional<Doctor> findByUserId(String userId);
 
+    /**
+     * Find the doctors among a set of auth service user IDs
+     */
+    List<Doctor> findByUserIdIn(Collection<String> userIds);
+
     /**
      * Find all active doctors
      */
@@ -0,0 +1,34 @@
+package com.pulseone.appointments_service.repository;
+
+import com.pulseone.appointments_service.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent operations.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Claim the oldest pending events for publishing.
+     * Rows claimed by another relay instance are skipped instead of waited on.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL " +
+           "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimPending(@Param("limit") int limit);
+
+    /**
+     * Delete published events older than the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,34 @@
+package com.pulseone.appointments_service.repository;
+
+import com.pulseone.appointments_service.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for ProcessedEvent operations.
+ */
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+
+    /**
+     * Record an event as processed; returns 0 when it already was (or a concurrent consumer got there first)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_events (event_key, consumer, processed_at) " +
+           "VALUES (:eventKey, :consumer, CURRENT_TIMESTAMP) " +
+           "ON CONFLICT (event_key) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("eventKey") String eventKey, @Param("consumer") String consumer);
+
+    /**
+     * Delete markers older than the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,66 @@
+package com.pulseone.appointments_service.repository;
+
+import com.pulseone.appointments_service.entity.SessionDayCapacity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for SessionDayCapacity counter operations.
+ */
+@Repository
+public interface SessionDayCapacityRepository extends JpaRepository<SessionDayCapacity, Long> {
+
+    /**
+     * Find the counter row for a session on a specific date
+     */
+    Optional<SessionDayCapacity> findBySessionIdAndCapacityDate(Long sessionId, LocalDate capacityDate);
+
+    /**
+     * Find and row-lock the counter for a session on a specific date.
+     * Concurrent bookings for the same session and date serialize on this row only.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SessionDayCapacity c WHERE c.sessionId = :sessionId AND c.capacityDate = :date")
+    Optional<SessionDayCapacity> findForUpdate(@Param("sessionId") Long sessionId, @Param("date") LocalDate date);
+
+    /**
+     * Find all counters for a set of sessions within a date range
+     */
+    @Query("SELECT c FROM SessionDayCapacity c WHERE c.sessionId IN :sessionIds " +
+           "AND c.capacityDate >= :startDate AND c.capacityDate <= :endDate")
+    List<SessionDayCapacity> findBySessionIdsAndDateRange(@Param("sessionIds") Collection<Long> sessionIds,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+
+    /**
+     * Create the counter row for a session and date if it does not exist yet.
+     * The row is seeded from existing appointments so counters stay correct for data booked before the table existed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO session_day_capacity (session_id, capacity_date, booked_count, last_queue_number) " +
+           "SELECT :sessionId, :date, " +
+           "COUNT(a.appointment_id) FILTER (WHERE a.status NOT IN ('CANCELLED', 'NO_SHOW')), " +
+           "COALESCE(MAX(a.queue_number), 0) " +
+           "FROM appointments a WHERE a.session_id = :sessionId AND a.appointment_date = :date " +
+           "ON CONFLICT (session_id, capacity_date) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("sessionId") Long sessionId, @Param("date") LocalDate date);
+
+    /**
+     * Atomically decrement the active booking count for a session on a specific date
+     */
+    @Modifying
+    @Query("UPDATE SessionDayCapacity c SET c.bookedCount = c.bookedCount - 1 " +
+           "WHERE c.sessionId = :sessionId AND c.capacityDate = :date AND c.bookedCount > 0")
+    int decrementBookedCount(@Param("sessionId") Long sessionId, @Param("date") LocalDate date);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +38,15 @@ public interface SessionOverrideRepository extends JpaRepository<SessionOverride
                                                    @Param("startDate") LocalDate startDate,
                                                    @Param("endDate") LocalDate endDate);
 
+    /**
+     * Find all overrides for a set of sessions within a date range
+     */
+    @Query("SELECT so FROM SessionOverride so WHERE so.session IN :sessions " +
+           "AND so.overrideDate >= :startDate AND so.overrideDate <= :endDate")
+    List<SessionOverride> findBySessionsAndDateRange(@Param("sessions") Collection<Session> sessions,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
     /**
      * Find all overrides for a doctor's sessions on a specific date
      */
@@ -45,6 +55,15 @@ public interface SessionOverrideRepository extends JpaRepository<SessionOverride
     List<SessionOverride> findByDoctorUserIdAndDate(@Param("doctorUserId") String doctorUserId,
                                                     @Param("date") LocalDate date);
 
+    /**
+     * Find all overrides for a doctor's sessions within a date range
+     */
+    @Query("SELECT so FROM SessionOverride so WHERE so.session.doctor.userId = :doctorUserId " +
+           "AND so.overrideDate >= :startDate AND so.overrideDate <= :endDate")
+    List<SessionOverride> findByDoctorUserIdAndDateRange(@Param("doctorUserId") String doctorUserId,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+
     /**
      * Check if a session has any override on a specific date
      */
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +30,15 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     @Query("SELECT s FROM Session s WHERE s.doctor.userId = :userId AND s.isActive = true ORDER BY s.dayOfWeek ASC, s.sessionStartTime ASC")
     List<Session> findByDoctorUserIdAndIsActiveTrue(@Param("userId") String userId);
 
+    /**
+     * Find all active sessions for a set of doctors in a single query.
+     * Doctor and clinic are fetched eagerly so callers can build responses without extra selects.
+     */
+    @Query("SELECT s FROM Session s JOIN FETCH s.doctor LEFT JOIN FETCH s.clinic " +
+           "WHERE s.doctor IN :doctors AND s.isActive = true " +
+           "ORDER BY s.dayOfWeek ASC, s.sessionStartTime ASC")
+    List<Session> findActiveSessionsForDoctors(@Param("doctors") Collection<Doctor> doctors);
+
     /**
      * Find sessions for a specific doctor ID and day of week
      */
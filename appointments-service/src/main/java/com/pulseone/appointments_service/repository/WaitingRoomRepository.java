@@ -76,6 +76,18 @@ public interface WaitingRoomRepository extends JpaRepository<WaitingRoom, UUID>
     Optional<WaitingRoom> findNextPatientToCall(@Param("doctorId") String doctorId, 
                                                  @Param("date") LocalDate date);
 
+    /**
+     * Get the live queue entries (checked in or in consultation) for a doctor on a specific date.
+     * Returns: [appointmentId, queueNumber, calledAt]
+     */
+    @Query("SELECT a.appointmentId, a.queueNumber, wr.calledAt FROM WaitingRoom wr " +
+           "JOIN wr.appointment a " +
+           "WHERE a.doctorId = :doctorId " +
+           "AND a.appointmentDate = :date " +
+           "AND a.status IN ('CHECKED_IN', 'IN_PROGRESS')")
+    List<Object[]> findLiveQueueEntries(@Param("doctorId") String doctorId,
+                                        @Param("date") LocalDate date);
+
     /**
      * Count patients ahead of a specific queue number who are still waiting
      */
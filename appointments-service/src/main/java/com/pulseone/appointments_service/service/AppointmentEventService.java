@@ -3,14 +3,20 @@ package com.pulseone.appointments_service.service;
 import com.pulseone.appointments_service.dto.UserRegistrationEventDTO;
 import com.pulseone.appointments_service.dto.response.AppointmentResponse;
 import com.pulseone.appointments_service.entity.Doctor;
+import com.pulseone.appointments_service.idempotency.IdempotentConsumer;
 import com.pulseone.appointments_service.repository.DoctorRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service to handle appointment-related entities creation from user registration events
@@ -23,10 +29,14 @@ public class AppointmentEventService {
 
     private static final Logger logger = LoggerFactory.getLogger(AppointmentEventService.class);
 
+    private static final String USER_REGISTRATION_CONSUMER = "user-registration";
+
     private final DoctorRepository doctorRepository;
+    private final IdempotentConsumer idempotentConsumer;
 
-    public AppointmentEventService(DoctorRepository doctorRepository) {
+    public AppointmentEventService(DoctorRepository doctorRepository, IdempotentConsumer idempotentConsumer) {
         this.doctorRepository = doctorRepository;
+        this.idempotentConsumer = idempotentConsumer;
     }
 
     /**
@@ -34,6 +44,14 @@ public class AppointmentEventService {
      * Only creates Doctor records. Clinic records are managed via ClinicSyncService
      */
     public void processUserRegistrationEvent(UserRegistrationEventDTO event) {
+        if (!idempotentConsumer.claim(USER_REGISTRATION_CONSUMER, event.getEventId())) {
+            logger.info("Skipping already processed user registration event for user: {}", event.getUserId());
+            return;
+        }
+        handleUserRegistration(event);
+    }
+
+    private void handleUserRegistration(UserRegistrationEventDTO event) {
         String userId = event.getUserId();
         String role = event.getRole();
 
@@ -58,6 +76,43 @@ public class AppointmentEventService {
         }
     }
 
+    /**
+     * Processes a batch of user registration events in one transaction
+     * Existing doctors are looked up with a single query and missing ones are inserted together
+     */
+    public void processUserRegistrationEvents(List<UserRegistrationEventDTO> events) {
+        // Last event per doctor user wins when a batch contains redeliveries
+        Map<String, UserRegistrationEventDTO> doctorEvents = new LinkedHashMap<>();
+        for (UserRegistrationEventDTO event : events) {
+            if (!idempotentConsumer.claim(USER_REGISTRATION_CONSUMER, event.getEventId())) {
+                logger.info("Skipping already processed user registration event for user: {}", event.getUserId());
+            } else if ("DOCTOR".equals(event.getRole())) {
+                doctorEvents.put(event.getUserId(), event);
+            } else {
+                handleUserRegistration(event);
+            }
+        }
+        if (doctorEvents.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingUserIds = doctorRepository.findByUserIdIn(doctorEvents.keySet()).stream()
+                .map(Doctor::getUserId)
+                .collect(Collectors.toSet());
+
+        List<Doctor> newDoctors = new ArrayList<>();
+        for (UserRegistrationEventDTO event : doctorEvents.values()) {
+            if (existingUserIds.contains(event.getUserId())) {
+                logger.warn("Doctor record already exists for user: {}", event.getUserId());
+            } else {
+                newDoctors.add(buildDoctor(event));
+            }
+        }
+
+        doctorRepository.saveAll(newDoctors);
+        logger.info("Processed {} user registration events, created {} doctor records", events.size(), newDoctors.size());
+    }
+
     /**
      * Creates a Doctor record for users with role "DOCTOR"
      * This allows them to create sessions and accept appointments
@@ -74,25 +129,7 @@ public class AppointmentEventService {
             }
 
             // Create new doctor record
-            Doctor doctor = new Doctor();
-            doctor.setUserId(userId);
-            
-            // Set name from event data
-            String name = event.getFullName();
-            if (name == null || name.trim().isEmpty() || "Unknown User".equals(name)) {
-                // Fallback to email prefix if no name available
-                name = event.getEmail() != null ? event.getEmail().split("@")[0] : "Doctor " + userId;
-            }
-            doctor.setName(name);
-            
-            // Set default specialization (will be updated from profile service later)
-            doctor.setSpecialization("General Medicine");
-            
-            // Set as active by default
-            doctor.setIsActive(true);
-            
-            // Clinic will be null initially - doctor can set it later
-            doctor.setClinic(null);
+            Doctor doctor = buildDoctor(event);
 
             // Save the doctor record
             Doctor savedDoctor = doctorRepository.save(doctor);
@@ -105,6 +142,32 @@ public class AppointmentEventService {
         }
     }
 
+    /**
+     * Builds a new active Doctor from a registration event
+     */
+    private Doctor buildDoctor(UserRegistrationEventDTO event) {
+        Doctor doctor = new Doctor();
+        doctor.setUserId(event.getUserId());
+        
+        // Set name from event data
+        String name = event.getFullName();
+        if (name == null || name.trim().isEmpty() || "Unknown User".equals(name)) {
+            // Fallback to email prefix if no name available
+            name = event.getEmail() != null ? event.getEmail().split("@")[0] : "Doctor " + event.getUserId();
+        }
+        doctor.setName(name);
+        
+        // Set default specialization (will be updated from profile service later)
+        doctor.setSpecialization("General Medicine");
+        
+        // Set as active by default
+        doctor.setIsActive(true);
+        
+        // Clinic will be null initially - doctor can set it later
+        doctor.setClinic(null);
+        return doctor;
+    }
+
     /**
      * Updates an existing doctor record (can be called when profile is updated)
      */
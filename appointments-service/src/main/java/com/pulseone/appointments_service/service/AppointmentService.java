@@ -1,16 +1,24 @@
 package com.pulseone.appointments_service.service;
 
+import com.pulseone.appointments_service.audit.AppointmentAuditWriter;
+import com.pulseone.appointments_service.cache.DoctorCalendarCache;
 import com.pulseone.appointments_service.dto.request.BookAppointmentRequest;
 import com.pulseone.appointments_service.dto.request.UpdateAppointmentRequest;
+import com.pulseone.appointments_service.dto.projection.AppointmentListView;
+import com.pulseone.appointments_service.dto.response.AppointmentPageResponse;
 import com.pulseone.appointments_service.dto.response.AppointmentResponse;
+import com.pulseone.appointments_service.dto.response.AppointmentSummaryResponse;
 import com.pulseone.appointments_service.dto.response.BookingResponse;
 import com.pulseone.appointments_service.entity.*;
 import com.pulseone.appointments_service.enums.AppointmentStatus;
 import com.pulseone.appointments_service.enums.PaymentStatus;
+import com.pulseone.appointments_service.queue.QueueStateEngine;
 import com.pulseone.appointments_service.repository.*;
+import com.pulseone.appointments_service.util.AppointmentCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +30,7 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -33,11 +42,14 @@ public class AppointmentService {
 
     private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
 
+    /** Largest page a keyset listing may request */
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
     @Autowired
-    private AppointmentHistoryRepository appointmentHistoryRepository;
+    private AppointmentAuditWriter appointmentAuditWriter;
 
     @Autowired
     private SessionRepository sessionRepository;
@@ -54,17 +66,58 @@ public class AppointmentService {
     @Autowired
     private VideoConsultationService videoConsultationService;
 
+    @Autowired
+    private SessionCapacityService sessionCapacityService;
+
+    @Autowired
+    private DoctorCalendarCache doctorCalendarCache;
+
+    @Autowired
+    private QueueStateEngine queueStateEngine;
+
     /**
      * Get all appointments for a specific clinic
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getClinicAppointments(Long clinicId) {
-        List<Appointment> appointments = appointmentRepository.findByClinicId(clinicId);
+        List<AppointmentListView> appointments = appointmentRepository.findListViewsByClinicId(clinicId);
         return appointments.stream()
                 .map(this::convertToAppointmentResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get all appointments for a specific clinic in the lightweight list format
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentSummaryResponse> getClinicAppointmentSummaries(Long clinicId) {
+        return appointmentRepository.findSummariesByClinicId(clinicId);
+    }
+
+    /**
+     * Get one keyset page of a clinic's appointments, newest dates first
+     */
+    @Transactional(readOnly = true)
+    public AppointmentPageResponse<AppointmentResponse> getClinicAppointmentPage(Long clinicId, String cursorToken, int limit) {
+        AppointmentCursor cursor = AppointmentCursor.decode(cursorToken);
+        List<AppointmentListView> rows = appointmentRepository.findListViewPageByClinicId(clinicId,
+                cursor.getAppointmentDate(), cursor.getQueueNumber(), cursor.getAppointmentId(), pageLimit(limit));
+        return toPage(rows, limit, v -> new AppointmentCursor(v.getAppointmentDate(), v.getQueueNumber(), v.getAppointmentId()),
+                this::convertToAppointmentResponse);
+    }
+
+    /**
+     * Get one keyset page of a clinic's appointments in the lightweight list format
+     */
+    @Transactional(readOnly = true)
+    public AppointmentPageResponse<AppointmentSummaryResponse> getClinicAppointmentSummaryPage(Long clinicId, String cursorToken, int limit) {
+        AppointmentCursor cursor = AppointmentCursor.decode(cursorToken);
+        List<AppointmentSummaryResponse> rows = appointmentRepository.findSummaryPageByClinicId(clinicId,
+                cursor.getAppointmentDate(), cursor.getQueueNumber(), cursor.getAppointmentId(), pageLimit(limit));
+        return toPage(rows, limit, v -> new AppointmentCursor(v.getAppointmentDate(), v.getQueueNumber(), v.getAppointmentId()),
+                Function.identity());
+    }
+
     /**
      * Book a new appointment with comprehensive validation and queue management
      */
@@ -83,7 +136,9 @@ public class AppointmentService {
         }
 
         // Validate appointment date
-        validateAppointmentDate(request.getAppointmentDate(), session);
+        Optional<SessionOverride> override = sessionOverrideRepository
+                .findBySessionAndOverrideDate(session, request.getAppointmentDate());
+        validateAppointmentDate(request.getAppointmentDate(), session, override);
 
         // Check if patient already has appointment with this doctor on same date
         Optional<Appointment> existingAppointment = appointmentRepository
@@ -94,14 +149,12 @@ public class AppointmentService {
             throw new IllegalArgumentException("Patient already has an appointment with this doctor on " + request.getAppointmentDate());
         }
 
-        // Check session capacity considering overrides
-        validateSessionCapacity(session, request.getAppointmentDate());
-
         // Validate appointment type is compatible with session service type
         validateAppointmentType(request.getAppointmentType(), session);
 
-        // Calculate queue number
-        Integer queueNumber = calculateQueueNumber(session, request.getAppointmentDate());
+        // Reserve a slot considering overrides; this checks capacity and assigns the queue number atomically
+        Integer queueNumber = sessionCapacityService.reserveSlot(
+                session, request.getAppointmentDate(), getMaxSlots(session, override));
 
         // Create appointment
         Appointment appointment = new Appointment();
@@ -122,11 +175,12 @@ public class AppointmentService {
         appointment.setConsultationFee(BigDecimal.valueOf(50.00)); // Default fee for now
 
         // Calculate estimated start time
-        LocalDateTime estimatedStartTime = calculateEstimatedStartTime(session, request.getAppointmentDate(), queueNumber);
+        LocalDateTime estimatedStartTime = calculateEstimatedStartTime(session, request.getAppointmentDate(), override, queueNumber);
         appointment.setEstimatedStartTime(estimatedStartTime);
 
         // Save appointment
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        doctorCalendarCache.invalidate(savedAppointment.getDoctorId(), savedAppointment.getAppointmentDate());
 
         // Create history record
         createAppointmentHistory(savedAppointment, null, AppointmentStatus.BOOKED, 
@@ -155,14 +209,45 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getPatientAppointments(String patientId) {
-        List<Appointment> appointments = appointmentRepository
-                .findByPatientIdOrderByAppointmentDateDescCreatedAtDesc(patientId);
+        List<AppointmentListView> appointments = appointmentRepository.findListViewsByPatientId(patientId);
         
         return appointments.stream()
                 .map(this::convertToAppointmentResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get appointments for a specific patient in the lightweight list format
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentSummaryResponse> getPatientAppointmentSummaries(String patientId) {
+        return appointmentRepository.findSummariesByPatientId(patientId);
+    }
+
+    /**
+     * Get one keyset page of a patient's appointments, newest dates first
+     */
+    @Transactional(readOnly = true)
+    public AppointmentPageResponse<AppointmentResponse> getPatientAppointmentPage(String patientId, String cursorToken, int limit) {
+        AppointmentCursor cursor = AppointmentCursor.decode(cursorToken);
+        List<AppointmentListView> rows = appointmentRepository.findListViewPageByPatientId(patientId,
+                cursor.getAppointmentDate(), cursor.getQueueNumber(), cursor.getAppointmentId(), pageLimit(limit));
+        return toPage(rows, limit, v -> new AppointmentCursor(v.getAppointmentDate(), v.getQueueNumber(), v.getAppointmentId()),
+                this::convertToAppointmentResponse);
+    }
+
+    /**
+     * Get one keyset page of a patient's appointments in the lightweight list format
+     */
+    @Transactional(readOnly = true)
+    public AppointmentPageResponse<AppointmentSummaryResponse> getPatientAppointmentSummaryPage(String patientId, String cursorToken, int limit) {
+        AppointmentCursor cursor = AppointmentCursor.decode(cursorToken);
+        List<AppointmentSummaryResponse> rows = appointmentRepository.findSummaryPageByPatientId(patientId,
+                cursor.getAppointmentDate(), cursor.getQueueNumber(), cursor.getAppointmentId(), pageLimit(limit));
+        return toPage(rows, limit, v -> new AppointmentCursor(v.getAppointmentDate(), v.getQueueNumber(), v.getAppointmentId()),
+                Function.identity());
+    }
+
     /**
      * Get upcoming appointments for a patient
      */
@@ -198,14 +283,26 @@ public class AppointmentService {
             throw new IllegalArgumentException("Invalid clinic ID provided");
         }
         
-        List<Appointment> appointments = appointmentRepository
-                .findTodayAppointmentsByClinicId(clinicId, LocalDate.now());
+        List<AppointmentListView> appointments = appointmentRepository
+                .findTodayListViewsByClinicId(clinicId, LocalDate.now());
         
         return appointments.stream()
                 .map(this::convertToAppointmentResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get today's appointments for a clinic in the lightweight list format
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentSummaryResponse> getTodayAppointmentSummaries(Long clinicId) {
+        if (clinicId == null || clinicId <= 0) {
+            throw new IllegalArgumentException("Invalid clinic ID provided");
+        }
+
+        return appointmentRepository.findTodaySummariesByClinicId(clinicId, LocalDate.now());
+    }
+
     /**
      * Cancel an appointment
      */
@@ -222,9 +319,15 @@ public class AppointmentService {
         }
 
         AppointmentStatus previousStatus = appointment.getStatus();
+
+        // Free the slot so it can be booked again
+        sessionCapacityService.onStatusChange(appointment.getSessionId(), appointment.getAppointmentDate(),
+                previousStatus, AppointmentStatus.CANCELLED);
         appointment.setStatus(AppointmentStatus.CANCELLED);
 
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        doctorCalendarCache.invalidate(savedAppointment.getDoctorId(), savedAppointment.getAppointmentDate());
+        queueStateEngine.evict(savedAppointment.getDoctorId(), savedAppointment.getAppointmentDate());
 
         // Create history record
         createAppointmentHistory(savedAppointment, previousStatus, AppointmentStatus.CANCELLED, 
@@ -251,10 +354,19 @@ public class AppointmentService {
         }
 
         // Update fields if provided (non-null)
-        if (updateRequest.getAppointmentDate() != null) {
+        if (updateRequest.getAppointmentDate() != null
+                && !updateRequest.getAppointmentDate().equals(appointment.getAppointmentDate())) {
+            // Only a booking that holds a slot can be moved; a no-show released its slot already
+            if (!sessionCapacityService.isActive(appointment.getStatus())) {
+                throw new IllegalArgumentException("Cannot move a " + appointment.getStatus()
+                        + " appointment to another date; book a new appointment instead");
+            }
+
             // Validate the new appointment date
             Session session = appointment.getSession();
-            validateAppointmentDate(updateRequest.getAppointmentDate(), session);
+            Optional<SessionOverride> override = sessionOverrideRepository
+                    .findBySessionAndOverrideDate(session, updateRequest.getAppointmentDate());
+            validateAppointmentDate(updateRequest.getAppointmentDate(), session, override);
             
             // Check if patient already has appointment with this doctor on the new date
             Optional<Appointment> existingAppointment = appointmentRepository
@@ -267,7 +379,20 @@ public class AppointmentService {
                 throw new IllegalArgumentException("Patient already has an appointment with this doctor on " + updateRequest.getAppointmentDate());
             }
             
+            // Move the booking: take a slot (and queue number) on the new date, then free the old one
+            Integer queueNumber = sessionCapacityService.reserveSlot(
+                    session, updateRequest.getAppointmentDate(), getMaxSlots(session, override));
+            sessionCapacityService.releaseSlot(session.getId(), appointment.getAppointmentDate());
+            doctorCalendarCache.invalidate(appointment.getDoctorId(), appointment.getAppointmentDate());
+            doctorCalendarCache.invalidate(appointment.getDoctorId(), updateRequest.getAppointmentDate());
+            // Both days' live queues change; evictions run after commit
+            queueStateEngine.evict(appointment.getDoctorId(), appointment.getAppointmentDate());
+            queueStateEngine.evict(appointment.getDoctorId(), updateRequest.getAppointmentDate());
+
             appointment.setAppointmentDate(updateRequest.getAppointmentDate());
+            appointment.setQueueNumber(queueNumber);
+            appointment.setEstimatedStartTime(calculateEstimatedStartTime(
+                    session, updateRequest.getAppointmentDate(), override, queueNumber));
         }
 
         if (updateRequest.getAppointmentType() != null) {
@@ -297,7 +422,19 @@ public class AppointmentService {
         // Status update with validation
         if (updateRequest.getStatus() != null && !updateRequest.getStatus().equals(appointment.getStatus())) {
             AppointmentStatus previousStatus = appointment.getStatus();
+            if (!sessionCapacityService.isActive(previousStatus) && sessionCapacityService.isActive(updateRequest.getStatus())) {
+                // Reinstated appointments need a free slot like a new booking
+                Session session = appointment.getSession();
+                Optional<SessionOverride> override = sessionOverrideRepository
+                        .findBySessionAndOverrideDate(session, appointment.getAppointmentDate());
+                sessionCapacityService.reinstateSlot(session, appointment.getAppointmentDate(), getMaxSlots(session, override));
+            } else {
+                sessionCapacityService.onStatusChange(appointment.getSessionId(), appointment.getAppointmentDate(),
+                        previousStatus, updateRequest.getStatus());
+            }
             appointment.setStatus(updateRequest.getStatus());
+            doctorCalendarCache.invalidate(appointment.getDoctorId(), appointment.getAppointmentDate());
+            queueStateEngine.evict(appointment.getDoctorId(), appointment.getAppointmentDate());
             
             // Create history record for status change
             createAppointmentHistory(appointment, previousStatus, updateRequest.getStatus(), 
@@ -320,7 +457,7 @@ public class AppointmentService {
     /**
      * Validate appointment date
      */
-    private void validateAppointmentDate(LocalDate appointmentDate, Session session) {
+    private void validateAppointmentDate(LocalDate appointmentDate, Session session, Optional<SessionOverride> override) {
         if (appointmentDate.isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("Cannot book appointment for past date");
         }
@@ -338,31 +475,17 @@ public class AppointmentService {
         }
 
         // Check for session override
-        Optional<SessionOverride> override = sessionOverrideRepository
-                .findBySessionAndOverrideDate(session, appointmentDate);
-        
         if (override.isPresent() && override.get().getIsCancelled()) {
             throw new IllegalArgumentException("Session is cancelled on " + appointmentDate + ": " + override.get().getReason());
         }
     }
 
     /**
-     * Validate session capacity
+     * Get the maximum number of bookings for a session on a date, considering overrides
      */
-    private void validateSessionCapacity(Session session, LocalDate appointmentDate) {
-        // Get override max queue size if exists
-        Optional<SessionOverride> override = sessionOverrideRepository
-                .findBySessionAndOverrideDate(session, appointmentDate);
-        
-        Integer maxSlots = override.map(SessionOverride::getOverrideMaxQueueSize)
+    private Integer getMaxSlots(Session session, Optional<SessionOverride> override) {
+        return override.map(SessionOverride::getOverrideMaxQueueSize)
                 .orElse(session.getMaxQueueSize());
-
-        // Count current active appointments
-        Long currentCount = appointmentRepository.countActiveAppointmentsForSessionAndDate(session, appointmentDate);
-
-        if (currentCount >= maxSlots) {
-            throw new IllegalArgumentException("Session is fully booked on " + appointmentDate);
-        }
     }
 
     /**
@@ -395,22 +518,12 @@ public class AppointmentService {
         }
     }
 
-    /**
-     * Calculate queue number for appointment
-     */
-    private Integer calculateQueueNumber(Session session, LocalDate appointmentDate) {
-        Optional<Integer> maxQueueNumber = appointmentRepository.getMaxQueueNumberForSessionAndDate(session, appointmentDate);
-        return maxQueueNumber.orElse(0) + 1;
-    }
-
     /**
      * Calculate estimated start time for appointment
      */
-    private LocalDateTime calculateEstimatedStartTime(Session session, LocalDate appointmentDate, Integer queueNumber) {
+    private LocalDateTime calculateEstimatedStartTime(Session session, LocalDate appointmentDate,
+                                                      Optional<SessionOverride> override, Integer queueNumber) {
         // Get session start time, considering overrides
-        Optional<SessionOverride> override = sessionOverrideRepository
-                .findBySessionAndOverrideDate(session, appointmentDate);
-        
         LocalTime sessionStartTime = override.map(SessionOverride::getOverrideStartTime)
                 .orElse(session.getSessionStartTime());
 
@@ -429,24 +542,17 @@ public class AppointmentService {
      * but should only be accessible after payment verification.
      */
     private void createVideoSessionForAppointment(Appointment appointment) {
-        try {
-            log.info("Requesting video session creation for VIRTUAL appointment: {}", appointment.getAppointmentId());
-            
-            // Publish event to video service via RabbitMQ
-            videoConsultationService.requestVideoSessionCreation(
-                appointment.getAppointmentId(),
-                appointment.getDoctorId(),
-                appointment.getPatientId(),
-                appointment.getEstimatedStartTime()
-            );
-            
-            log.info("Video session creation request published for appointment: {}", appointment.getAppointmentId());
-            // Note: The actual meeting link will be set when we receive the response event
-            
-        } catch (Exception e) {
-            log.error("Error requesting video session for appointment: {}", appointment.getAppointmentId(), e);
-            // Don't fail the entire booking if video creation request fails
-        }
+        log.info("Requesting video session creation for VIRTUAL appointment: {}", appointment.getAppointmentId());
+        
+        // Queue event for the video service; written to the outbox in the booking transaction,
+        // so the request is sent if and only if the booking commits
+        videoConsultationService.requestVideoSessionCreation(
+            appointment.getAppointmentId(),
+            appointment.getDoctorId(),
+            appointment.getPatientId(),
+            appointment.getEstimatedStartTime()
+        );
+        // Note: The actual meeting link will be set when we receive the response event
     }
 
     /**
@@ -514,6 +620,7 @@ public class AppointmentService {
         appointment.setActualStartTime(LocalDateTime.now());
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        queueStateEngine.evict(savedAppointment.getDoctorId(), savedAppointment.getAppointmentDate());
         
         createAppointmentHistory(savedAppointment, previousStatus, AppointmentStatus.IN_PROGRESS,
                 "Video consultation start requested by doctor", doctorId, "DOCTOR");
@@ -544,6 +651,7 @@ public class AppointmentService {
         appointment.setActualEndTime(LocalDateTime.now());
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        queueStateEngine.evict(savedAppointment.getDoctorId(), savedAppointment.getAppointmentDate());
         
         createAppointmentHistory(savedAppointment, previousStatus, AppointmentStatus.COMPLETED,
                 "Video consultation end requested", userId, endedByRole.toUpperCase());
@@ -554,13 +662,33 @@ public class AppointmentService {
     }
 
     /**
-     * Create appointment history record
+     * Create appointment history record (written in batches after commit by the audit writer)
      */
     private void createAppointmentHistory(Appointment appointment, AppointmentStatus previousStatus, 
                                         AppointmentStatus newStatus, String reason, String changedBy, String changedByType) {
-        AppointmentHistory history = new AppointmentHistory(
-                appointment, previousStatus, newStatus, reason, changedBy, changedByType);
-        appointmentHistoryRepository.save(history);
+        appointmentAuditWriter.record(appointment.getAppointmentId(), previousStatus, newStatus,
+                reason, changedBy, changedByType);
+    }
+
+    /**
+     * Validate the page size and fetch one extra row to detect whether another page follows
+     */
+    private Limit pageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(limit + 1);
+    }
+
+    /**
+     * Trim the extra row fetched by pageLimit and build the continuation token from the last row kept
+     */
+    private <R, T> AppointmentPageResponse<T> toPage(List<R> rows, int limit,
+                                                     Function<R, AppointmentCursor> cursorOf, Function<R, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<R> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new AppointmentPageResponse<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor);
     }
 
     /**
@@ -618,4 +746,54 @@ public class AppointmentService {
 
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Convert a read-only list row to AppointmentResponse DTO
+     */
+    private AppointmentResponse convertToAppointmentResponse(AppointmentListView view) {
+        AppointmentResponse response = new AppointmentResponse();
+        response.setAppointmentId(view.getAppointmentId());
+        response.setPatientId(view.getPatientId());
+        response.setDoctorId(view.getDoctorId());
+        response.setAppointmentDate(view.getAppointmentDate());
+        response.setQueueNumber(view.getQueueNumber());
+        response.setAppointmentType(view.getAppointmentType());
+        response.setStatus(view.getStatus());
+        response.setChiefComplaint(view.getChiefComplaint());
+        response.setConsultationFee(view.getConsultationFee());
+        response.setPaymentStatus(view.getPaymentStatus());
+        response.setPaymentId(view.getPaymentId());
+        response.setDoctorNotes(view.getDoctorNotes());
+        response.setEstimatedStartTime(view.getEstimatedStartTime());
+        response.setActualStartTime(view.getActualStartTime());
+        response.setActualEndTime(view.getActualEndTime());
+        response.setCreatedAt(view.getCreatedAt());
+        response.setUpdatedAt(view.getUpdatedAt());
+        response.setMeetingLink(view.getMeetingLink());
+        response.setMeetingId(view.getMeetingId());
+
+        // Set doctor information
+        if (view.getDoctorUserId() != null) {
+            response.setDoctor(new AppointmentResponse.DoctorSummary(
+                    view.getDoctorUserId(), view.getDoctorName(), view.getDoctorSpecialization()));
+        }
+
+        // Set clinic information
+        if (view.getClinicProfileId() != null) {
+            response.setClinic(new AppointmentResponse.ClinicSummary(
+                    view.getClinicProfileId(), view.getClinicName(), view.getClinicAddress()));
+        }
+
+        // Set session information
+        AppointmentResponse.SessionSummary sessionSummary = new AppointmentResponse.SessionSummary();
+        sessionSummary.setId(view.getSessionId());
+        sessionSummary.setDayOfWeek(view.getSessionDayOfWeek().toString());
+        sessionSummary.setSessionStartTime(view.getSessionStartTime().toString());
+        sessionSummary.setSessionEndTime(view.getSessionEndTime().toString());
+        sessionSummary.setServiceType(view.getSessionServiceType().toString());
+        sessionSummary.setEstimatedConsultationMinutes(view.getEstimatedConsultationMinutes());
+        response.setSession(sessionSummary);
+
+        return response;
+    }
+}
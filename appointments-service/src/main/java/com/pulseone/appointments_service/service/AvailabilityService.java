@@ -1,12 +1,12 @@
 package com.pulseone.appointments_service.service;
 
+import com.pulseone.appointments_service.cache.DoctorCalendarCache;
 import com.pulseone.appointments_service.dto.request.AvailabilitySearchRequest;
 import com.pulseone.appointments_service.dto.response.DoctorAvailabilityResponse;
 import com.pulseone.appointments_service.dto.response.DoctorCalendarResponse;
 import com.pulseone.appointments_service.entity.Doctor;
 import com.pulseone.appointments_service.entity.Session;
 import com.pulseone.appointments_service.entity.SessionOverride;
-import com.pulseone.appointments_service.repository.AppointmentRepository;
 import com.pulseone.appointments_service.repository.DoctorRepository;
 import com.pulseone.appointments_service.repository.SessionOverrideRepository;
 import com.pulseone.appointments_service.repository.SessionRepository;
@@ -17,8 +17,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -38,7 +41,10 @@ public class AvailabilityService {
     private SessionOverrideRepository sessionOverrideRepository;
 
     @Autowired
-    private AppointmentRepository appointmentRepository;
+    private SessionCapacityService sessionCapacityService;
+
+    @Autowired
+    private DoctorCalendarCache doctorCalendarCache;
 
     /**
      * Search for available doctors based on criteria
@@ -59,6 +65,27 @@ public class AvailabilityService {
             doctors = doctorRepository.findByIsActiveTrue();
         }
 
+        if (doctors.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Load everything needed for the search window up front: one query each for
+        // sessions, overrides and booked counts, independent of the number of doctors
+        List<LocalDate> datesToCheck = getDatesToCheck(request.getDate());
+        LocalDate startDate = datesToCheck.get(0);
+        LocalDate endDate = datesToCheck.get(datesToCheck.size() - 1);
+
+        Map<Long, List<Session>> sessionsByDoctor = sessionRepository.findActiveSessionsForDoctors(doctors).stream()
+                .filter(session -> matchesServiceType(session, request.getServiceType()))
+                .filter(session -> matchesClinic(session, request.getClinicId()))
+                .collect(Collectors.groupingBy(session -> session.getDoctor().getId()));
+
+        List<Session> allSessions = sessionsByDoctor.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        Map<Long, Map<LocalDate, SessionOverride>> overrides = loadOverrides(allSessions, startDate, endDate);
+        Map<Long, Map<LocalDate, Long>> bookedCounts = loadBookedCounts(allSessions, startDate, endDate);
+
         // Convert to availability responses
         List<DoctorAvailabilityResponse> availabilityResponses = new ArrayList<>();
         
@@ -69,8 +96,8 @@ public class AvailabilityService {
             response.setSpecialization(doctor.getSpecialization());
             
             // Get available slots for this doctor
-            List<DoctorAvailabilityResponse.AvailableSlot> availableSlots = 
-                getAvailableSlotsForDoctor(doctor, request);
+            List<DoctorAvailabilityResponse.AvailableSlot> availableSlots = getAvailableSlotsForDoctor(
+                    sessionsByDoctor.getOrDefault(doctor.getId(), List.of()), datesToCheck, overrides, bookedCounts);
             
             if (!availableSlots.isEmpty()) {
                 response.setAvailableSlots(availableSlots);
@@ -93,64 +120,54 @@ public class AvailabilityService {
         response.setDoctorName(doctor.getName());
         response.setSpecialization(doctor.getSpecialization());
 
-        // Generate calendar for next 30 days
-        List<DoctorCalendarResponse.CalendarDay> calendar = new ArrayList<>();
-        LocalDate currentDate = LocalDate.now();
-        
-        for (int i = 0; i < 30; i++) {
-            LocalDate date = currentDate.plusDays(i);
-            DoctorCalendarResponse.CalendarDay calendarDay = generateCalendarDay(doctor, date);
-            calendar.add(calendarDay);
-        }
+        // Generate calendar for next 30 days, reusing cached days
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusDays(29);
+        List<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1)).collect(Collectors.toList());
+
+        Map<LocalDate, DoctorCalendarResponse.CalendarDay> days = doctorCalendarCache.getAll(
+                doctor.getUserId(), dates, missingDates -> generateCalendarDays(doctor, missingDates, startDate, endDate));
+
+        List<DoctorCalendarResponse.CalendarDay> calendar = dates.stream()
+                .map(days::get)
+                .collect(Collectors.toList());
         
         response.setCalendar(calendar);
         return response;
     }
 
     /**
-     * Get available slots for a specific doctor based on search criteria
+     * Get available slots for a doctor's sessions using preloaded overrides and booked counts
      */
     private List<DoctorAvailabilityResponse.AvailableSlot> getAvailableSlotsForDoctor(
-            Doctor doctor, AvailabilitySearchRequest request) {
+            List<Session> sessions, List<LocalDate> datesToCheck,
+            Map<Long, Map<LocalDate, SessionOverride>> overrides,
+            Map<Long, Map<LocalDate, Long>> bookedCounts) {
         
         List<DoctorAvailabilityResponse.AvailableSlot> availableSlots = new ArrayList<>();
         
-        // Get doctor's sessions
-        List<Session> sessions = sessionRepository.findByDoctorAndIsActiveTrueOrderByDayOfWeekAscSessionStartTimeAsc(doctor);
-        
-        // Filter sessions based on request criteria
-        sessions = sessions.stream()
-                .filter(session -> matchesServiceType(session, request.getServiceType()))
-                .filter(session -> matchesClinic(session, request.getClinicId()))
-                .collect(Collectors.toList());
-
-        // Determine date range to check
-        List<LocalDate> datesToCheck = getDatesToCheck(request.getDate());
-        
         for (LocalDate date : datesToCheck) {
             DayOfWeek dayOfWeek = date.getDayOfWeek();
             
-            // Find sessions for this day of week
-            List<Session> daySessions = sessions.stream()
-                    .filter(session -> session.getDayOfWeek().equals(dayOfWeek))
-                    .filter(session -> isSessionEffectiveOnDate(session, date))
-                    .collect(Collectors.toList());
-            
-            for (Session session : daySessions) {
+            for (Session session : sessions) {
+                if (!session.getDayOfWeek().equals(dayOfWeek) || !isSessionEffectiveOnDate(session, date)) {
+                    continue;
+                }
+
                 // Check for overrides
-                Optional<SessionOverride> override = sessionOverrideRepository
-                        .findBySessionAndOverrideDate(session, date);
+                Optional<SessionOverride> override = Optional.ofNullable(
+                        overrides.getOrDefault(session.getId(), Map.of()).get(date));
                 
                 if (override.isPresent() && override.get().getIsCancelled()) {
                     continue; // Skip cancelled sessions
                 }
                 
                 // Calculate available slots
-                Long bookedCount = appointmentRepository.countActiveAppointmentsForSessionAndDate(session, date);
+                long bookedCount = bookedCounts.getOrDefault(session.getId(), Map.of()).getOrDefault(date, 0L);
                 Integer maxSlots = override.map(SessionOverride::getOverrideMaxQueueSize)
                         .orElse(session.getMaxQueueSize());
                 
-                int availableCount = maxSlots - bookedCount.intValue();
+                int availableCount = maxSlots - (int) bookedCount;
                 
                 if (availableCount > 0) {
                     DoctorAvailabilityResponse.AvailableSlot slot = new DoctorAvailabilityResponse.AvailableSlot();
@@ -178,77 +195,56 @@ public class AvailabilityService {
     }
 
     /**
-     * Generate calendar day information for a specific doctor and date
+     * Load all overrides for the given sessions within a date range, indexed by session ID and date
      */
-    private DoctorCalendarResponse.CalendarDay generateCalendarDay(Doctor doctor, LocalDate date) {
-        DoctorCalendarResponse.CalendarDay calendarDay = new DoctorCalendarResponse.CalendarDay();
-        calendarDay.setDate(date);
-        calendarDay.setDayOfWeek(date.getDayOfWeek().toString());
-        
-        // Get sessions for this day
-        List<Session> daySessions = sessionRepository.findByDoctorAndDayOfWeekAndIsActiveTrueOrderBySessionStartTimeAsc(
-                doctor, date.getDayOfWeek());
-        
-        // Filter sessions that are effective on this date
-        daySessions = daySessions.stream()
-                .filter(session -> isSessionEffectiveOnDate(session, date))
-                .collect(Collectors.toList());
-        
-        if (daySessions.isEmpty()) {
-            calendarDay.setIsAvailable(false);
-            calendarDay.setUnavailableReason("No sessions scheduled");
-            calendarDay.setSessions(new ArrayList<>());
-            return calendarDay;
+    private Map<Long, Map<LocalDate, SessionOverride>> loadOverrides(List<Session> sessions,
+                                                                   LocalDate startDate, LocalDate endDate) {
+        Map<Long, Map<LocalDate, SessionOverride>> overrides = new HashMap<>();
+        if (sessions.isEmpty()) {
+            return overrides;
         }
-        
-        List<DoctorCalendarResponse.SessionSlot> sessionSlots = new ArrayList<>();
-        boolean hasAvailableSlots = false;
-        
-        for (Session session : daySessions) {
-            // Check for overrides
-            Optional<SessionOverride> override = sessionOverrideRepository
-                    .findBySessionAndOverrideDate(session, date);
-            
-            if (override.isPresent() && override.get().getIsCancelled()) {
-                continue; // Skip cancelled sessions
-            }
-            
-            // Calculate availability
-            Long bookedCount = appointmentRepository.countActiveAppointmentsForSessionAndDate(session, date);
-            Integer maxSlots = override.map(SessionOverride::getOverrideMaxQueueSize)
-                    .orElse(session.getMaxQueueSize());
-            
-            int availableCount = maxSlots - bookedCount.intValue();
-            
-            DoctorCalendarResponse.SessionSlot sessionSlot = new DoctorCalendarResponse.SessionSlot();
-            sessionSlot.setSessionId(session.getId());
-            sessionSlot.setStartTime(override.map(o -> o.getOverrideStartTime().toString())
-                    .orElse(session.getSessionStartTime().toString()));
-            sessionSlot.setEndTime(override.map(o -> o.getOverrideEndTime().toString())
-                    .orElse(session.getSessionEndTime().toString()));
-            sessionSlot.setServiceType(session.getServiceType().toString());
-            sessionSlot.setAvailableSlots(availableCount);
-            sessionSlot.setTotalSlots(maxSlots);
-            
-            if (session.getClinic() != null) {
-                sessionSlot.setClinicName(session.getClinic().getName());
-            }
-            
-            sessionSlots.add(sessionSlot);
-            
-            if (availableCount > 0) {
-                hasAvailableSlots = true;
-            }
+
+        for (SessionOverride override : sessionOverrideRepository.findBySessionsAndDateRange(sessions, startDate, endDate)) {
+            overrides.computeIfAbsent(override.getSession().getId(), id -> new HashMap<>())
+                    .put(override.getOverrideDate(), override);
         }
-        
-        calendarDay.setSessions(sessionSlots);
-        calendarDay.setIsAvailable(hasAvailableSlots);
-        
-        if (!hasAvailableSlots && !sessionSlots.isEmpty()) {
-            calendarDay.setUnavailableReason("Fully booked");
+        return overrides;
+    }
+
+    /**
+     * Load active booking counts for the given sessions within a date range from the capacity counters
+     */
+    private Map<Long, Map<LocalDate, Long>> loadBookedCounts(List<Session> sessions,
+                                                           LocalDate startDate, LocalDate endDate) {
+        List<Long> sessionIds = sessions.stream()
+                .map(Session::getId)
+                .collect(Collectors.toList());
+        return sessionCapacityService.getBookedCounts(sessionIds, startDate, endDate);
+    }
+
+    /**
+     * Generate calendar days for a doctor from three queries covering the whole date range:
+     * active sessions, overrides in the range and booking counters in the range
+     */
+    private Map<LocalDate, DoctorCalendarResponse.CalendarDay> generateCalendarDays(
+            Doctor doctor, Set<LocalDate> dates, LocalDate startDate, LocalDate endDate) {
+        List<Session> sessions = sessionRepository.findActiveSessionsForDoctors(List.of(doctor));
+
+        Map<Long, Map<LocalDate, SessionOverride>> overrides = new HashMap<>();
+        for (SessionOverride override : sessionOverrideRepository
+                .findByDoctorUserIdAndDateRange(doctor.getUserId(), startDate, endDate)) {
+            overrides.computeIfAbsent(override.getSession().getId(), id -> new HashMap<>())
+                    .put(override.getOverrideDate(), override);
         }
-        
-        return calendarDay;
+
+        Map<Long, Map<LocalDate, Long>> bookedCounts = loadBookedCounts(sessions, startDate, endDate);
+
+        CalendarDayAssembler assembler = new CalendarDayAssembler(sessions, overrides, bookedCounts);
+        Map<LocalDate, DoctorCalendarResponse.CalendarDay> days = new HashMap<>();
+        for (LocalDate date : dates) {
+            days.put(date, assembler.assemble(date));
+        }
+        return days;
     }
 
     /**
@@ -0,0 +1,119 @@
+package com.pulseone.appointments_service.service;
+
+import com.pulseone.appointments_service.dto.response.DoctorCalendarResponse;
+import com.pulseone.appointments_service.entity.Session;
+import com.pulseone.appointments_service.entity.SessionOverride;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds calendar days for a single doctor from data loaded up front for a whole date range.
+ * Works purely on in-memory maps, so assembling any number of days issues no queries.
+ */
+public class CalendarDayAssembler {
+
+    private final List<Session> sessions;
+    private final Map<Long, Map<LocalDate, SessionOverride>> overrides;
+    private final Map<Long, Map<LocalDate, Long>> bookedCounts;
+
+    /**
+     * @param sessions     the doctor's active sessions, ordered by start time
+     * @param overrides    session overrides in the range, indexed by session ID and date
+     * @param bookedCounts active booking counts in the range, indexed by session ID and date
+     */
+    public CalendarDayAssembler(List<Session> sessions,
+                                Map<Long, Map<LocalDate, SessionOverride>> overrides,
+                                Map<Long, Map<LocalDate, Long>> bookedCounts) {
+        this.sessions = sessions;
+        this.overrides = overrides;
+        this.bookedCounts = bookedCounts;
+    }
+
+    /**
+     * Assemble the calendar day for a specific date
+     */
+    public DoctorCalendarResponse.CalendarDay assemble(LocalDate date) {
+        DoctorCalendarResponse.CalendarDay calendarDay = new DoctorCalendarResponse.CalendarDay();
+        calendarDay.setDate(date);
+        calendarDay.setDayOfWeek(date.getDayOfWeek().toString());
+
+        List<DoctorCalendarResponse.SessionSlot> sessionSlots = new ArrayList<>();
+        boolean hasScheduledSessions = false;
+        boolean hasAvailableSlots = false;
+
+        for (Session session : sessions) {
+            // Only sessions on this day of week that are effective on this date
+            if (!session.getDayOfWeek().equals(date.getDayOfWeek()) || !isSessionEffectiveOnDate(session, date)) {
+                continue;
+            }
+            hasScheduledSessions = true;
+
+            SessionOverride override = overrides.getOrDefault(session.getId(), Map.of()).get(date);
+            if (override != null && override.getIsCancelled()) {
+                continue; // Skip cancelled sessions
+            }
+
+            // Calculate availability
+            long bookedCount = bookedCounts.getOrDefault(session.getId(), Map.of()).getOrDefault(date, 0L);
+            Integer maxSlots = override != null && override.getOverrideMaxQueueSize() != null
+                    ? override.getOverrideMaxQueueSize()
+                    : session.getMaxQueueSize();
+            int availableCount = maxSlots - (int) bookedCount;
+
+            DoctorCalendarResponse.SessionSlot sessionSlot = new DoctorCalendarResponse.SessionSlot();
+            sessionSlot.setSessionId(session.getId());
+            sessionSlot.setStartTime(effectiveTime(override != null ? override.getOverrideStartTime() : null,
+                    session.getSessionStartTime()));
+            sessionSlot.setEndTime(effectiveTime(override != null ? override.getOverrideEndTime() : null,
+                    session.getSessionEndTime()));
+            sessionSlot.setServiceType(session.getServiceType().toString());
+            sessionSlot.setAvailableSlots(availableCount);
+            sessionSlot.setTotalSlots(maxSlots);
+
+            if (session.getClinic() != null) {
+                sessionSlot.setClinicName(session.getClinic().getName());
+            }
+
+            sessionSlots.add(sessionSlot);
+
+            if (availableCount > 0) {
+                hasAvailableSlots = true;
+            }
+        }
+
+        if (!hasScheduledSessions) {
+            calendarDay.setIsAvailable(false);
+            calendarDay.setUnavailableReason("No sessions scheduled");
+            calendarDay.setSessions(new ArrayList<>());
+            return calendarDay;
+        }
+
+        calendarDay.setSessions(sessionSlots);
+        calendarDay.setIsAvailable(hasAvailableSlots);
+
+        if (!hasAvailableSlots && !sessionSlots.isEmpty()) {
+            calendarDay.setUnavailableReason("Fully booked");
+        }
+
+        return calendarDay;
+    }
+
+    /**
+     * Use the override time when set, otherwise the regular session time
+     */
+    private String effectiveTime(LocalTime overrideTime, LocalTime sessionTime) {
+        return (overrideTime != null ? overrideTime : sessionTime).toString();
+    }
+
+    /**
+     * Check if session is effective on a specific date
+     */
+    private boolean isSessionEffectiveOnDate(Session session, LocalDate date) {
+        return !date.isBefore(session.getEffectiveFrom()) &&
+               (session.getEffectiveUntil() == null || !date.isAfter(session.getEffectiveUntil()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.pulseone.appointments_service.service;
 
 import com.pulseone.appointments_service.entity.Clinic;
+import com.pulseone.appointments_service.idempotency.IdempotentConsumer;
 import com.pulseone.appointments_service.repository.ClinicRepository;
 import events.v1.UserEvents;
 import org.slf4j.Logger;
@@ -20,16 +21,32 @@ public class ClinicSyncService {
 
     private static final Logger logger = LoggerFactory.getLogger(ClinicSyncService.class);
 
+    private static final String CLINIC_UPDATE_CONSUMER = "clinic-update";
+
     private final ClinicRepository clinicRepository;
+    private final IdempotentConsumer idempotentConsumer;
 
-    public ClinicSyncService(ClinicRepository clinicRepository) {
+    public ClinicSyncService(ClinicRepository clinicRepository, IdempotentConsumer idempotentConsumer) {
         this.clinicRepository = clinicRepository;
+        this.idempotentConsumer = idempotentConsumer;
     }
 
     /**
      * Processes clinic update events from profile service
      */
     public void processClinicUpdateEvent(UserEvents.ClinicUpdateEvent event) {
+        processClinicUpdateEvent(null, event);
+    }
+
+    /**
+     * Processes a clinic update event delivered by the broker; redeliveries of the same event ID are skipped
+     */
+    public void processClinicUpdateEvent(String eventId, UserEvents.ClinicUpdateEvent event) {
+        if (!idempotentConsumer.claim(CLINIC_UPDATE_CONSUMER, eventId)) {
+            logger.info("Skipping already processed clinic event for profile clinic ID: {}", event.getClinicId());
+            return;
+        }
+
         String eventType = event.getEventType();
         Long profileClinicId = event.getClinicId();
 
@@ -1,21 +1,26 @@
 package com.pulseone.appointments_service.service;
 
+import com.pulseone.appointments_service.cache.DoctorCalendarCache;
 import com.pulseone.appointments_service.dto.request.CheckInRequest;
 import com.pulseone.appointments_service.dto.request.CallNextPatientRequest;
+import com.pulseone.appointments_service.dto.projection.QueueEntryView;
 import com.pulseone.appointments_service.dto.response.QueueStatusResponse;
 import com.pulseone.appointments_service.dto.response.DoctorQueueResponse;
+import com.pulseone.appointments_service.dto.response.QueueDeltaEvent;
 import com.pulseone.appointments_service.entity.Appointment;
 import com.pulseone.appointments_service.entity.WaitingRoom;
 import com.pulseone.appointments_service.entity.Doctor;
-import com.pulseone.appointments_service.entity.Session;
 import com.pulseone.appointments_service.enums.AppointmentStatus;
+import com.pulseone.appointments_service.queue.DoctorDayQueue;
+import com.pulseone.appointments_service.queue.QueueEventBroadcaster;
+import com.pulseone.appointments_service.queue.QueueStateEngine;
 import com.pulseone.appointments_service.repository.AppointmentRepository;
 import com.pulseone.appointments_service.repository.WaitingRoomRepository;
 import com.pulseone.appointments_service.repository.DoctorRepository;
-import com.pulseone.appointments_service.repository.SessionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,7 +46,16 @@ public class QueueService {
     private DoctorRepository doctorRepository;
 
     @Autowired
-    private SessionRepository sessionRepository;
+    private SessionCapacityService sessionCapacityService;
+
+    @Autowired
+    private DoctorCalendarCache doctorCalendarCache;
+
+    @Autowired
+    private QueueStateEngine queueStateEngine;
+
+    @Autowired
+    private QueueEventBroadcaster queueEventBroadcaster;
 
     /**
      * Check in a patient for their appointment
@@ -68,6 +82,8 @@ public class QueueService {
         // Create waiting room entry
         WaitingRoom waitingRoom = new WaitingRoom(appointment);
         waitingRoomRepository.save(waitingRoom);
+        queueStateEngine.checkIn(appointment);
+        queueEventBroadcaster.publish(appointment, QueueDeltaEvent.Type.CHECKED_IN);
 
         // Calculate queue position and wait time
         return buildQueueStatusResponse(appointment, waitingRoom);
@@ -97,6 +113,8 @@ public class QueueService {
         // Update waiting room entry
         waitingRoom.callPatient(request.getCalledBy());
         waitingRoomRepository.save(waitingRoom);
+        queueStateEngine.call(appointment);
+        queueEventBroadcaster.publish(appointment, QueueDeltaEvent.Type.CALLED);
 
         return buildQueueStatusResponse(appointment, waitingRoom);
     }
@@ -125,6 +143,7 @@ public class QueueService {
         // Update appointment times
         appointment.setActualStartTime(LocalDateTime.now());
         appointmentRepository.save(appointment);
+        queueEventBroadcaster.publish(appointment, QueueDeltaEvent.Type.CONSULTATION_STARTED);
 
         return buildQueueStatusResponse(appointment, waitingRoom);
     }
@@ -149,6 +168,8 @@ public class QueueService {
 
         // Remove from waiting room (consultation is done)
         waitingRoomRepository.deleteByAppointment_AppointmentId(appointmentId);
+        queueStateEngine.remove(appointment);
+        queueEventBroadcaster.publish(appointment, QueueDeltaEvent.Type.COMPLETED);
 
         return buildQueueStatusResponse(appointment, null);
     }
@@ -168,11 +189,19 @@ public class QueueService {
         }
 
         // Update appointment status
+        AppointmentStatus previousStatus = appointment.getStatus();
+
+        // No-shows no longer occupy a slot
+        sessionCapacityService.onStatusChange(appointment.getSessionId(), appointment.getAppointmentDate(),
+                previousStatus, AppointmentStatus.NO_SHOW);
         appointment.setStatus(AppointmentStatus.NO_SHOW);
         appointmentRepository.save(appointment);
+        doctorCalendarCache.invalidate(appointment.getDoctorId(), appointment.getAppointmentDate());
 
         // Remove from waiting room if they were checked in
         waitingRoomRepository.deleteByAppointment_AppointmentId(appointmentId);
+        queueStateEngine.remove(appointment);
+        queueEventBroadcaster.publish(appointment, QueueDeltaEvent.Type.NO_SHOW);
 
         return buildQueueStatusResponse(appointment, null);
     }
@@ -192,43 +221,26 @@ public class QueueService {
         Doctor doctor = doctorRepository.findByUserId(doctorId)
                 .orElseThrow(() -> new RuntimeException("Doctor not found: " + doctorId));
 
-        // Get all appointments for the doctor on the specified date
-        List<Appointment> appointments = appointmentRepository.findByDoctorIdAndAppointmentDateOrderByQueueNumberAsc(doctorId, date);
+        // Queue statistics in a single aggregate query
+        Object[] stats = appointmentRepository.getDoctorQueueStatistics(doctorId, date).get(0);
 
-        // Build queue statistics
         DoctorQueueResponse response = new DoctorQueueResponse(doctorId, doctor.getName(), date);
         response.setSpecialization(doctor.getSpecialization());
-        response.setTotalAppointments(appointments.size());
-
-        // Calculate status counts
-        long pendingCheckIn = appointments.stream().filter(a -> a.getStatus() == AppointmentStatus.BOOKED).count();
-        long waitingPatients = appointments.stream().filter(a -> a.getStatus() == AppointmentStatus.CHECKED_IN).count();
-        long inConsultation = appointments.stream().filter(a -> a.getStatus() == AppointmentStatus.IN_PROGRESS).count();
-        long completed = appointments.stream().filter(a -> a.getStatus() == AppointmentStatus.COMPLETED).count();
-        long noShows = appointments.stream().filter(a -> a.getStatus() == AppointmentStatus.NO_SHOW).count();
-        long cancelled = appointments.stream().filter(a -> a.getStatus() == AppointmentStatus.CANCELLED).count();
-
-        response.setPendingCheckIn((int) pendingCheckIn);
-        response.setWaitingPatients((int) waitingPatients);
-        response.setInConsultation((int) inConsultation);
-        response.setCompleted((int) completed);
-        response.setNoShows((int) noShows);
-        response.setCancelled((int) cancelled);
-
-        // Get current and next queue numbers
-        Optional<Integer> currentQueueNumber = waitingRoomRepository.getCurrentQueueNumberBeingServed(doctorId, date);
-        response.setCurrentQueueNumber(currentQueueNumber.orElse(0));
-
-        Optional<WaitingRoom> nextPatient = waitingRoomRepository.findNextPatientToCall(doctorId, date);
-        response.setNextQueueNumber(nextPatient.map(wr -> wr.getAppointment().getQueueNumber()).orElse(null));
-
-        // Get average wait time
-        Optional<Double> avgWaitTime = waitingRoomRepository.getAverageWaitTimeMinutes(doctorId, date);
-        response.setAverageWaitMinutes(avgWaitTime.orElse(0.0));
-
-        // Build detailed queue list
-        List<QueueStatusResponse> queueList = appointments.stream()
-                .map(this::buildQueueStatusResponseFromAppointment)
+        response.setTotalAppointments(toInt(stats[0]));
+        response.setPendingCheckIn(toInt(stats[1]));
+        response.setWaitingPatients(toInt(stats[2]));
+        response.setInConsultation(toInt(stats[3]));
+        response.setCompleted(toInt(stats[4]));
+        response.setNoShows(toInt(stats[5]));
+        response.setCancelled(toInt(stats[6]));
+        response.setCurrentQueueNumber(toInt(stats[7]));
+        response.setNextQueueNumber(stats[8] != null ? toInt(stats[8]) : null);
+        response.setAverageWaitMinutes(stats[9] != null ? ((Number) stats[9]).doubleValue() : 0.0);
+
+        // Build detailed queue list from read-only rows; positions come from the live queue
+        DoctorDayQueue queue = queueStateEngine.getQueue(doctorId, date);
+        List<QueueStatusResponse> queueList = appointmentRepository.findQueueEntriesByDoctorIdAndDate(doctorId, date).stream()
+                .map(entry -> buildQueueStatusResponse(entry, queue))
                 .collect(Collectors.toList());
         response.setQueueList(queueList);
 
@@ -261,6 +273,28 @@ public class QueueService {
         return buildQueueStatusResponse(appointment, waitingRoom.orElse(null));
     }
 
+    /**
+     * Subscribe to live changes of a doctor's queue for today, starting with the full queue
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamDoctorQueueToday(String doctorId) {
+        DoctorQueueResponse snapshot = getDoctorQueueToday(doctorId);
+        return queueEventBroadcaster.subscribe(doctorId, LocalDate.now(), snapshot);
+    }
+
+    /**
+     * Subscribe to live changes of the queue an appointment is in, starting with the patient's position.
+     * Clients update their position from each delta's queue number and status.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamPatientQueuePosition(UUID appointmentId) {
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new RuntimeException("Appointment not found: " + appointmentId));
+        Optional<WaitingRoom> waitingRoom = waitingRoomRepository.findByAppointment_AppointmentId(appointmentId);
+        QueueStatusResponse snapshot = buildQueueStatusResponse(appointment, waitingRoom.orElse(null));
+        return queueEventBroadcaster.subscribe(appointment.getDoctorId(), appointment.getAppointmentDate(), snapshot);
+    }
+
     /**
      * Get next patient to be called
      */
@@ -312,69 +346,96 @@ public class QueueService {
             response.setActualWaitMinutes(waitingRoom.getWaitTimeMinutes());
         }
 
+        // Queue position, doctor and session information come from the live queue
+        DoctorDayQueue queue = queueStateEngine.getQueue(appointment);
+
         // Calculate queue position information
-        calculateQueuePosition(response, appointment);
+        calculateQueuePosition(response, queue);
 
         // Get doctor and session information
-        populateDoctorAndSessionInfo(response, appointment);
+        populateDoctorAndSessionInfo(response, appointment.getClinicProfileId() != null,
+                queue.getSession(appointment.getSessionId()), queue);
 
         return response;
     }
 
     /**
-     * Build QueueStatusResponse from appointment only
+     * Build QueueStatusResponse from a read-only queue row
      */
-    private QueueStatusResponse buildQueueStatusResponseFromAppointment(Appointment appointment) {
-        Optional<WaitingRoom> waitingRoom = waitingRoomRepository.findByAppointment_AppointmentId(appointment.getAppointmentId());
-        return buildQueueStatusResponse(appointment, waitingRoom.orElse(null));
+    private QueueStatusResponse buildQueueStatusResponse(QueueEntryView entry, DoctorDayQueue queue) {
+        QueueStatusResponse response = new QueueStatusResponse();
+
+        // Basic appointment information
+        response.setAppointmentId(entry.getAppointmentId());
+        response.setPatientId(entry.getPatientId());
+        response.setDoctorId(entry.getDoctorId());
+        response.setAppointmentDate(entry.getAppointmentDate());
+        response.setQueueNumber(entry.getQueueNumber());
+        response.setStatus(entry.getStatus());
+        response.setChiefComplaint(entry.getChiefComplaint());
+
+        // Waiting room information
+        if (entry.isCheckedIn()) {
+            response.setCheckedInAt(entry.getCheckedInAt());
+            response.setCalledAt(entry.getCalledAt());
+            response.setCalledBy(entry.getCalledBy());
+            response.setConsultationStartedAt(entry.getConsultationStartedAt());
+            response.setActualWaitMinutes(entry.getWaitTimeMinutes());
+        }
+
+        calculateQueuePosition(response, queue);
+
+        DoctorDayQueue.SessionInfo session = entry.getSessionStartTime() != null
+                ? new DoctorDayQueue.SessionInfo(entry.getSessionStartTime(), entry.getEstimatedConsultationMinutes())
+                : null;
+        populateDoctorAndSessionInfo(response, entry.getClinicProfileId() != null, session, queue);
+
+        return response;
     }
 
     /**
      * Calculate queue position and wait time estimates
      */
-    private void calculateQueuePosition(QueueStatusResponse response, Appointment appointment) {
-        String doctorId = appointment.getDoctorId();
-        LocalDate date = appointment.getAppointmentDate();
-        Integer queueNumber = appointment.getQueueNumber();
-
+    private void calculateQueuePosition(QueueStatusResponse response, DoctorDayQueue queue) {
         // Get current queue number being served
-        Optional<Integer> currentQueueNumber = waitingRoomRepository.getCurrentQueueNumberBeingServed(doctorId, date);
-        response.setCurrentQueueNumber(currentQueueNumber.orElse(0));
+        response.setCurrentQueueNumber(queue.getCurrentQueueNumber());
 
         // Count patients ahead
-        Long patientsAhead = waitingRoomRepository.countPatientsAhead(doctorId, date, queueNumber);
-        response.setPatientsAhead(patientsAhead.intValue());
+        int patientsAhead = queue.countPatientsAhead(response.getQueueNumber());
+        response.setPatientsAhead(patientsAhead);
 
         // Estimate wait time
-        Session session = sessionRepository.findByDoctorIdAndDayOfWeek(doctorId, date.getDayOfWeek()).stream().findFirst().orElse(null);
-        if (session != null) {
-            response.setEstimatedConsultationMinutes(session.getEstimatedConsultationMinutes());
-            int estimatedWaitMinutes = patientsAhead.intValue() * session.getEstimatedConsultationMinutes();
-            response.setEstimatedWaitMinutes(estimatedWaitMinutes);
+        Integer consultationMinutes = queue.getDefaultConsultationMinutes();
+        if (consultationMinutes != null) {
+            response.setEstimatedConsultationMinutes(consultationMinutes);
+            response.setEstimatedWaitMinutes(patientsAhead * consultationMinutes);
         }
     }
 
     /**
      * Populate doctor and session information
      */
-    private void populateDoctorAndSessionInfo(QueueStatusResponse response, Appointment appointment) {
+    private void populateDoctorAndSessionInfo(QueueStatusResponse response, boolean clinicBooking,
+                                              DoctorDayQueue.SessionInfo session, DoctorDayQueue queue) {
         // Get doctor information
-        Optional<Doctor> doctor = doctorRepository.findByUserId(appointment.getDoctorId());
-        if (doctor.isPresent()) {
-            response.setDoctorName(doctor.get().getName());
-            if (appointment.getClinicId() != null) {
-                response.setClinicName(doctor.get().getClinic() != null ? doctor.get().getClinic().getName() : null);
-            }
+        response.setDoctorName(queue.getDoctorName());
+        if (clinicBooking) {
+            response.setClinicName(queue.getDoctorClinicName());
         }
 
         // Get session information
-        Optional<Session> session = sessionRepository.findById(appointment.getSessionId());
-        if (session.isPresent()) {
-            Session s = session.get();
-            response.setEstimatedConsultationMinutes(s.getEstimatedConsultationMinutes());
-            // Convert session time to LocalDateTime for today
-            LocalDateTime sessionStart = appointment.getAppointmentDate().atTime(s.getSessionStartTime());
+        if (session != null) {
+            response.setEstimatedConsultationMinutes(session.getEstimatedConsultationMinutes());
+            // Convert session time to LocalDateTime for the appointment date
+            LocalDateTime sessionStart = response.getAppointmentDate().atTime(session.getStartTime());
             response.setSessionStartTime(sessionStart);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Convert a numeric aggregate column to int
+     */
+    private int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,133 @@
+package com.pulseone.appointments_service.service;
+
+import com.pulseone.appointments_service.entity.Session;
+import com.pulseone.appointments_service.entity.SessionDayCapacity;
+import com.pulseone.appointments_service.enums.AppointmentStatus;
+import com.pulseone.appointments_service.repository.SessionDayCapacityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service maintaining the per-session-per-date booking counters.
+ * Booking reserves a slot by locking a single counter row, which keeps capacity checks and
+ * queue number assignment correct under concurrent bookings without aggregating appointments.
+ */
+@Service
+@Transactional
+public class SessionCapacityService {
+
+    @Autowired
+    private SessionDayCapacityRepository sessionDayCapacityRepository;
+
+    /**
+     * Reserve a slot for a session on a specific date and return the assigned queue number.
+     * Must be called before the new appointment is persisted.
+     *
+     * @throws IllegalArgumentException if the session is already fully booked on that date
+     */
+    public Integer reserveSlot(Session session, LocalDate date, Integer maxSlots) {
+        SessionDayCapacity capacity = lockAvailableSlot(session, date, maxSlots);
+
+        capacity.setBookedCount(capacity.getBookedCount() + 1);
+        capacity.setLastQueueNumber(capacity.getLastQueueNumber() + 1);
+        sessionDayCapacityRepository.save(capacity);
+
+        return capacity.getLastQueueNumber();
+    }
+
+    /**
+     * Take a slot again for a cancelled or no-show appointment that is reinstated; it keeps its queue number.
+     * Must be called before the appointment's new status is applied.
+     *
+     * @throws IllegalArgumentException if the session is already fully booked on that date
+     */
+    public void reinstateSlot(Session session, LocalDate date, Integer maxSlots) {
+        SessionDayCapacity capacity = lockAvailableSlot(session, date, maxSlots);
+
+        capacity.setBookedCount(capacity.getBookedCount() + 1);
+        sessionDayCapacityRepository.save(capacity);
+    }
+
+    /**
+     * Release a previously reserved slot (appointment cancelled, marked no-show or moved to another date).
+     * Must be called before the appointment's new status or date is applied, so a counter row created
+     * here is seeded with the appointment still counted.
+     */
+    public void releaseSlot(Long sessionId, LocalDate date) {
+        sessionDayCapacityRepository.insertIfAbsent(sessionId, date);
+        if (sessionDayCapacityRepository.decrementBookedCount(sessionId, date) == 0) {
+            throw new IllegalStateException("No booked slot to release for session " + sessionId + " on " + date);
+        }
+    }
+
+    /**
+     * Keep the counter in sync with an appointment leaving the active statuses (cancelled, no-show).
+     * Must be called before the new status is applied. Reinstating an appointment needs a capacity
+     * check and goes through reinstateSlot instead.
+     */
+    public void onStatusChange(Long sessionId, LocalDate date, AppointmentStatus previousStatus, AppointmentStatus newStatus) {
+        boolean wasActive = isActive(previousStatus);
+        boolean isActive = isActive(newStatus);
+
+        if (wasActive && !isActive) {
+            releaseSlot(sessionId, date);
+        } else if (!wasActive && isActive) {
+            throw new IllegalStateException("Reinstating a " + previousStatus + " appointment must go through reinstateSlot");
+        }
+    }
+
+    /**
+     * Get the number of active bookings for a session on a specific date
+     */
+    @Transactional(readOnly = true)
+    public long getBookedCount(Long sessionId, LocalDate date) {
+        return sessionDayCapacityRepository.findBySessionIdAndCapacityDate(sessionId, date)
+                .map(SessionDayCapacity::getBookedCount)
+                .orElse(0);
+    }
+
+    /**
+     * Get active booking counts for a set of sessions within a date range, indexed by session ID and date
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<LocalDate, Long>> getBookedCounts(Collection<Long> sessionIds, LocalDate startDate, LocalDate endDate) {
+        Map<Long, Map<LocalDate, Long>> bookedCounts = new HashMap<>();
+        if (sessionIds.isEmpty()) {
+            return bookedCounts;
+        }
+
+        for (SessionDayCapacity capacity : sessionDayCapacityRepository.findBySessionIdsAndDateRange(sessionIds, startDate, endDate)) {
+            bookedCounts.computeIfAbsent(capacity.getSessionId(), id -> new HashMap<>())
+                    .put(capacity.getCapacityDate(), capacity.getBookedCount().longValue());
+        }
+        return bookedCounts;
+    }
+
+    /**
+     * Create the counter row if needed, row-lock it and check there is a free slot
+     */
+    private SessionDayCapacity lockAvailableSlot(Session session, LocalDate date, Integer maxSlots) {
+        sessionDayCapacityRepository.insertIfAbsent(session.getId(), date);
+
+        SessionDayCapacity capacity = sessionDayCapacityRepository.findForUpdate(session.getId(), date)
+                .orElseThrow(() -> new IllegalStateException("Capacity counter missing for session " + session.getId() + " on " + date));
+
+        if (capacity.getBookedCount() >= maxSlots) {
+            throw new IllegalArgumentException("Session is fully booked on " + date);
+        }
+        return capacity;
+    }
+
+    /**
+     * Whether an appointment in the given status occupies a slot
+     */
+    public boolean isActive(AppointmentStatus status) {
+        return status != null && status != AppointmentStatus.CANCELLED && status != AppointmentStatus.NO_SHOW;
+    }
+}
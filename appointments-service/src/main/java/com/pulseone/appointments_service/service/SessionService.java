@@ -1,5 +1,6 @@
 package com.pulseone.appointments_service.service;
 
+import com.pulseone.appointments_service.cache.DoctorCalendarCache;
 import com.pulseone.appointments_service.dto.request.CreateSessionOverrideRequest;
 import com.pulseone.appointments_service.dto.request.CreateSessionRequest;
 import com.pulseone.appointments_service.dto.request.UpdateSessionRequest;
@@ -17,7 +18,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -42,6 +45,9 @@ public class SessionService {
     @Autowired
     private SessionOverrideRepository sessionOverrideRepository;
 
+    @Autowired
+    private DoctorCalendarCache doctorCalendarCache;
+
     /**
      * Create a new session with validation
      */
@@ -92,6 +98,7 @@ public class SessionService {
         session.setCreatorId(request.getCreatorId());
 
         Session savedSession = sessionRepository.save(session);
+        doctorCalendarCache.invalidateDays(savedSession.getDoctorUserId(), EnumSet.of(savedSession.getDayOfWeek()));
         return convertToSessionResponse(savedSession);
     }
 
@@ -123,6 +130,7 @@ public class SessionService {
     public SessionResponse updateSession(Long sessionId, UpdateSessionRequest request) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Session not found with id: " + sessionId));
+        DayOfWeek previousDayOfWeek = session.getDayOfWeek();
 
         // Update clinic if provided
         if (request.getClinicId() != null) {
@@ -183,6 +191,8 @@ public class SessionService {
         }
 
         Session updatedSession = sessionRepository.save(session);
+        doctorCalendarCache.invalidateDays(updatedSession.getDoctorUserId(),
+                EnumSet.of(previousDayOfWeek, updatedSession.getDayOfWeek()));
         return convertToSessionResponse(updatedSession);
     }
 
@@ -195,6 +205,7 @@ public class SessionService {
         
         session.setIsActive(false);
         sessionRepository.save(session);
+        doctorCalendarCache.invalidateDays(session.getDoctorUserId(), EnumSet.of(session.getDayOfWeek()));
     }
 
     /**
@@ -224,6 +235,7 @@ public class SessionService {
         override.setReason(request.getReason());
 
         SessionOverride savedOverride = sessionOverrideRepository.save(override);
+        doctorCalendarCache.invalidate(session.getDoctorUserId(), savedOverride.getOverrideDate());
         return convertToSessionOverrideResponse(savedOverride);
     }
 
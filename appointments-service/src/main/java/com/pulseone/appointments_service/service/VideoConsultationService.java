@@ -1,12 +1,16 @@
 package com.pulseone.appointments_service.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pulseone.appointments_service.entity.OutboxEvent;
+import com.pulseone.appointments_service.repository.OutboxEventRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -17,8 +21,11 @@ import java.util.UUID;
 /**
  * Service to interact with the Video Consultation Service via RabbitMQ
  * Handles video session creation, management through event-driven messaging
+ * Requests are written to the outbox_events table in the caller's transaction and
+ * published by the OutboxRelay, so they are sent if and only if the caller commits
  */
 @Service
+@Transactional(propagation = Propagation.MANDATORY)
 public class VideoConsultationService {
 
     private static final Logger log = LoggerFactory.getLogger(VideoConsultationService.class);
@@ -27,14 +34,14 @@ public class VideoConsultationService {
     private String exchangeName;
 
     @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private OutboxEventRepository outboxEventRepository;
 
     @Autowired
     private ObjectMapper objectMapper;
 
     /**
      * Request video session creation via RabbitMQ
-     * Publishes an event that the video service will consume
+     * Queues an event that the video service will consume
      * 
      * @param appointmentId The appointment ID
      * @param doctorId Doctor's user ID
@@ -55,14 +62,12 @@ public class VideoConsultationService {
             message.put("event_type", "appointment.video.create");
             message.put("data", eventData);
             
-            String routingKey = "appointment.video.create";
+            enqueue(appointmentId.toString(), "appointment.video.create", message);
             
-            rabbitTemplate.convertAndSend(exchangeName, routingKey, message);
+            log.info("Queued video session creation request for appointment: {}", appointmentId);
             
-            log.info("Published video session creation request for appointment: {} via RabbitMQ", appointmentId);
-            
-        } catch (Exception e) {
-            log.error("Error publishing video session creation request for appointment: {}", appointmentId, e);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing video session create request: {}", appointmentId, e);
             throw new RuntimeException("Failed to request video session creation", e);
         }
     }
@@ -81,14 +86,12 @@ public class VideoConsultationService {
             message.put("event_type", "appointment.video.start");
             message.put("data", eventData);
             
-            String routingKey = "appointment.video.start";
-            
-            rabbitTemplate.convertAndSend(exchangeName, routingKey, message);
+            enqueue(sessionId, "appointment.video.start", message);
             
-            log.info("Published video session start request for session: {} via RabbitMQ", sessionId);
+            log.info("Queued video session start request for session: {}", sessionId);
             
-        } catch (Exception e) {
-            log.error("Error publishing video session start request: {}", sessionId, e);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing video session start request: {}", sessionId, e);
             throw new RuntimeException("Failed to start video session", e);
         }
     }
@@ -108,18 +111,25 @@ public class VideoConsultationService {
             message.put("event_type", "appointment.video.end");
             message.put("data", eventData);
             
-            String routingKey = "appointment.video.end";
+            enqueue(sessionId, "appointment.video.end", message);
             
-            rabbitTemplate.convertAndSend(exchangeName, routingKey, message);
+            log.info("Queued video session end request for session: {}", sessionId);
             
-            log.info("Published video session end request for session: {} via RabbitMQ", sessionId);
-            
-        } catch (Exception e) {
-            log.error("Error publishing video session end request: {}", sessionId, e);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing video session end request: {}", sessionId, e);
             throw new RuntimeException("Failed to end video session", e);
         }
     }
 
+    /**
+     * Store the message in the outbox; it is published once the current transaction commits
+     */
+    private void enqueue(String aggregateId, String routingKey, Map<String, Object> message)
+            throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(message);
+        outboxEventRepository.save(new OutboxEvent(aggregateId, routingKey, exchangeName, routingKey, payload));
+    }
+
     // Response DTOs
     public static class VideoSessionResponse {
         private final String sessionId;
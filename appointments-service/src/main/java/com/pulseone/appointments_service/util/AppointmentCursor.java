@@ -0,0 +1,70 @@
+package com.pulseone.appointments_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in an appointment listing ordered by
+ * appointmentDate DESC, queueNumber ASC, appointmentId ASC.
+ * Clients receive it as an opaque URL-safe token and send it back to get the next page.
+ */
+public final class AppointmentCursor {
+
+    /**
+     * Position before the first row; later than any bookable appointment date
+     */
+    public static final AppointmentCursor START =
+            new AppointmentCursor(LocalDate.of(9999, 12, 31), 0, new UUID(0L, 0L));
+
+    private final LocalDate appointmentDate;
+    private final int queueNumber;
+    private final UUID appointmentId;
+
+    public AppointmentCursor(LocalDate appointmentDate, int queueNumber, UUID appointmentId) {
+        this.appointmentDate = appointmentDate;
+        this.queueNumber = queueNumber;
+        this.appointmentId = appointmentId;
+    }
+
+    /**
+     * Encode the cursor as an opaque token
+     */
+    public String encode() {
+        String raw = appointmentDate + "|" + queueNumber + "|" + appointmentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; a null or blank token means the first page
+     */
+    public static AppointmentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new AppointmentCursor(LocalDate.parse(parts[0]), Integer.parseInt(parts[1]), UUID.fromString(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public int getQueueNumber() {
+        return queueNumber;
+    }
+
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+}
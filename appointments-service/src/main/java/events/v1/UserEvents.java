@@ -7701,6 +7701,55 @@ public final class UserEvents {
      */
     com.google.protobuf.ByteString
         getEventTypeBytes();
+
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    java.util.List<events.v1.UserEvents.DispensedLine> 
+        getLinesList();
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    events.v1.UserEvents.DispensedLine getLines(int index);
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    int getLinesCount();
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    java.util.List<? extends events.v1.UserEvents.DispensedLineOrBuilder> 
+        getLinesOrBuilderList();
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    events.v1.UserEvents.DispensedLineOrBuilder getLinesOrBuilder(
+        int index);
   }
   /**
    * <pre>
@@ -7724,6 +7773,7 @@ public final class UserEvents {
       catalogItemId_ = "";
       totalCost_ = "";
       eventType_ = "";
+      lines_ = java.util.Collections.emptyList();
     }
 
     @java.lang.Override
@@ -8011,6 +8061,72 @@ public final class UserEvents {
       }
     }
 
+    public static final int LINES_FIELD_NUMBER = 8;
+    @SuppressWarnings("serial")
+    private java.util.List<events.v1.UserEvents.DispensedLine> lines_;
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    @java.lang.Override
+    public java.util.List<events.v1.UserEvents.DispensedLine> getLinesList() {
+      return lines_;
+    }
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends events.v1.UserEvents.DispensedLineOrBuilder> 
+        getLinesOrBuilderList() {
+      return lines_;
+    }
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    @java.lang.Override
+    public int getLinesCount() {
+      return lines_.size();
+    }
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    @java.lang.Override
+    public events.v1.UserEvents.DispensedLine getLines(int index) {
+      return lines_.get(index);
+    }
+    /**
+     * <pre>
+     * Per-item breakdown when several items were dispensed for the prescription at once;
+     * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+     * </pre>
+     *
+     * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+     */
+    @java.lang.Override
+    public events.v1.UserEvents.DispensedLineOrBuilder getLinesOrBuilder(
+        int index) {
+      return lines_.get(index);
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -8046,6 +8162,9 @@ public final class UserEvents {
       if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(eventType_)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 7, eventType_);
       }
+      for (int i = 0; i < lines_.size(); i++) {
+        output.writeMessage(8, lines_.get(i));
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -8078,6 +8197,10 @@ public final class UserEvents {
       if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(eventType_)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(7, eventType_);
       }
+      for (int i = 0; i < lines_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(8, lines_.get(i));
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSize = size;
       return size;
@@ -8107,6 +8230,8 @@ public final class UserEvents {
           != other.getTimestamp()) return false;
       if (!getEventType()
           .equals(other.getEventType())) return false;
+      if (!getLinesList()
+          .equals(other.getLinesList())) return false;
       if (!getUnknownFields().equals(other.getUnknownFields())) return false;
       return true;
     }
@@ -8133,6 +8258,10 @@ public final class UserEvents {
           getTimestamp());
       hash = (37 * hash) + EVENT_TYPE_FIELD_NUMBER;
       hash = (53 * hash) + getEventType().hashCode();
+      if (getLinesCount() > 0) {
+        hash = (37 * hash) + LINES_FIELD_NUMBER;
+        hash = (53 * hash) + getLinesList().hashCode();
+      }
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -8275,6 +8404,13 @@ public final class UserEvents {
         totalCost_ = "";
         timestamp_ = 0L;
         eventType_ = "";
+        if (linesBuilder_ == null) {
+          lines_ = java.util.Collections.emptyList();
+        } else {
+          lines_ = null;
+          linesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000080);
         return this;
       }
 
@@ -8301,11 +8437,24 @@ public final class UserEvents {
       @java.lang.Override
       public events.v1.UserEvents.PrescriptionDispensedEvent buildPartial() {
         events.v1.UserEvents.PrescriptionDispensedEvent result = new events.v1.UserEvents.PrescriptionDispensedEvent(this);
+        buildPartialRepeatedFields(result);
         if (bitField0_ != 0) { buildPartial0(result); }
         onBuilt();
         return result;
       }
 
+      private void buildPartialRepeatedFields(events.v1.UserEvents.PrescriptionDispensedEvent result) {
+        if (linesBuilder_ == null) {
+          if (((bitField0_ & 0x00000080) != 0)) {
+            lines_ = java.util.Collections.unmodifiableList(lines_);
+            bitField0_ = (bitField0_ & ~0x00000080);
+          }
+          result.lines_ = lines_;
+        } else {
+          result.lines_ = linesBuilder_.build();
+        }
+      }
+
       private void buildPartial0(events.v1.UserEvents.PrescriptionDispensedEvent result) {
         int from_bitField0_ = bitField0_;
         if (((from_bitField0_ & 0x00000001) != 0)) {
@@ -8406,6 +8555,32 @@ public final class UserEvents {
           bitField0_ |= 0x00000040;
           onChanged();
         }
+        if (linesBuilder_ == null) {
+          if (!other.lines_.isEmpty()) {
+            if (lines_.isEmpty()) {
+              lines_ = other.lines_;
+              bitField0_ = (bitField0_ & ~0x00000080);
+            } else {
+              ensureLinesIsMutable();
+              lines_.addAll(other.lines_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.lines_.isEmpty()) {
+            if (linesBuilder_.isEmpty()) {
+              linesBuilder_.dispose();
+              linesBuilder_ = null;
+              lines_ = other.lines_;
+              bitField0_ = (bitField0_ & ~0x00000080);
+              linesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getLinesFieldBuilder() : null;
+            } else {
+              linesBuilder_.addAllMessages(other.lines_);
+            }
+          }
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         onChanged();
         return this;
@@ -8467,6 +8642,19 @@ public final class UserEvents {
                 bitField0_ |= 0x00000040;
                 break;
               } // case 58
+              case 66: {
+                events.v1.UserEvents.DispensedLine m =
+                    input.readMessage(
+                        events.v1.UserEvents.DispensedLine.parser(),
+                        extensionRegistry);
+                if (linesBuilder_ == null) {
+                  ensureLinesIsMutable();
+                  lines_.add(m);
+                } else {
+                  linesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 66
               default: {
                 if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                   done = true; // was an endgroup tag
@@ -9031,6 +9219,336 @@ public final class UserEvents {
         onChanged();
         return this;
       }
+
+      private java.util.List<events.v1.UserEvents.DispensedLine> lines_ =
+        java.util.Collections.emptyList();
+      private void ensureLinesIsMutable() {
+        if (!((bitField0_ & 0x00000080) != 0)) {
+          lines_ = new java.util.ArrayList<events.v1.UserEvents.DispensedLine>(lines_);
+          bitField0_ |= 0x00000080;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          events.v1.UserEvents.DispensedLine, events.v1.UserEvents.DispensedLine.Builder, events.v1.UserEvents.DispensedLineOrBuilder> linesBuilder_;
+
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public java.util.List<events.v1.UserEvents.DispensedLine> getLinesList() {
+        if (linesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(lines_);
+        } else {
+          return linesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public int getLinesCount() {
+        if (linesBuilder_ == null) {
+          return lines_.size();
+        } else {
+          return linesBuilder_.getCount();
+        }
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public events.v1.UserEvents.DispensedLine getLines(int index) {
+        if (linesBuilder_ == null) {
+          return lines_.get(index);
+        } else {
+          return linesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder setLines(
+          int index, events.v1.UserEvents.DispensedLine value) {
+        if (linesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLinesIsMutable();
+          lines_.set(index, value);
+          onChanged();
+        } else {
+          linesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder setLines(
+          int index, events.v1.UserEvents.DispensedLine.Builder builderForValue) {
+        if (linesBuilder_ == null) {
+          ensureLinesIsMutable();
+          lines_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          linesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder addLines(events.v1.UserEvents.DispensedLine value) {
+        if (linesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLinesIsMutable();
+          lines_.add(value);
+          onChanged();
+        } else {
+          linesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder addLines(
+          int index, events.v1.UserEvents.DispensedLine value) {
+        if (linesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLinesIsMutable();
+          lines_.add(index, value);
+          onChanged();
+        } else {
+          linesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder addLines(
+          events.v1.UserEvents.DispensedLine.Builder builderForValue) {
+        if (linesBuilder_ == null) {
+          ensureLinesIsMutable();
+          lines_.add(builderForValue.build());
+          onChanged();
+        } else {
+          linesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder addLines(
+          int index, events.v1.UserEvents.DispensedLine.Builder builderForValue) {
+        if (linesBuilder_ == null) {
+          ensureLinesIsMutable();
+          lines_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          linesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder addAllLines(
+          java.lang.Iterable<? extends events.v1.UserEvents.DispensedLine> values) {
+        if (linesBuilder_ == null) {
+          ensureLinesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, lines_);
+          onChanged();
+        } else {
+          linesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder clearLines() {
+        if (linesBuilder_ == null) {
+          lines_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000080);
+          onChanged();
+        } else {
+          linesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public Builder removeLines(int index) {
+        if (linesBuilder_ == null) {
+          ensureLinesIsMutable();
+          lines_.remove(index);
+          onChanged();
+        } else {
+          linesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public events.v1.UserEvents.DispensedLine.Builder getLinesBuilder(
+          int index) {
+        return getLinesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public events.v1.UserEvents.DispensedLineOrBuilder getLinesOrBuilder(
+          int index) {
+        if (linesBuilder_ == null) {
+          return lines_.get(index);  } else {
+          return linesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public java.util.List<? extends events.v1.UserEvents.DispensedLineOrBuilder> 
+           getLinesOrBuilderList() {
+        if (linesBuilder_ != null) {
+          return linesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(lines_);
+        }
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public events.v1.UserEvents.DispensedLine.Builder addLinesBuilder() {
+        return getLinesFieldBuilder().addBuilder(
+            events.v1.UserEvents.DispensedLine.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public events.v1.UserEvents.DispensedLine.Builder addLinesBuilder(
+          int index) {
+        return getLinesFieldBuilder().addBuilder(
+            index, events.v1.UserEvents.DispensedLine.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * Per-item breakdown when several items were dispensed for the prescription at once;
+       * quantity_dispensed and total_cost are then the sums and catalog_item_id is empty
+       * </pre>
+       *
+       * <code>repeated .events.v1.DispensedLine lines = 8;</code>
+       */
+      public java.util.List<events.v1.UserEvents.DispensedLine.Builder> 
+           getLinesBuilderList() {
+        return getLinesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          events.v1.UserEvents.DispensedLine, events.v1.UserEvents.DispensedLine.Builder, events.v1.UserEvents.DispensedLineOrBuilder> 
+          getLinesFieldBuilder() {
+        if (linesBuilder_ == null) {
+          linesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              events.v1.UserEvents.DispensedLine, events.v1.UserEvents.DispensedLine.Builder, events.v1.UserEvents.DispensedLineOrBuilder>(
+                  lines_,
+                  ((bitField0_ & 0x00000080) != 0),
+                  getParentForChildren(),
+                  isClean());
+          lines_ = null;
+        }
+        return linesBuilder_;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -9095,8 +9613,880 @@ public final class UserEvents {
 
   }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_events_v1_UserRegistrationEvent_descriptor;
+  public interface DispensedLineOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:events.v1.DispensedLine)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * Catalog item ID that was dispensed
+     * </pre>
+     *
+     * <code>string catalog_item_id = 1;</code>
+     * @return The catalogItemId.
+     */
+    java.lang.String getCatalogItemId();
+    /**
+     * <pre>
+     * Catalog item ID that was dispensed
+     * </pre>
+     *
+     * <code>string catalog_item_id = 1;</code>
+     * @return The bytes for catalogItemId.
+     */
+    com.google.protobuf.ByteString
+        getCatalogItemIdBytes();
+
+    /**
+     * <pre>
+     * Quantity dispensed
+     * </pre>
+     *
+     * <code>int32 quantity_dispensed = 2;</code>
+     * @return The quantityDispensed.
+     */
+    int getQuantityDispensed();
+
+    /**
+     * <pre>
+     * Cost of the dispensed quantity
+     * </pre>
+     *
+     * <code>string total_cost = 3;</code>
+     * @return The totalCost.
+     */
+    java.lang.String getTotalCost();
+    /**
+     * <pre>
+     * Cost of the dispensed quantity
+     * </pre>
+     *
+     * <code>string total_cost = 3;</code>
+     * @return The bytes for totalCost.
+     */
+    com.google.protobuf.ByteString
+        getTotalCostBytes();
+  }
+  /**
+   * <pre>
+   * One dispensed catalog item within a prescription dispensed event
+   * </pre>
+   *
+   * Protobuf type {@code events.v1.DispensedLine}
+   */
+  public static final class DispensedLine extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:events.v1.DispensedLine)
+      DispensedLineOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use DispensedLine.newBuilder() to construct.
+    private DispensedLine(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private DispensedLine() {
+      catalogItemId_ = "";
+      totalCost_ = "";
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new DispensedLine();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return events.v1.UserEvents.internal_static_events_v1_DispensedLine_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return events.v1.UserEvents.internal_static_events_v1_DispensedLine_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              events.v1.UserEvents.DispensedLine.class, events.v1.UserEvents.DispensedLine.Builder.class);
+    }
+
+    public static final int CATALOG_ITEM_ID_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object catalogItemId_ = "";
+    /**
+     * <pre>
+     * Catalog item ID that was dispensed
+     * </pre>
+     *
+     * <code>string catalog_item_id = 1;</code>
+     * @return The catalogItemId.
+     */
+    @java.lang.Override
+    public java.lang.String getCatalogItemId() {
+      java.lang.Object ref = catalogItemId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        catalogItemId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * Catalog item ID that was dispensed
+     * </pre>
+     *
+     * <code>string catalog_item_id = 1;</code>
+     * @return The bytes for catalogItemId.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getCatalogItemIdBytes() {
+      java.lang.Object ref = catalogItemId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        catalogItemId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int QUANTITY_DISPENSED_FIELD_NUMBER = 2;
+    private int quantityDispensed_ = 0;
+    /**
+     * <pre>
+     * Quantity dispensed
+     * </pre>
+     *
+     * <code>int32 quantity_dispensed = 2;</code>
+     * @return The quantityDispensed.
+     */
+    @java.lang.Override
+    public int getQuantityDispensed() {
+      return quantityDispensed_;
+    }
+
+    public static final int TOTAL_COST_FIELD_NUMBER = 3;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object totalCost_ = "";
+    /**
+     * <pre>
+     * Cost of the dispensed quantity
+     * </pre>
+     *
+     * <code>string total_cost = 3;</code>
+     * @return The totalCost.
+     */
+    @java.lang.Override
+    public java.lang.String getTotalCost() {
+      java.lang.Object ref = totalCost_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        totalCost_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * Cost of the dispensed quantity
+     * </pre>
+     *
+     * <code>string total_cost = 3;</code>
+     * @return The bytes for totalCost.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getTotalCostBytes() {
+      java.lang.Object ref = totalCost_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        totalCost_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(catalogItemId_)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, catalogItemId_);
+      }
+      if (quantityDispensed_ != 0) {
+        output.writeInt32(2, quantityDispensed_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(totalCost_)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, totalCost_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(catalogItemId_)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, catalogItemId_);
+      }
+      if (quantityDispensed_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, quantityDispensed_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(totalCost_)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, totalCost_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof events.v1.UserEvents.DispensedLine)) {
+        return super.equals(obj);
+      }
+      events.v1.UserEvents.DispensedLine other = (events.v1.UserEvents.DispensedLine) obj;
+
+      if (!getCatalogItemId()
+          .equals(other.getCatalogItemId())) return false;
+      if (getQuantityDispensed()
+          != other.getQuantityDispensed()) return false;
+      if (!getTotalCost()
+          .equals(other.getTotalCost())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + CATALOG_ITEM_ID_FIELD_NUMBER;
+      hash = (53 * hash) + getCatalogItemId().hashCode();
+      hash = (37 * hash) + QUANTITY_DISPENSED_FIELD_NUMBER;
+      hash = (53 * hash) + getQuantityDispensed();
+      hash = (37 * hash) + TOTAL_COST_FIELD_NUMBER;
+      hash = (53 * hash) + getTotalCost().hashCode();
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public static events.v1.UserEvents.DispensedLine parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+
+    public static events.v1.UserEvents.DispensedLine parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static events.v1.UserEvents.DispensedLine parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(events.v1.UserEvents.DispensedLine prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * One dispensed catalog item within a prescription dispensed event
+     * </pre>
+     *
+     * Protobuf type {@code events.v1.DispensedLine}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:events.v1.DispensedLine)
+        events.v1.UserEvents.DispensedLineOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return events.v1.UserEvents.internal_static_events_v1_DispensedLine_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return events.v1.UserEvents.internal_static_events_v1_DispensedLine_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                events.v1.UserEvents.DispensedLine.class, events.v1.UserEvents.DispensedLine.Builder.class);
+      }
+
+      // Construct using events.v1.UserEvents.DispensedLine.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        catalogItemId_ = "";
+        quantityDispensed_ = 0;
+        totalCost_ = "";
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return events.v1.UserEvents.internal_static_events_v1_DispensedLine_descriptor;
+      }
+
+      @java.lang.Override
+      public events.v1.UserEvents.DispensedLine getDefaultInstanceForType() {
+        return events.v1.UserEvents.DispensedLine.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public events.v1.UserEvents.DispensedLine build() {
+        events.v1.UserEvents.DispensedLine result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public events.v1.UserEvents.DispensedLine buildPartial() {
+        events.v1.UserEvents.DispensedLine result = new events.v1.UserEvents.DispensedLine(this);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartial0(events.v1.UserEvents.DispensedLine result) {
+        int from_bitField0_ = bitField0_;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.catalogItemId_ = catalogItemId_;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.quantityDispensed_ = quantityDispensed_;
+        }
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.totalCost_ = totalCost_;
+        }
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof events.v1.UserEvents.DispensedLine) {
+          return mergeFrom((events.v1.UserEvents.DispensedLine)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(events.v1.UserEvents.DispensedLine other) {
+        if (other == events.v1.UserEvents.DispensedLine.getDefaultInstance()) return this;
+        if (!other.getCatalogItemId().isEmpty()) {
+          catalogItemId_ = other.catalogItemId_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (other.getQuantityDispensed() != 0) {
+          setQuantityDispensed(other.getQuantityDispensed());
+        }
+        if (!other.getTotalCost().isEmpty()) {
+          totalCost_ = other.totalCost_;
+          bitField0_ |= 0x00000004;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                catalogItemId_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 16: {
+                quantityDispensed_ = input.readInt32();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 16
+              case 26: {
+                totalCost_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000004;
+                break;
+              } // case 26
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object catalogItemId_ = "";
+      /**
+       * <pre>
+       * Catalog item ID that was dispensed
+       * </pre>
+       *
+       * <code>string catalog_item_id = 1;</code>
+       * @return The catalogItemId.
+       */
+      public java.lang.String getCatalogItemId() {
+        java.lang.Object ref = catalogItemId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          catalogItemId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * Catalog item ID that was dispensed
+       * </pre>
+       *
+       * <code>string catalog_item_id = 1;</code>
+       * @return The bytes for catalogItemId.
+       */
+      public com.google.protobuf.ByteString
+          getCatalogItemIdBytes() {
+        java.lang.Object ref = catalogItemId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          catalogItemId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * Catalog item ID that was dispensed
+       * </pre>
+       *
+       * <code>string catalog_item_id = 1;</code>
+       * @param value The catalogItemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCatalogItemId(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        catalogItemId_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Catalog item ID that was dispensed
+       * </pre>
+       *
+       * <code>string catalog_item_id = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCatalogItemId() {
+        catalogItemId_ = getDefaultInstance().getCatalogItemId();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Catalog item ID that was dispensed
+       * </pre>
+       *
+       * <code>string catalog_item_id = 1;</code>
+       * @param value The bytes for catalogItemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCatalogItemIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        catalogItemId_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private int quantityDispensed_ ;
+      /**
+       * <pre>
+       * Quantity dispensed
+       * </pre>
+       *
+       * <code>int32 quantity_dispensed = 2;</code>
+       * @return The quantityDispensed.
+       */
+      @java.lang.Override
+      public int getQuantityDispensed() {
+        return quantityDispensed_;
+      }
+      /**
+       * <pre>
+       * Quantity dispensed
+       * </pre>
+       *
+       * <code>int32 quantity_dispensed = 2;</code>
+       * @param value The quantityDispensed to set.
+       * @return This builder for chaining.
+       */
+      public Builder setQuantityDispensed(int value) {
+
+        quantityDispensed_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Quantity dispensed
+       * </pre>
+       *
+       * <code>int32 quantity_dispensed = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearQuantityDispensed() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        quantityDispensed_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object totalCost_ = "";
+      /**
+       * <pre>
+       * Cost of the dispensed quantity
+       * </pre>
+       *
+       * <code>string total_cost = 3;</code>
+       * @return The totalCost.
+       */
+      public java.lang.String getTotalCost() {
+        java.lang.Object ref = totalCost_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          totalCost_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * Cost of the dispensed quantity
+       * </pre>
+       *
+       * <code>string total_cost = 3;</code>
+       * @return The bytes for totalCost.
+       */
+      public com.google.protobuf.ByteString
+          getTotalCostBytes() {
+        java.lang.Object ref = totalCost_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          totalCost_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * Cost of the dispensed quantity
+       * </pre>
+       *
+       * <code>string total_cost = 3;</code>
+       * @param value The totalCost to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTotalCost(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        totalCost_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Cost of the dispensed quantity
+       * </pre>
+       *
+       * <code>string total_cost = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTotalCost() {
+        totalCost_ = getDefaultInstance().getTotalCost();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Cost of the dispensed quantity
+       * </pre>
+       *
+       * <code>string total_cost = 3;</code>
+       * @param value The bytes for totalCost to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTotalCostBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        totalCost_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:events.v1.DispensedLine)
+    }
+
+    // @@protoc_insertion_point(class_scope:events.v1.DispensedLine)
+    private static final events.v1.UserEvents.DispensedLine DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new events.v1.UserEvents.DispensedLine();
+    }
+
+    public static events.v1.UserEvents.DispensedLine getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<DispensedLine>
+        PARSER = new com.google.protobuf.AbstractParser<DispensedLine>() {
+      @java.lang.Override
+      public DispensedLine parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<DispensedLine> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<DispensedLine> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public events.v1.UserEvents.DispensedLine getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_events_v1_UserRegistrationEvent_descriptor;
   private static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_events_v1_UserRegistrationEvent_fieldAccessorTable;
@@ -9125,6 +10515,11 @@ public final class UserEvents {
   private static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_events_v1_PrescriptionDispensedEvent_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_events_v1_DispensedLine_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_events_v1_DispensedLine_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -9155,12 +10550,16 @@ public final class UserEvents {
       "\030\006 \001(\010\022\021\n\ttimestamp\030\007 \001(\003\022\022\n\nevent_type\030" +
       "\010 \001(\t\"U\n\035UserRegistrationEventResponse\022\017" +
       "\n\007success\030\001 \001(\010\022\017\n\007message\030\002 \001(\t\022\022\n\nerro" +
-      "r_code\030\003 \001(\t\"\270\001\n\032PrescriptionDispensedEv" +
+      "r_code\030\003 \001(\t\"\341\001\n\032PrescriptionDispensedEv" +
       "ent\022\027\n\017prescription_id\030\001 \001(\t\022\021\n\tclinic_i" +
       "d\030\002 \001(\t\022\027\n\017catalog_item_id\030\003 \001(\t\022\032\n\022quan" +
       "tity_dispensed\030\004 \001(\005\022\022\n\ntotal_cost\030\005 \001(\t" +
-      "\022\021\n\ttimestamp\030\006 \001(\003\022\022\n\nevent_type\030\007 \001(\tB" +
-      "\035Z\033auth-service/internal/protob\006proto3"
+      "\022\021\n\ttimestamp\030\006 \001(\003\022\022\n\nevent_type\030\007 \001(\t\022" +
+      "\'\n\005lines\030\010 \003(\0132\030.events.v1.DispensedLine" +
+      "\"X\n\rDispensedLine\022\027\n\017catalog_item_id\030\001 \001" +
+      "(\t\022\032\n\022quantity_dispensed\030\002 \001(\005\022\022\n\ntotal_" +
+      "cost\030\003 \001(\tB\035Z\033auth-service/internal/prot" +
+      "ob\006proto3"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -9201,7 +10600,13 @@ public final class UserEvents {
     internal_static_events_v1_PrescriptionDispensedEvent_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_events_v1_PrescriptionDispensedEvent_descriptor,
-        new java.lang.String[] { "PrescriptionId", "ClinicId", "CatalogItemId", "QuantityDispensed", "TotalCost", "Timestamp", "EventType", });
+        new java.lang.String[] { "PrescriptionId", "ClinicId", "CatalogItemId", "QuantityDispensed", "TotalCost", "Timestamp", "EventType", "Lines", });
+    internal_static_events_v1_DispensedLine_descriptor =
+      getDescriptor().getMessageTypes().get(6);
+    internal_static_events_v1_DispensedLine_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_events_v1_DispensedLine_descriptor,
+        new java.lang.String[] { "CatalogItemId", "QuantityDispensed", "TotalCost", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -0,0 +1,81 @@
+package com.pulseone.appointments_service.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+	@Test
+	void neverForgetsAKeyThatWasPut() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			String key = "event-" + UUID.randomUUID();
+			keys.add(key);
+			filter.put(key);
+		}
+
+		assertThat(keys).allMatch(filter::mightContain);
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheConfiguredProbability() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("present-" + i);
+		}
+
+		int falsePositives = 0;
+		int probes = 100_000;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain("absent-" + i)) {
+				falsePositives++;
+			}
+		}
+
+		// Sized for 1%; allow generous slack so the check is not flaky
+		assertThat((double) falsePositives / probes).isLessThan(0.02);
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(100, 0.01);
+
+		assertThat(filter.mightContain("")).isFalse();
+		assertThat(filter.mightContain("event-1")).isFalse();
+	}
+
+	@Test
+	void concurrentPutsAreAllVisible() throws Exception {
+		BloomFilter filter = new BloomFilter(40_000, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int thread = 0; thread < 4; thread++) {
+				int offset = thread * 10_000;
+				writers.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						filter.put("key-" + (offset + i));
+					}
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (int i = 0; i < 40_000; i++) {
+			assertThat(filter.mightContain("key-" + i)).isTrue();
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.pulseone.appointments_service.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorDayQueueTests {
+
+	private final DoctorDayQueue queue = new DoctorDayQueue("Dr. Perera", "City Clinic", 15, Map.of());
+
+	@Test
+	void emptyQueueHasNoCurrentOrNextPatient() {
+		assertThat(queue.getCurrentQueueNumber()).isZero();
+		assertThat(queue.getNextQueueNumber()).isNull();
+		assertThat(queue.countPatientsAhead(10)).isZero();
+	}
+
+	@Test
+	void nextPatientIsTheLowestCheckedInQueueNumber() {
+		queue.checkIn(UUID.randomUUID(), 7);
+		queue.checkIn(UUID.randomUUID(), 3);
+		queue.checkIn(UUID.randomUUID(), 5);
+
+		assertThat(queue.getNextQueueNumber()).isEqualTo(3);
+		assertThat(queue.getCurrentQueueNumber()).isZero();
+	}
+
+	@Test
+	void callingMovesAPatientFromWaitingToConsultation() {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		queue.checkIn(first, 1);
+		queue.checkIn(second, 2);
+
+		queue.call(first, 1);
+
+		assertThat(queue.getCurrentQueueNumber()).isEqualTo(1);
+		assertThat(queue.getNextQueueNumber()).isEqualTo(2);
+		assertThat(queue.countPatientsAhead(2)).isEqualTo(1);
+	}
+
+	@Test
+	void countsOnlyActivePatientsWithALowerQueueNumber() {
+		UUID first = UUID.randomUUID();
+		queue.checkIn(first, 1);
+		queue.checkIn(UUID.randomUUID(), 2);
+		queue.checkIn(UUID.randomUUID(), 4);
+
+		assertThat(queue.countPatientsAhead(1)).isZero();
+		assertThat(queue.countPatientsAhead(3)).isEqualTo(2);
+		assertThat(queue.countPatientsAhead(5)).isEqualTo(3);
+
+		queue.remove(first);
+
+		assertThat(queue.countPatientsAhead(3)).isEqualTo(1);
+		assertThat(queue.countPatientsAhead(5)).isEqualTo(2);
+	}
+
+	@Test
+	void repeatedEventsForTheSameAppointmentAreCountedOnce() {
+		UUID appointment = UUID.randomUUID();
+		queue.checkIn(appointment, 2);
+		queue.checkIn(appointment, 2);
+		queue.call(appointment, 2);
+		queue.call(appointment, 2);
+
+		assertThat(queue.countPatientsAhead(3)).isEqualTo(1);
+
+		queue.remove(appointment);
+		queue.remove(appointment);
+
+		assertThat(queue.countPatientsAhead(3)).isZero();
+		assertThat(queue.getCurrentQueueNumber()).isZero();
+	}
+
+	@Test
+	void callWithoutCheckInStillCountsThePatient() {
+		queue.call(UUID.randomUUID(), 4);
+
+		assertThat(queue.getCurrentQueueNumber()).isEqualTo(4);
+		assertThat(queue.countPatientsAhead(5)).isEqualTo(1);
+	}
+
+	@Test
+	void countsStayCorrectWhenQueueNumbersOutgrowTheInitialCapacity() {
+		List<UUID> appointments = new ArrayList<>();
+		for (int queueNumber = 1; queueNumber <= 150; queueNumber++) {
+			UUID appointment = UUID.randomUUID();
+			appointments.add(appointment);
+			queue.checkIn(appointment, queueNumber);
+		}
+
+		assertThat(queue.countPatientsAhead(1)).isZero();
+		assertThat(queue.countPatientsAhead(64)).isEqualTo(63);
+		assertThat(queue.countPatientsAhead(100)).isEqualTo(99);
+		assertThat(queue.countPatientsAhead(1000)).isEqualTo(150);
+
+		// Every other patient leaves: half of those below 100 remain
+		for (int i = 0; i < appointments.size(); i += 2) {
+			queue.remove(appointments.get(i));
+		}
+
+		assertThat(queue.countPatientsAhead(100)).isEqualTo(49);
+		assertThat(queue.getNextQueueNumber()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,58 @@
+package com.pulseone.appointments_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AppointmentCursorTests {
+
+	@Test
+	void decodesWhatItEncodes() {
+		UUID appointmentId = UUID.randomUUID();
+		AppointmentCursor cursor = new AppointmentCursor(LocalDate.of(2026, 3, 14), 12, appointmentId);
+
+		AppointmentCursor decoded = AppointmentCursor.decode(cursor.encode());
+
+		assertThat(decoded.getAppointmentDate()).isEqualTo(LocalDate.of(2026, 3, 14));
+		assertThat(decoded.getQueueNumber()).isEqualTo(12);
+		assertThat(decoded.getAppointmentId()).isEqualTo(appointmentId);
+	}
+
+	@Test
+	void tokenIsUrlSafe() {
+		String token = new AppointmentCursor(LocalDate.of(2026, 12, 31), Integer.MAX_VALUE, UUID.randomUUID()).encode();
+
+		assertThat(token).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void missingTokenStartsAtTheFirstPage() {
+		assertThat(AppointmentCursor.decode(null)).isSameAs(AppointmentCursor.START);
+		assertThat(AppointmentCursor.decode("")).isSameAs(AppointmentCursor.START);
+		assertThat(AppointmentCursor.decode("  ")).isSameAs(AppointmentCursor.START);
+	}
+
+	@Test
+	void rejectsTokensItDidNotProduce() {
+		assertThatThrownBy(() -> AppointmentCursor.decode("not a cursor!"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> AppointmentCursor.decode(encodeRaw("2026-03-14|12")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> AppointmentCursor.decode(encodeRaw("2026-13-40|12|" + UUID.randomUUID())))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> AppointmentCursor.decode(encodeRaw("2026-03-14|twelve|" + UUID.randomUUID())))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> AppointmentCursor.decode(encodeRaw("2026-03-14|12|not-a-uuid")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,25 @@
+-- ========================================
+-- MIGRATION: Running On-Hand Totals on Catalog Items
+-- ========================================
+-- Stock reads no longer sum inventory_batches per item. catalog_items keeps
+-- the running total, changed in the same transaction as the batches by stock
+-- in, dispense, adjust, edit and mark expired. The partial index turns the
+-- low-stock scan into one index lookup per clinic.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+ALTER TABLE catalog_items ADD COLUMN IF NOT EXISTS on_hand_quantity INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from the current batches
+UPDATE catalog_items c
+SET on_hand_quantity = b.total
+FROM (
+    SELECT catalog_item_id, SUM(available_quantity) AS total
+    FROM inventory_batches
+    GROUP BY catalog_item_id
+) b
+WHERE b.catalog_item_id = c.id;
+
+CREATE INDEX IF NOT EXISTS idx_catalog_items_low_stock
+    ON catalog_items(clinic_id) WHERE on_hand_quantity < reorder_level;
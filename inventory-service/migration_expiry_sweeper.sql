@@ -0,0 +1,24 @@
+-- ========================================
+-- MIGRATION: Expiry Sweeper and Expiry Day Buckets
+-- ========================================
+-- ExpirySweeper writes off expired batches in chunks and rebuilds
+-- inventory_expiry_buckets: batches and units expiring per clinic and day
+-- over the next EXPIRY_BUCKETS_HORIZON_DAYS. /expiring-soon/{clinicId}/summary
+-- reads the buckets; /expiring-soon/{clinicId} still returns the batch list.
+-- The partial index serves both the sweep (expiry_date <= today) and the
+-- bucket rebuild (expiry_date in the horizon) over batches still in stock.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS inventory_expiry_buckets (
+    clinic_id BIGINT NOT NULL,
+    expiry_date DATE NOT NULL,
+    batch_count BIGINT NOT NULL,
+    total_quantity BIGINT NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (clinic_id, expiry_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_batches_in_stock_expiry
+    ON inventory_batches(expiry_date) WHERE available_quantity > 0;
@@ -0,0 +1,12 @@
+-- ========================================
+-- MIGRATION: Optimistic Lock Version on Inventory Batches
+-- ========================================
+-- Dispensing now deducts each batch with a conditional UPDATE
+-- (available_quantity >= requested) that also bumps this version, and entity
+-- updates of a batch (adjust, edit, mark expired) are version-checked, so
+-- concurrent writers can neither oversell nor overwrite each other.
+--
+-- Date: 2026-10-16
+-- ========================================
+
+ALTER TABLE inventory_batches ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -21,6 +21,7 @@ CREATE TABLE IF NOT EXISTS catalog_items (
     unit_type unit_type_enum NOT NULL,
     reorder_level INTEGER NOT NULL,
     is_active BOOLEAN DEFAULT true,
+    on_hand_quantity INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT uk_clinic_drug_name UNIQUE (clinic_id, drug_name)
@@ -34,12 +35,23 @@ CREATE TABLE IF NOT EXISTS inventory_batches (
     expiry_date DATE NOT NULL,
     cost_price NUMERIC(10, 2) NOT NULL,
     available_quantity INTEGER NOT NULL CHECK (available_quantity >= 0),
+    version BIGINT NOT NULL DEFAULT 0,              -- Optimistic lock version
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (catalog_item_id) REFERENCES catalog_items(id) ON DELETE CASCADE,
     CONSTRAINT chk_positive_quantity CHECK (available_quantity >= 0)
 );
 
+-- Create ExpiryBucket Table (rebuilt by ExpirySweeper)
+CREATE TABLE IF NOT EXISTS inventory_expiry_buckets (
+    clinic_id BIGINT NOT NULL,
+    expiry_date DATE NOT NULL,
+    batch_count BIGINT NOT NULL,
+    total_quantity BIGINT NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (clinic_id, expiry_date)
+);
+
 -- Create StockTransaction Table
 CREATE TABLE IF NOT EXISTS stock_transactions (
     id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
@@ -56,9 +68,11 @@ CREATE TABLE IF NOT EXISTS stock_transactions (
 -- Create Indexes for Performance
 CREATE INDEX idx_catalog_items_clinic_id ON catalog_items(clinic_id);
 CREATE INDEX idx_catalog_items_is_active ON catalog_items(is_active);
+CREATE INDEX idx_catalog_items_low_stock ON catalog_items(clinic_id) WHERE on_hand_quantity < reorder_level;
 CREATE INDEX idx_inventory_batches_catalog_item_id ON inventory_batches(catalog_item_id);
 CREATE INDEX idx_inventory_batches_expiry_date ON inventory_batches(expiry_date);
 CREATE INDEX idx_inventory_batches_available_qty ON inventory_batches(available_quantity);
+CREATE INDEX idx_inventory_batches_in_stock_expiry ON inventory_batches(expiry_date) WHERE available_quantity > 0;
 CREATE INDEX idx_stock_transactions_catalog_item_id ON stock_transactions(catalog_item_id);
 CREATE INDEX idx_stock_transactions_type ON stock_transactions(type);
 CREATE INDEX idx_stock_transactions_reference_id ON stock_transactions(reference_id);
@@ -11,12 +11,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -88,6 +95,25 @@ public class InventoryController {
                 return ResponseEntity.ok(response);
         }
 
+        /**
+         * POST /api/inventory/dispense/bulk - Dispense every line of a prescription at once
+         */
+        @Operation(summary = "Dispense prescription", description = "Dispense all medication lines of a prescription in one transaction using FIFO logic. Either every line is dispensed or none is, and a single prescription dispensed event is published.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Prescription dispensed successfully", content = @Content(schema = @Schema(implementation = BulkDispenseResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid dispense request"),
+                        @ApiResponse(responseCode = "404", description = "Catalog item not found"),
+                        @ApiResponse(responseCode = "409", description = "Insufficient stock available for a line")
+        })
+        @PostMapping("/dispense/bulk")
+        public ResponseEntity<BulkDispenseResponse> dispenseBulk(
+                        @Parameter(description = "Prescription ID and the medication lines to dispense", required = true) @RequestBody BulkDispenseRequest request) {
+                logger.info("Received request to bulk dispense {} lines for prescription: {}",
+                                request.getLines() == null ? 0 : request.getLines().size(), request.getPrescriptionId());
+                BulkDispenseResponse response = inventoryService.dispenseBulk(request);
+                return ResponseEntity.ok(response);
+        }
+
         /**
          * GET /api/inventory/low-stock/{clinicId} - Get items below reorder level
          */
@@ -204,6 +230,38 @@ public class InventoryController {
                 return ResponseEntity.ok(inventory);
         }
 
+        /**
+         * GET /api/inventory/transactions/export - Stream the stock transaction ledger as CSV or NDJSON
+         */
+        @Operation(summary = "Export transaction ledger", description = "Stream all stock movements of a clinic (or of one catalog item) between two dates, inclusive, oldest first. Rows are written as they are read, so exports of any size use constant memory.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Ledger streamed as CSV (text/csv) or NDJSON (application/x-ndjson)"),
+                        @ApiResponse(responseCode = "400", description = "Invalid date range")
+        })
+        @GetMapping("/transactions/export")
+        public void exportTransactions(
+                        @Parameter(description = "Clinic ID", required = true) @RequestParam Long clinicId,
+                        @Parameter(description = "Restrict the export to one catalog item", required = false) @RequestParam(required = false) UUID catalogItemId,
+                        @Parameter(description = "First day, inclusive (yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @Parameter(description = "Last day, inclusive (yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @Parameter(description = "CSV or NDJSON", required = false) @RequestParam(defaultValue = "CSV") TransactionExportFormat format,
+                        HttpServletResponse response) throws IOException {
+                logger.info("Received request to export transactions for clinic: {} from {} to {}", clinicId, from, to);
+                if (to.isBefore(from)) {
+                        response.sendError(HttpStatus.BAD_REQUEST.value(), "'to' must not be before 'from'");
+                        return;
+                }
+
+                response.setContentType(format.getContentType());
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename(String.format("transactions-%d-%s-%s.%s", clinicId, from, to,
+                                                format.getFileExtension()))
+                                .build().toString());
+                inventoryService.exportTransactions(clinicId, catalogItemId, from, to, format,
+                                response.getOutputStream());
+        }
+
         /**
          * GET /api/inventory/transactions/{catalogItemId} - Get stock transaction
          * history
@@ -221,6 +279,23 @@ public class InventoryController {
                 return ResponseEntity.ok(transactions);
         }
 
+        /**
+         * GET /api/inventory/expiring-soon/{clinicId}/summary - Get stock expiring soon, per day
+         */
+        @Operation(summary = "Get expiring stock summary", description = "Get the number of batches and units expiring within X days, per expiry day. Served from precomputed day buckets that are rebuilt periodically.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Expiring stock summary retrieved successfully", content = @Content(schema = @Schema(implementation = ExpiringSoonResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid clinic ID or days parameter")
+        })
+        @GetMapping("/expiring-soon/{clinicId}/summary")
+        public ResponseEntity<ExpiringSoonResponse> getExpiringSoon(
+                        @Parameter(description = "Clinic ID", required = true) @PathVariable Long clinicId,
+                        @Parameter(description = "Days threshold for expiry warning", required = false) @RequestParam(defaultValue = "30") Integer days) {
+                logger.info("Received request to get expiring stock summary for clinic: {} within {} days", clinicId, days);
+                ExpiringSoonResponse expiringSoon = inventoryService.getExpiringSoon(clinicId, days);
+                return ResponseEntity.ok(expiringSoon);
+        }
+
         /**
          * GET /api/inventory/expiring-soon/{clinicId} - Get items expiring soon
          */
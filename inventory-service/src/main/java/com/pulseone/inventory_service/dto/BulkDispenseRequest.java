@@ -0,0 +1,40 @@
+package com.pulseone.inventory_service.dto;
+
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * BulkDispenseRequest DTO - Request to dispense every line of a prescription at once
+ */
+@Schema(description = "Request to dispense all medications of a prescription in one operation using FIFO logic")
+public class BulkDispenseRequest {
+    @Schema(description = "Prescription ID this dispensing is for", example = "550e8400-e29b-41d4-a716-446655440001")
+    private String prescriptionId;
+
+    @Schema(description = "Medication lines to dispense")
+    private List<DispenseLineRequest> lines;
+
+    public BulkDispenseRequest() {
+    }
+
+    public BulkDispenseRequest(String prescriptionId, List<DispenseLineRequest> lines) {
+        this.prescriptionId = prescriptionId;
+        this.lines = lines;
+    }
+
+    public String getPrescriptionId() {
+        return prescriptionId;
+    }
+
+    public void setPrescriptionId(String prescriptionId) {
+        this.prescriptionId = prescriptionId;
+    }
+
+    public List<DispenseLineRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<DispenseLineRequest> lines) {
+        this.lines = lines;
+    }
+}
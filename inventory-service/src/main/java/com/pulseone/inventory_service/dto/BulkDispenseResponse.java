@@ -0,0 +1,78 @@
+package com.pulseone.inventory_service.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * BulkDispenseResponse DTO - Response from a bulk dispense operation
+ */
+@Schema(description = "Response containing the dispensed lines and totals of a bulk dispense operation")
+public class BulkDispenseResponse {
+    @Schema(description = "Prescription ID for which medication was dispensed", example = "550e8400-e29b-41d4-a716-446655440001")
+    private String prescriptionId;
+
+    @Schema(description = "Dispensed quantity and cost per medication line")
+    private List<DispenseResponse> lines;
+
+    @Schema(description = "Total units dispensed across all lines", example = "36")
+    private Integer totalQuantityDispensed;
+
+    @Schema(description = "Total cost across all lines", example = "182.50")
+    private BigDecimal totalCost;
+
+    @Schema(description = "Status message from the dispense operation", example = "Prescription dispensed successfully")
+    private String message;
+
+    public BulkDispenseResponse() {
+    }
+
+    public BulkDispenseResponse(String prescriptionId, List<DispenseResponse> lines, Integer totalQuantityDispensed,
+            BigDecimal totalCost, String message) {
+        this.prescriptionId = prescriptionId;
+        this.lines = lines;
+        this.totalQuantityDispensed = totalQuantityDispensed;
+        this.totalCost = totalCost;
+        this.message = message;
+    }
+
+    public String getPrescriptionId() {
+        return prescriptionId;
+    }
+
+    public void setPrescriptionId(String prescriptionId) {
+        this.prescriptionId = prescriptionId;
+    }
+
+    public List<DispenseResponse> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<DispenseResponse> lines) {
+        this.lines = lines;
+    }
+
+    public Integer getTotalQuantityDispensed() {
+        return totalQuantityDispensed;
+    }
+
+    public void setTotalQuantityDispensed(Integer totalQuantityDispensed) {
+        this.totalQuantityDispensed = totalQuantityDispensed;
+    }
+
+    public BigDecimal getTotalCost() {
+        return totalCost;
+    }
+
+    public void setTotalCost(BigDecimal totalCost) {
+        this.totalCost = totalCost;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
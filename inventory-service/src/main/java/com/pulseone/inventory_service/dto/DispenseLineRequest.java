@@ -0,0 +1,40 @@
+package com.pulseone.inventory_service.dto;
+
+import java.util.UUID;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DispenseLineRequest DTO - One medication line of a bulk dispense request
+ */
+@Schema(description = "One medication line of a multi-item prescription")
+public class DispenseLineRequest {
+    @Schema(description = "Catalog item ID for the medication to dispense", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID catalogItemId;
+
+    @Schema(description = "Quantity of units to dispense", example = "10")
+    private Integer quantityRequired;
+
+    public DispenseLineRequest() {
+    }
+
+    public DispenseLineRequest(UUID catalogItemId, Integer quantityRequired) {
+        this.catalogItemId = catalogItemId;
+        this.quantityRequired = quantityRequired;
+    }
+
+    public UUID getCatalogItemId() {
+        return catalogItemId;
+    }
+
+    public void setCatalogItemId(UUID catalogItemId) {
+        this.catalogItemId = catalogItemId;
+    }
+
+    public Integer getQuantityRequired() {
+        return quantityRequired;
+    }
+
+    public void setQuantityRequired(Integer quantityRequired) {
+        this.quantityRequired = quantityRequired;
+    }
+}
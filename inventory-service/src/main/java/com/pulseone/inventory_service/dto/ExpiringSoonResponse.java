@@ -0,0 +1,92 @@
+package com.pulseone.inventory_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ExpiringSoonResponse DTO - Per-day summary of a clinic's stock expiring within a window
+ */
+@Schema(description = "Expiring stock of a clinic, per expiry day")
+public class ExpiringSoonResponse {
+
+    @Schema(description = "Clinic ID")
+    private Long clinicId;
+
+    @Schema(description = "Days ahead covered by the summary")
+    private Integer days;
+
+    @Schema(description = "Batches with stock expiring within the window")
+    private Long totalBatches;
+
+    @Schema(description = "Units expiring within the window")
+    private Long totalQuantity;
+
+    @Schema(description = "When the precomputed buckets were last rebuilt; null when computed live")
+    private LocalDateTime refreshedAt;
+
+    @Schema(description = "Expiring stock per day, soonest first")
+    private List<ExpiryBucketResponse> buckets;
+
+    public ExpiringSoonResponse() {
+    }
+
+    public ExpiringSoonResponse(Long clinicId, Integer days, Long totalBatches, Long totalQuantity,
+            LocalDateTime refreshedAt, List<ExpiryBucketResponse> buckets) {
+        this.clinicId = clinicId;
+        this.days = days;
+        this.totalBatches = totalBatches;
+        this.totalQuantity = totalQuantity;
+        this.refreshedAt = refreshedAt;
+        this.buckets = buckets;
+    }
+
+    public Long getClinicId() {
+        return clinicId;
+    }
+
+    public void setClinicId(Long clinicId) {
+        this.clinicId = clinicId;
+    }
+
+    public Integer getDays() {
+        return days;
+    }
+
+    public void setDays(Integer days) {
+        this.days = days;
+    }
+
+    public Long getTotalBatches() {
+        return totalBatches;
+    }
+
+    public void setTotalBatches(Long totalBatches) {
+        this.totalBatches = totalBatches;
+    }
+
+    public Long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public List<ExpiryBucketResponse> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<ExpiryBucketResponse> buckets) {
+        this.buckets = buckets;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pulseone.inventory_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+/**
+ * ExpiryBucketResponse DTO - Stock of a clinic expiring on one day
+ */
+@Schema(description = "Stock expiring on one day")
+public class ExpiryBucketResponse {
+
+    @Schema(description = "Expiry date")
+    private LocalDate expiryDate;
+
+    @Schema(description = "Number of batches with stock expiring on this day")
+    private Long batchCount;
+
+    @Schema(description = "Units expiring on this day")
+    private Long totalQuantity;
+
+    public ExpiryBucketResponse() {
+    }
+
+    public ExpiryBucketResponse(LocalDate expiryDate, Long batchCount, Long totalQuantity) {
+        this.expiryDate = expiryDate;
+        this.batchCount = batchCount;
+        this.totalQuantity = totalQuantity;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(LocalDate expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public Long getBatchCount() {
+        return batchCount;
+    }
+
+    public void setBatchCount(Long batchCount) {
+        this.batchCount = batchCount;
+    }
+
+    public Long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+}
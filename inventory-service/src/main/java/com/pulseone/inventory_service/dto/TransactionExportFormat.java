@@ -0,0 +1,28 @@
+package com.pulseone.inventory_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * TransactionExportFormat - Output format of the stock transaction ledger export
+ */
+@Schema(description = "Ledger export format")
+public enum TransactionExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    TransactionExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
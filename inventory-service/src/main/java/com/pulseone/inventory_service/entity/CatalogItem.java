@@ -36,6 +36,13 @@ public class CatalogItem {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    /**
+     * Running total of availableQuantity over the item's batches. Changed only through
+     * CatalogItemRepository.adjustOnHandQuantity, so entity saves never overwrite it.
+     */
+    @Column(name = "on_hand_quantity", nullable = false, updatable = false)
+    private Integer onHandQuantity = 0;
+
     public CatalogItem() {
     }
 
@@ -105,4 +112,12 @@ public class CatalogItem {
     public void setIsActive(Boolean isActive) {
         this.isActive = isActive;
     }
+
+    public Integer getOnHandQuantity() {
+        return onHandQuantity;
+    }
+
+    public void setOnHandQuantity(Integer onHandQuantity) {
+        this.onHandQuantity = onHandQuantity;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.pulseone.inventory_service.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * ExpiryBucket Entity - Precomputed stock expiring on one day in one clinic
+ * Rebuilt by ExpirySweeper from the batches that still hold stock, so expiring-soon
+ * summaries are read from a handful of rows instead of scanning inventory_batches.
+ */
+@Entity
+@Table(name = "inventory_expiry_buckets")
+@IdClass(ExpiryBucket.Key.class)
+public class ExpiryBucket {
+
+    @Id
+    @Column(name = "clinic_id")
+    private Long clinicId;
+
+    @Id
+    @Column(name = "expiry_date")
+    private LocalDate expiryDate;
+
+    @Column(name = "batch_count", nullable = false)
+    private Long batchCount;
+
+    @Column(name = "total_quantity", nullable = false)
+    private Long totalQuantity;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public ExpiryBucket() {
+    }
+
+    public Long getClinicId() {
+        return clinicId;
+    }
+
+    public void setClinicId(Long clinicId) {
+        this.clinicId = clinicId;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(LocalDate expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public Long getBatchCount() {
+        return batchCount;
+    }
+
+    public void setBatchCount(Long batchCount) {
+        this.batchCount = batchCount;
+    }
+
+    public Long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long clinicId;
+        private LocalDate expiryDate;
+
+        public Key() {
+        }
+
+        public Key(Long clinicId, LocalDate expiryDate) {
+            this.clinicId = clinicId;
+            this.expiryDate = expiryDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(clinicId, key.clinicId) && Objects.equals(expiryDate, key.expiryDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clinicId, expiryDate);
+        }
+    }
+}
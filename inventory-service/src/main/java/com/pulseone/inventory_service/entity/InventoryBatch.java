@@ -35,6 +35,13 @@ public class InventoryBatch {
     @Column(name = "available_quantity", nullable = false)
     private Integer availableQuantity;
 
+    /**
+     * Optimistic lock version; also bumped by the conditional dispense UPDATE
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public InventoryBatch() {
     }
 
@@ -95,4 +102,12 @@ public class InventoryBatch {
     public void setAvailableQuantity(Integer availableQuantity) {
         this.availableQuantity = availableQuantity;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
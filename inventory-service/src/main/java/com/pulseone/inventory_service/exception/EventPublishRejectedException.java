@@ -0,0 +1,15 @@
+package com.pulseone.inventory_service.exception;
+
+/**
+ * EventPublishRejectedException - Exception thrown when the event buffer stays
+ * full, so the operation that would raise the event is rolled back
+ */
+public class EventPublishRejectedException extends RuntimeException {
+    public EventPublishRejectedException(String message) {
+        super(message);
+    }
+
+    public EventPublishRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
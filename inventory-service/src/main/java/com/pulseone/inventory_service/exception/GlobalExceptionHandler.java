@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -58,6 +59,66 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
 
+        /**
+         * Handle EventPublishRejectedException (event buffer full, dispense rolled back)
+         */
+        @ExceptionHandler(EventPublishRejectedException.class)
+        public ResponseEntity<ErrorResponse> handleEventPublishRejected(
+                        EventPublishRejectedException ex,
+                        WebRequest request) {
+
+                logger.warn("Event publish rejected: {}", ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                "EVENT_BUFFER_FULL",
+                                ex.getMessage(),
+                                request.getDescription(false).replace("uri=", ""));
+
+                return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        /**
+         * Handle invalid request values (non-positive quantities, unknown batches)
+         */
+        @ExceptionHandler(IllegalArgumentException.class)
+        public ResponseEntity<ErrorResponse> handleIllegalArgument(
+                        IllegalArgumentException ex,
+                        WebRequest request) {
+
+                logger.warn("Invalid request: {}", ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                "INVALID_REQUEST",
+                                ex.getMessage(),
+                                request.getDescription(false).replace("uri=", ""));
+
+                return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+
+        /**
+         * Handle a batch changed by a concurrent request (optimistic lock version mismatch)
+         */
+        @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+        public ResponseEntity<ErrorResponse> handleConcurrentModification(
+                        ObjectOptimisticLockingFailureException ex,
+                        WebRequest request) {
+
+                logger.warn("Concurrent modification: {}", ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.CONFLICT.value(),
+                                "CONCURRENT_MODIFICATION",
+                                "The batch was changed by another request. Please reload and try again.",
+                                request.getDescription(false).replace("uri=", ""));
+
+                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+
         /**
          * Handle generic exceptions
          */
@@ -0,0 +1,170 @@
+package com.pulseone.inventory_service.expiry;
+
+import com.pulseone.inventory_service.entity.TransactionType;
+import com.pulseone.inventory_service.repository.ExpiryBucketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Writes off expired stock and keeps the expiry day buckets current.
+ *
+ * The sweep zeroes batches whose expiry date is today or earlier (the same boundary as the expiring-soon
+ * queries, which start tomorrow) in chunks: each chunk claims its batches with FOR UPDATE SKIP LOCKED,
+ * zeroes them in the same statement, then records one EXPIRED stock transaction per batch and takes the
+ * quantities off the items' on-hand totals with JDBC batches, all in one transaction. Several instances
+ * can sweep at once without double-counting. After the sweep, and periodically in between, the buckets
+ * of stock expiring within the horizon are rebuilt with one grouped INSERT.
+ */
+@Component
+public class ExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpirySweeper.class);
+
+    private static final String SWEEP_CHUNK_SQL =
+            "WITH expired AS (" +
+            "    SELECT id, available_quantity FROM inventory_batches " +
+            "    WHERE expiry_date <= ? AND available_quantity > 0 " +
+            "    ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "UPDATE inventory_batches b SET available_quantity = 0, version = b.version + 1 " +
+            "FROM expired e WHERE b.id = e.id " +
+            "RETURNING b.catalog_item_id, b.batch_number, e.available_quantity";
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO stock_transactions (id, catalog_item_id, type, quantity, reference_id, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DECREMENT_ON_HAND_SQL =
+            "UPDATE catalog_items SET on_hand_quantity = on_hand_quantity - ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExpiryBucketRepository expiryBucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int bucketHorizonDays;
+
+    private final Counter sweptBatchesCounter;
+    private final Counter sweptQuantityCounter;
+
+    public ExpirySweeper(JdbcTemplate jdbcTemplate,
+                         ExpiryBucketRepository expiryBucketRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${inventory.expiry.sweep.chunk-size:500}") int chunkSize,
+                         @Value("${inventory.expiry.buckets.horizon-days:90}") int bucketHorizonDays) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("inventory.expiry.sweep.chunk-size must be at least 1, got " + chunkSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.expiryBucketRepository = expiryBucketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.bucketHorizonDays = bucketHorizonDays;
+
+        this.sweptBatchesCounter = Counter.builder("inventory.expiry.swept.batches")
+                .description("Expired batches written off by the sweeper")
+                .register(meterRegistry);
+        this.sweptQuantityCounter = Counter.builder("inventory.expiry.swept.quantity")
+                .description("Units written off by the sweeper")
+                .register(meterRegistry);
+    }
+
+    public int getBucketHorizonDays() {
+        return bucketHorizonDays;
+    }
+
+    /**
+     * Write off every expired batch, one chunk per transaction, then rebuild the buckets
+     */
+    @Scheduled(cron = "${inventory.expiry.sweep.cron:0 5 0 * * *}")
+    public void sweepExpired() {
+        LocalDate today = LocalDate.now();
+        int total = 0;
+        int swept;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> sweepChunk(today));
+            swept = chunk != null ? chunk : 0;
+            total += swept;
+        } while (swept == chunkSize);
+
+        if (total > 0) {
+            logger.info("Expiry sweep wrote off {} batches expiring on or before {}", total, today);
+        }
+        refreshBuckets();
+    }
+
+    /**
+     * Rebuild the expiry buckets so stock received or dispensed since the last rebuild is reflected
+     */
+    @Scheduled(fixedDelayString = "${inventory.expiry.buckets.refresh-interval-ms:900000}",
+               initialDelayString = "${inventory.expiry.buckets.initial-delay-ms:10000}")
+    public void refreshBuckets() {
+        LocalDate today = LocalDate.now();
+        Integer buckets = transactionTemplate.execute(status -> {
+            if (!expiryBucketRepository.tryLockRebuild()) {
+                return null;
+            }
+            expiryBucketRepository.deleteAllBuckets();
+            return expiryBucketRepository.insertBuckets(today, today.plusDays(bucketHorizonDays));
+        });
+        if (buckets == null) {
+            logger.debug("Expiry bucket rebuild already running on another instance");
+        } else {
+            logger.debug("Rebuilt {} expiry buckets for the next {} days", buckets, bucketHorizonDays);
+        }
+    }
+
+    /**
+     * Write off one chunk of expired batches; returns the number of batches written off
+     */
+    private int sweepChunk(LocalDate today) {
+        List<SweptBatch> swept = jdbcTemplate.query(SWEEP_CHUNK_SQL,
+                (rs, rowNum) -> new SweptBatch(
+                        rs.getObject("catalog_item_id", UUID.class),
+                        rs.getString("batch_number"),
+                        rs.getInt("available_quantity")),
+                today, chunkSize);
+        if (swept.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, swept, swept.size(), (ps, batch) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, batch.catalogItemId());
+            ps.setString(3, TransactionType.EXPIRED.name());
+            ps.setInt(4, batch.quantity());
+            ps.setString(5, "EXPIRED:" + batch.batchNumber());
+            ps.setObject(6, now);
+        });
+
+        // One update per item, in ID order so concurrent writers lock the rows alike
+        Map<UUID, Integer> expiredByItem = new TreeMap<>();
+        swept.forEach(batch -> expiredByItem.merge(batch.catalogItemId(), batch.quantity(), Integer::sum));
+        List<Object[]> decrements = new ArrayList<>(expiredByItem.size());
+        expiredByItem.forEach((catalogItemId, quantity) -> decrements.add(new Object[]{quantity, catalogItemId}));
+        jdbcTemplate.batchUpdate(DECREMENT_ON_HAND_SQL, decrements);
+
+        sweptBatchesCounter.increment(swept.size());
+        sweptQuantityCounter.increment(swept.stream().mapToInt(SweptBatch::quantity).sum());
+        return swept.size();
+    }
+
+    private record SweptBatch(UUID catalogItemId, String batchNumber, int quantity) {
+    }
+}
@@ -1,13 +1,53 @@
 package com.pulseone.inventory_service.messaging;
 
+import com.pulseone.inventory_service.exception.EventPublishRejectedException;
 import events.v1.UserEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * RabbitMQ publisher for inventory service events
+ *
+ * Events raised inside a transaction are only handed over once it commits, so a rolled back
+ * dispense never announces stock that was not taken.
+ *
+ * In async mode (inventory.events.async-publish.enabled=true) dispensed events are put into a bounded
+ * buffer and published by a dedicated thread: each drained batch is sent over a single channel and
+ * then awaited on its correlated publisher confirms. A buffer slot is reserved while the transaction
+ * is still open, blocking the caller for up to offer-timeout-ms (back-pressure); if none frees up
+ * an EventPublishRejectedException rolls the dispense back, so a committed dispense always has room
+ * for its event. An unconfirmed event keeps its slot and is retried after an exponential backoff
+ * (retry-backoff-ms, doubling up to max-retry-backoff-ms), so a broker outage is ridden out instead of
+ * burning through the attempts in milliseconds; after max-attempts it is logged with its payload so it
+ * can be replayed by hand.
  */
 @Component
 public class RabbitMQPublisher {
@@ -16,17 +56,114 @@ public class RabbitMQPublisher {
     private static final String EXCHANGE = "prescription-events-exchange";
 
     private final RabbitTemplate rabbitTemplate;
+    private final boolean asyncEnabled;
+    private final BlockingQueue<PendingEvent> buffer;
+    private final DelayQueue<PendingEvent> retries = new DelayQueue<>();
+    private final Semaphore freeSlots;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long confirmTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Counter rejectedCounter;
+    private final Timer confirmLatencyTimer;
+    private final Timer flushTimer;
+
+    private ExecutorService flushExecutor;
+    private volatile boolean running;
 
-    public RabbitMQPublisher(RabbitTemplate rabbitTemplate) {
+    public RabbitMQPublisher(RabbitTemplate rabbitTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${inventory.events.async-publish.enabled:false}") boolean asyncEnabled,
+                             @Value("${inventory.events.async-publish.buffer-capacity:10000}") int bufferCapacity,
+                             @Value("${inventory.events.async-publish.batch-size:100}") int batchSize,
+                             @Value("${inventory.events.async-publish.offer-timeout-ms:500}") long offerTimeoutMillis,
+                             @Value("${inventory.events.async-publish.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                             @Value("${inventory.events.async-publish.max-attempts:8}") int maxAttempts,
+                             @Value("${inventory.events.async-publish.retry-backoff-ms:1000}") long retryBackoffMillis,
+                             @Value("${inventory.events.async-publish.max-retry-backoff-ms:30000}") long maxRetryBackoffMillis) {
         this.rabbitTemplate = rabbitTemplate;
+        this.asyncEnabled = asyncEnabled;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.freeSlots = new Semaphore(bufferCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+
+        Gauge.builder("inventory.events.buffer.depth", buffer, BlockingQueue::size)
+                .description("Dispensed events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("inventory.events.retry.depth", retries, DelayQueue::size)
+                .description("Unconfirmed dispensed events waiting for their next attempt")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("inventory.events.published")
+                .description("Dispensed events confirmed by the broker")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("inventory.events.publish.failures")
+                .description("Dispensed events nacked, unconfirmed or not sent")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("inventory.events.rejected")
+                .description("Dispensed events rejected because the buffer stayed full, or dropped after retries or on shutdown")
+                .register(meterRegistry);
+        this.confirmLatencyTimer = Timer.builder("inventory.events.confirm.latency")
+                .description("Time from send to publisher confirm")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("inventory.events.flush")
+                .description("Time to send and confirm one batch of dispensed events")
+                .register(meterRegistry);
     }
 
     /**
-     * Publish prescription dispensed event to RabbitMQ
+     * Publish prescription dispensed event to RabbitMQ once the current transaction commits
+     * In async mode the event is only buffered; an EventPublishRejectedException means the buffer stayed full
      */
     public void publishPrescriptionDispensedEvent(UserEvents.PrescriptionDispensedEvent event) {
+        if (asyncEnabled) {
+            reserveSlot(event);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            handOver(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    handOver(event);
+                } else if (asyncEnabled) {
+                    freeSlots.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Buffer the event into its reserved slot, or send it right away in sync mode
+     */
+    private void handOver(UserEvents.PrescriptionDispensedEvent event) {
+        if (asyncEnabled) {
+            buffer.add(new PendingEvent(event));
+            return;
+        }
+        try {
+            send(event);
+        } catch (RuntimeException e) {
+            // The dispense is already committed; the failure can only be recorded
+            failureCounter.increment();
+        }
+    }
+
+    private void send(UserEvents.PrescriptionDispensedEvent event) {
         try {
-            String routingKey = "prescription.dispensed." + event.getClinicId();
+            String routingKey = routingKey(event);
 
             // Convert protobuf to bytes
             byte[] eventBytes = event.toByteArray();
@@ -41,4 +178,199 @@ public class RabbitMQPublisher {
             throw new RuntimeException("Failed to publish prescription dispensed event", e);
         }
     }
+
+    private void reserveSlot(UserEvents.PrescriptionDispensedEvent event) {
+        try {
+            if (!freeSlots.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejectedCounter.increment();
+                throw new EventPublishRejectedException("Event buffer full, prescription dispensed event rejected for prescription: "
+                        + event.getPrescriptionId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedCounter.increment();
+            throw new EventPublishRejectedException("Interrupted while buffering prescription dispensed event", e);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+        running = true;
+        flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-event-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.execute(this::runPublisher);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!asyncEnabled) {
+            return;
+        }
+        running = false;
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(confirmTimeoutMillis + TimeUnit.SECONDS.toMillis(5), TimeUnit.MILLISECONDS);
+
+        // Publish whatever is left while the connection is still open, retries included regardless of their backoff
+        List<PendingEvent> remaining = new ArrayList<>(retries);
+        retries.clear();
+        buffer.drainTo(remaining);
+        freeSlots.release(remaining.size());
+        int lost = 0;
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            for (PendingEvent failed : publishBatch(remaining.subList(from, Math.min(from + batchSize, remaining.size())))) {
+                deadLetter(failed, "on shutdown");
+                lost++;
+            }
+        }
+        if (lost > 0) {
+            logger.error("{} of {} buffered prescription dispensed events were not confirmed before shutdown",
+                    lost, remaining.size());
+        }
+    }
+
+    private void runPublisher() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Retries whose backoff has elapsed go first, then new events
+                retries.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    PendingEvent first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                buffer.drainTo(batch, batchSize - batch.size());
+                List<PendingEvent> failed = publishBatch(batch);
+                // Events being retried keep their slot, so a full buffer never pushes them out
+                freeSlots.release(batch.size() - failed.size());
+                failed.forEach(this::retry);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error in inventory event publisher: {}", e.getMessage(), e);
+                batch.forEach(this::retry);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Send a batch on one channel, then wait for its confirms; returns the events that were not confirmed
+     */
+    private List<PendingEvent> publishBatch(List<PendingEvent> batch) {
+        long start = System.nanoTime();
+        List<CorrelationData> confirms = new ArrayList<>(batch.size());
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingEvent pending : batch) {
+                    CorrelationData correlation = new CorrelationData(pending.event.getPrescriptionId());
+                    long sentAt = System.nanoTime();
+                    correlation.getFuture().whenComplete((confirm, error) ->
+                            confirmLatencyTimer.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS));
+                    operations.send(EXCHANGE, routingKey(pending.event), toMessage(pending.event), correlation);
+                    confirms.add(correlation);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.error("Failed to send {} prescription dispensed events to RabbitMQ: {}",
+                    batch.size() - confirms.size(), e.getMessage());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMillis);
+        List<PendingEvent> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (i >= confirms.size() || !awaitAck(confirms.get(i), deadline)) {
+                failed.add(batch.get(i));
+            }
+        }
+
+        publishedCounter.increment(batch.size() - failed.size());
+        failureCounter.increment(failed.size());
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return failed;
+    }
+
+    private boolean awaitAck(CorrelationData correlation, long deadlineNanos) {
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                logger.warn("Prescription dispensed event {} nacked by broker: {}", correlation.getId(), confirm.getReason());
+            }
+            return confirm.isAck();
+        } catch (TimeoutException | ExecutionException e) {
+            logger.warn("No publisher confirm for prescription dispensed event {}", correlation.getId());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Schedule an unconfirmed event for another attempt after an exponential backoff; give up after max attempts
+     */
+    private void retry(PendingEvent pending) {
+        pending.attempts++;
+        if (pending.attempts >= maxAttempts) {
+            freeSlots.release();
+            deadLetter(pending, "after " + pending.attempts + " attempts");
+            return;
+        }
+        long backoffMillis = Math.min(retryBackoffMillis << Math.min(pending.attempts - 1, 20), maxRetryBackoffMillis);
+        pending.notBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+        retries.add(pending);
+    }
+
+    /**
+     * Give up on an event; the full protobuf payload is logged so it can be republished by hand
+     */
+    private void deadLetter(PendingEvent pending, String reason) {
+        rejectedCounter.increment();
+        logger.error("Dropping prescription dispensed event for prescription {} {}, payload (base64 protobuf): {}",
+                pending.event.getPrescriptionId(), reason, Base64.getEncoder().encodeToString(pending.event.toByteArray()));
+    }
+
+    private Message toMessage(UserEvents.PrescriptionDispensedEvent event) {
+        // Same message the synchronous convertAndSend produces for the byte[] payload
+        return rabbitTemplate.getMessageConverter().toMessage(event.toByteArray(), new MessageProperties());
+    }
+
+    private static String routingKey(UserEvents.PrescriptionDispensedEvent event) {
+        return "prescription.dispensed." + event.getClinicId();
+    }
+
+    /**
+     * Buffered event with its publish attempt count and, while it waits for a retry, the earliest time of the next attempt
+     */
+    private static final class PendingEvent implements Delayed {
+        private final UserEvents.PrescriptionDispensedEvent event;
+        private int attempts;
+        private long notBefore;
+
+        private PendingEvent(UserEvents.PrescriptionDispensedEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(notBefore - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(notBefore, ((PendingEvent) other).notBefore);
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.pulseone.inventory_service.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate issues and the entities it loads per HTTP request in the inventory
+ * service. The service only publishes to RabbitMQ and has no listeners, so SqlStatementFilter is the only
+ * place units are opened. Counts are published as inventory.sql.statements and inventory.sql.entities.loaded
+ * tagged with the endpoint, and requests above sql.monitor.warn-threshold are logged as likely N+1 loops.
+ * The scheduled ExpirySweeper runs outside any request and writes through JdbcTemplate; it is not counted.
+ */
+@Component
+public class SqlStatementMonitor implements StatementInspector, PostLoadEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementMonitor.class);
+
+    private static final ThreadLocal<Unit> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlStatementMonitor(MeterRegistry meterRegistry,
+                               @Value("${sql.monitor.warn-threshold:50}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Unit unit = CURRENT.get();
+        if (unit != null) {
+            unit.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Unit unit = CURRENT.get();
+        if (unit != null) {
+            unit.entities++;
+        }
+    }
+
+    /**
+     * Open a unit of work on this thread; returns false when one is already open (the outer unit counts)
+     */
+    public boolean begin() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Unit());
+        return true;
+    }
+
+    /**
+     * Close the unit opened by begin() and record its counts
+     */
+    public void end(String kind, String name) {
+        Unit unit = CURRENT.get();
+        CURRENT.remove();
+        if (unit == null) {
+            return;
+        }
+
+        DistributionSummary.builder("inventory.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .tags("kind", kind, "name", name)
+                .register(meterRegistry)
+                .record(unit.statements);
+        DistributionSummary.builder("inventory.sql.entities.loaded")
+                .description("Entities loaded per HTTP request")
+                .tags("kind", kind, "name", name)
+                .register(meterRegistry)
+                .record(unit.entities);
+
+        if (unit.statements > warnThreshold) {
+            Counter.builder("inventory.sql.threshold.exceeded")
+                    .description("Requests that issued more SQL statements than the warning threshold")
+                    .tags("kind", kind, "name", name)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("{} {} issued {} SQL statements and loaded {} entities (threshold {}); likely an N+1 query",
+                    kind, name, unit.statements, unit.entities, warnThreshold);
+        }
+    }
+
+    private static final class Unit {
+        private int statements;
+        private int entities;
+    }
+}
@@ -2,6 +2,9 @@ package com.pulseone.inventory_service.repository;
 
 import com.pulseone.inventory_service.entity.CatalogItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,34 @@ public interface CatalogItemRepository extends JpaRepository<CatalogItem, UUID>
     List<CatalogItem> findByClinicId(Long clinicId);
 
     List<CatalogItem> findByClinicIdAndIsActiveTrue(Long clinicId);
+
+    /**
+     * Item counts and on-hand total of a clinic in one aggregate query
+     */
+    @Query("SELECT COUNT(c) AS totalItems, " +
+           "COALESCE(SUM(CASE WHEN c.isActive = true THEN 1 ELSE 0 END), 0) AS activeItems, " +
+           "COALESCE(SUM(c.onHandQuantity), 0) AS totalQuantity " +
+           "FROM CatalogItem c WHERE c.clinicId = :clinicId")
+    ClinicStockSummary summarizeByClinicId(@Param("clinicId") Long clinicId);
+
+    /**
+     * Items whose on-hand total is below their reorder level, served by the partial low-stock index
+     */
+    @Query("SELECT c FROM CatalogItem c WHERE c.clinicId = :clinicId AND c.onHandQuantity < c.reorderLevel")
+    List<CatalogItem> findLowStockItems(@Param("clinicId") Long clinicId);
+
+    /**
+     * Apply a stock change to the item's on-hand total in place, so concurrent writers cannot lose updates
+     */
+    @Modifying
+    @Query("UPDATE CatalogItem c SET c.onHandQuantity = c.onHandQuantity + :delta WHERE c.id = :catalogItemId")
+    int adjustOnHandQuantity(@Param("catalogItemId") UUID catalogItemId, @Param("delta") int delta);
+
+    interface ClinicStockSummary {
+        Long getTotalItems();
+
+        Long getActiveItems();
+
+        Long getTotalQuantity();
+    }
 }
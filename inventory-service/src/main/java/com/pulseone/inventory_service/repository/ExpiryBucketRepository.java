@@ -0,0 +1,55 @@
+package com.pulseone.inventory_service.repository;
+
+import com.pulseone.inventory_service.dto.ExpiryBucketResponse;
+import com.pulseone.inventory_service.entity.ExpiryBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ExpiryBucketRepository - Spring Data JPA repository for ExpiryBucket
+ */
+@Repository
+public interface ExpiryBucketRepository extends JpaRepository<ExpiryBucket, ExpiryBucket.Key> {
+
+    /**
+     * Buckets of a clinic for expiry days after today up to and including until, soonest first
+     */
+    @Query("SELECT new com.pulseone.inventory_service.dto.ExpiryBucketResponse(b.expiryDate, b.batchCount, b.totalQuantity) " +
+           "FROM ExpiryBucket b WHERE b.clinicId = :clinicId AND b.expiryDate > :today AND b.expiryDate <= :until " +
+           "ORDER BY b.expiryDate")
+    List<ExpiryBucketResponse> findBuckets(@Param("clinicId") Long clinicId,
+            @Param("today") LocalDate today,
+            @Param("until") LocalDate until);
+
+    @Query("SELECT MIN(b.refreshedAt) FROM ExpiryBucket b")
+    LocalDateTime findLastRefreshedAt();
+
+    /**
+     * Take the bucket rebuild lock for the current transaction; false when another instance holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('inventory_expiry_buckets'))", nativeQuery = true)
+    boolean tryLockRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM inventory_expiry_buckets", nativeQuery = true)
+    int deleteAllBuckets();
+
+    /**
+     * Rebuild the buckets for expiry days after today up to and including until in one grouped statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO inventory_expiry_buckets (clinic_id, expiry_date, batch_count, total_quantity, refreshed_at) " +
+                   "SELECT c.clinic_id, b.expiry_date, COUNT(*), SUM(b.available_quantity), now() " +
+                   "FROM inventory_batches b JOIN catalog_items c ON c.id = b.catalog_item_id " +
+                   "WHERE b.available_quantity > 0 AND b.expiry_date > :today AND b.expiry_date <= :until " +
+                   "GROUP BY c.clinic_id, b.expiry_date",
+           nativeQuery = true)
+    int insertBuckets(@Param("today") LocalDate today, @Param("until") LocalDate until);
+}
@@ -1,13 +1,19 @@
 package com.pulseone.inventory_service.repository;
 
+import com.pulseone.inventory_service.dto.ExpiryBucketResponse;
 import com.pulseone.inventory_service.entity.InventoryBatch;
 import com.pulseone.inventory_service.entity.CatalogItem;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,9 +26,33 @@ public interface InventoryBatchRepository extends JpaRepository<InventoryBatch,
     /**
      * Find all batches for a catalog item sorted by expiry date (FIFO)
      */
-    @Query("SELECT b FROM InventoryBatch b WHERE b.catalogItem = :catalogItem AND b.availableQuantity > 0 ORDER BY b.expiryDate ASC")
+    @Query("SELECT b FROM InventoryBatch b WHERE b.catalogItem = :catalogItem AND b.availableQuantity > 0 ORDER BY b.expiryDate ASC, b.id")
     List<InventoryBatch> findAvailableBatchesByItemFifo(@Param("catalogItem") CatalogItem catalogItem);
 
+    /**
+     * Lock the available batches of several catalog items in one query, FIFO within each item.
+     * The fixed (item, expiry, id) order keeps concurrent bulk dispenses from deadlocking.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM InventoryBatch b WHERE b.catalogItem.id IN :catalogItemIds AND b.availableQuantity > 0 " +
+           "ORDER BY b.catalogItem.id, b.expiryDate ASC, b.id")
+    List<InventoryBatch> findAvailableBatchesForUpdate(@Param("catalogItemIds") Collection<UUID> catalogItemIds);
+
+    /**
+     * Deduct quantity from a batch only if it still holds that much; returns 0 when a concurrent
+     * dispense got there first. Bumps the version so stale entity updates of the batch fail.
+     */
+    @Modifying
+    @Query("UPDATE InventoryBatch b SET b.availableQuantity = b.availableQuantity - :quantity, b.version = b.version + 1 " +
+           "WHERE b.id = :batchId AND b.availableQuantity >= :quantity")
+    int decrementAvailableQuantity(@Param("batchId") UUID batchId, @Param("quantity") int quantity);
+
+    /**
+     * Current available quantity of a batch, read from the database rather than the persistence context
+     */
+    @Query("SELECT b.availableQuantity FROM InventoryBatch b WHERE b.id = :batchId")
+    Integer findAvailableQuantityById(@Param("batchId") UUID batchId);
+
     /**
      * Find all batches for a catalog item
      */
@@ -31,7 +61,32 @@ public interface InventoryBatchRepository extends JpaRepository<InventoryBatch,
     /**
      * Find batches expiring before specified date
      */
-    @Query("SELECT b FROM InventoryBatch b WHERE b.catalogItem.clinicId = :clinicId AND b.expiryDate > CURRENT_DATE AND b.expiryDate <= :expiryBeforeDate ORDER BY b.expiryDate ASC")
+    @Query("SELECT b FROM InventoryBatch b JOIN FETCH b.catalogItem c WHERE c.clinicId = :clinicId AND b.expiryDate > CURRENT_DATE AND b.expiryDate <= :expiryBeforeDate ORDER BY b.expiryDate ASC")
     List<InventoryBatch> findExpiringBatches(@Param("clinicId") Long clinicId,
             @Param("expiryBeforeDate") LocalDate expiryBeforeDate);
+
+    /**
+     * All batches of a clinic in one query, FIFO order within each item, for grouping per item in memory
+     */
+    @Query("SELECT b FROM InventoryBatch b WHERE b.catalogItem.clinicId = :clinicId " +
+           "ORDER BY b.catalogItem.id, b.expiryDate ASC, b.id")
+    List<InventoryBatch> findByClinicId(@Param("clinicId") Long clinicId);
+
+    /**
+     * Stock value (cost price x available quantity) of a clinic across all batches
+     */
+    @Query("SELECT COALESCE(SUM(b.costPrice * b.availableQuantity), 0) FROM InventoryBatch b " +
+           "WHERE b.catalogItem.clinicId = :clinicId")
+    BigDecimal sumStockValueByClinicId(@Param("clinicId") Long clinicId);
+
+    /**
+     * Expiring stock of a clinic grouped per expiry day, for windows beyond the precomputed buckets
+     */
+    @Query("SELECT new com.pulseone.inventory_service.dto.ExpiryBucketResponse(b.expiryDate, COUNT(b), SUM(b.availableQuantity)) " +
+           "FROM InventoryBatch b WHERE b.catalogItem.clinicId = :clinicId AND b.availableQuantity > 0 " +
+           "AND b.expiryDate > :today AND b.expiryDate <= :until " +
+           "GROUP BY b.expiryDate ORDER BY b.expiryDate")
+    List<ExpiryBucketResponse> summarizeExpiringByDay(@Param("clinicId") Long clinicId,
+            @Param("today") LocalDate today,
+            @Param("until") LocalDate until);
 }
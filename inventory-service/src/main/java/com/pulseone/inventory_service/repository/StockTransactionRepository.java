@@ -1,22 +1,32 @@
 package com.pulseone.inventory_service.repository;
 
+import com.pulseone.inventory_service.dto.StockTransactionResponse;
 import com.pulseone.inventory_service.entity.StockTransaction;
 import com.pulseone.inventory_service.entity.CatalogItem;
 import com.pulseone.inventory_service.entity.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * StockTransactionRepository - Spring Data JPA repository for StockTransaction
  */
 @Repository
 public interface StockTransactionRepository extends JpaRepository<StockTransaction, UUID> {
+    /**
+     * Rows per cursor round trip for the streaming exports
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
     List<StockTransaction> findByCatalogItem(CatalogItem catalogItem);
 
     /**
@@ -36,4 +46,33 @@ public interface StockTransactionRepository extends JpaRepository<StockTransacti
     List<StockTransaction> findByClinicAndDateRange(@Param("clinicId") Long clinicId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Stream a clinic's ledger for a time range [startTime, endTime) oldest first, for exports.
+     * Rows are projected straight into DTOs, so nothing accumulates in the persistence context, and read
+     * through a server-side cursor of EXPORT_FETCH_SIZE rows; the caller must hold a transaction and close the stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.pulseone.inventory_service.dto.StockTransactionResponse(" +
+           "t.id, c.drugName, t.type, t.quantity, t.referenceId, t.timestamp) " +
+           "FROM StockTransaction t JOIN t.catalogItem c " +
+           "WHERE c.clinicId = :clinicId AND t.timestamp >= :startTime AND t.timestamp < :endTime " +
+           "ORDER BY t.timestamp, t.id")
+    Stream<StockTransactionResponse> streamByClinicAndDateRange(@Param("clinicId") Long clinicId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Stream the ledger of one of a clinic's catalog items for a time range [startTime, endTime) oldest first, for exports
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.pulseone.inventory_service.dto.StockTransactionResponse(" +
+           "t.id, c.drugName, t.type, t.quantity, t.referenceId, t.timestamp) " +
+           "FROM StockTransaction t JOIN t.catalogItem c " +
+           "WHERE c.clinicId = :clinicId AND c.id = :catalogItemId AND t.timestamp >= :startTime AND t.timestamp < :endTime " +
+           "ORDER BY t.timestamp, t.id")
+    Stream<StockTransactionResponse> streamByCatalogItemAndDateRange(@Param("clinicId") Long clinicId,
+            @Param("catalogItemId") UUID catalogItemId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
 }
@@ -5,20 +5,38 @@ import com.pulseone.inventory_service.entity.*;
 import com.pulseone.inventory_service.exception.CatalogItemNotFoundException;
 import com.pulseone.inventory_service.exception.InsufficientStockException;
 import com.pulseone.inventory_service.repository.CatalogItemRepository;
+import com.pulseone.inventory_service.repository.ExpiryBucketRepository;
 import com.pulseone.inventory_service.repository.InventoryBatchRepository;
 import com.pulseone.inventory_service.repository.StockTransactionRepository;
 import com.pulseone.inventory_service.messaging.RabbitMQPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import events.v1.UserEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * InventoryService - Core business logic for inventory management
@@ -29,19 +47,30 @@ public class InventoryService {
 
         private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
 
+        private static final int MAX_BATCH_DEDUCT_ATTEMPTS = 3;
+
         private final CatalogItemRepository catalogItemRepository;
         private final InventoryBatchRepository inventoryBatchRepository;
         private final StockTransactionRepository stockTransactionRepository;
         private final RabbitMQPublisher rabbitMQPublisher;
+        private final ExpiryBucketRepository expiryBucketRepository;
+        private final ObjectMapper objectMapper;
+        private final int expiryBucketHorizonDays;
 
         public InventoryService(CatalogItemRepository catalogItemRepository,
                         InventoryBatchRepository inventoryBatchRepository,
                         StockTransactionRepository stockTransactionRepository,
-                        RabbitMQPublisher rabbitMQPublisher) {
+                        RabbitMQPublisher rabbitMQPublisher,
+                        ExpiryBucketRepository expiryBucketRepository,
+                        ObjectMapper objectMapper,
+                        @Value("${inventory.expiry.buckets.horizon-days:90}") int expiryBucketHorizonDays) {
                 this.catalogItemRepository = catalogItemRepository;
                 this.inventoryBatchRepository = inventoryBatchRepository;
                 this.stockTransactionRepository = stockTransactionRepository;
                 this.rabbitMQPublisher = rabbitMQPublisher;
+                this.expiryBucketRepository = expiryBucketRepository;
+                this.objectMapper = objectMapper;
+                this.expiryBucketHorizonDays = expiryBucketHorizonDays;
         }
 
         /**
@@ -74,6 +103,7 @@ public class InventoryService {
         public InventoryBatch addStock(StockInRequest request) {
                 logger.info("Adding stock - CatalogItemId: {}, Batch: {}, Quantity: {}",
                                 request.getCatalogItemId(), request.getBatchNumber(), request.getQuantity());
+                requirePositiveQuantity(request.getQuantity());
 
                 // Fetch the catalog item
                 CatalogItem catalogItem = catalogItemRepository.findById(request.getCatalogItemId())
@@ -91,6 +121,8 @@ public class InventoryService {
                 InventoryBatch savedBatch = inventoryBatchRepository.save(batch);
                 logger.info("Batch saved with ID: {}", savedBatch.getId());
 
+                adjustOnHand(catalogItem, request.getQuantity());
+
                 // Log transaction
                 logStockTransaction(catalogItem, TransactionType.STOCK_IN, request.getQuantity(), null);
 
@@ -102,7 +134,8 @@ public class InventoryService {
          * 
          * Logic:
          * 1. Fetch all available batches sorted by expiryDate (oldest first)
-         * 2. Iterate through batches to fulfill quantityRequired
+         * 2. Iterate through batches to fulfill quantityRequired, deducting each with a
+         *    conditional UPDATE instead of read-modify-write
          * 3. Calculate total cost
          * 4. Log transaction
          * 5. Return cost and quantity dispensed
@@ -111,6 +144,7 @@ public class InventoryService {
         public DispenseResponse dispenseDrug(DispenseRequest request) {
                 logger.info("Dispensing drug - CatalogItemId: {}, Quantity: {}, PrescriptionId: {}",
                                 request.getCatalogItemId(), request.getQuantityRequired(), request.getPrescriptionId());
+                requirePositiveQuantity(request.getQuantityRequired());
 
                 // Fetch the catalog item
                 CatalogItem catalogItem = catalogItemRepository.findById(request.getCatalogItemId())
@@ -137,7 +171,8 @@ public class InventoryService {
                                                         request.getQuantityRequired(), totalAvailable));
                 }
 
-                // FIFO Dispensing: Iterate through batches and deduct quantity
+                // FIFO Dispensing: deduct from each batch with a conditional UPDATE, so concurrent
+                // dispenses of the same drug never take more than a batch holds
                 int quantityToDispense = request.getQuantityRequired();
                 BigDecimal totalCost = BigDecimal.ZERO;
 
@@ -146,23 +181,32 @@ public class InventoryService {
                                 break;
                         }
 
-                        int batchAvailable = batch.getAvailableQuantity();
-                        int quantityFromBatch = Math.min(quantityToDispense, batchAvailable);
+                        int quantityFromBatch = deductFromBatch(batch, quantityToDispense);
+                        if (quantityFromBatch == 0) {
+                                continue;
+                        }
 
                         // Calculate cost for this batch
                         BigDecimal batchCost = batch.getCostPrice().multiply(BigDecimal.valueOf(quantityFromBatch));
                         totalCost = totalCost.add(batchCost);
 
-                        // Update batch quantity
-                        batch.setAvailableQuantity(batchAvailable - quantityFromBatch);
-                        inventoryBatchRepository.save(batch);
-
                         quantityToDispense -= quantityFromBatch;
 
                         logger.debug("Dispensed {} units from batch {} (Cost: {})",
                                         quantityFromBatch, batch.getBatchNumber(), batchCost);
                 }
 
+                if (quantityToDispense > 0) {
+                        // Concurrent dispenses drained the batches after the availability check;
+                        // rolling back restores the deductions made above
+                        throw new InsufficientStockException(
+                                        String.format("Insufficient stock. Required: %d, Available: %d",
+                                                        request.getQuantityRequired(),
+                                                        request.getQuantityRequired() - quantityToDispense));
+                }
+
+                adjustOnHand(catalogItem, -request.getQuantityRequired());
+
                 // Log transaction
                 logStockTransaction(catalogItem, TransactionType.DISPENSED, request.getQuantityRequired(),
                                 request.getPrescriptionId());
@@ -172,26 +216,16 @@ public class InventoryService {
                 // Publish prescription dispensed event to RabbitMQ (only if prescriptionId is
                 // provided)
                 if (request.getPrescriptionId() != null && !request.getPrescriptionId().isEmpty()) {
-                        try {
-                                UserEvents.PrescriptionDispensedEvent event = UserEvents.PrescriptionDispensedEvent
-                                                .newBuilder()
-                                                .setPrescriptionId(request.getPrescriptionId())
-                                                .setClinicId(String.valueOf(catalogItem.getClinicId()))
-                                                .setCatalogItemId(request.getCatalogItemId().toString())
-                                                .setQuantityDispensed(request.getQuantityRequired())
-                                                .setTotalCost(totalCost.toString())
-                                                .setTimestamp(System.currentTimeMillis() / 1000)
-                                                .setEventType("PRESCRIPTION_DISPENSED")
-                                                .build();
-
-                                rabbitMQPublisher.publishPrescriptionDispensedEvent(event);
-                                logger.info("✓ Published prescription dispensed event for prescription: {}",
-                                                request.getPrescriptionId());
-                        } catch (Exception e) {
-                                logger.error("⚠️ Failed to publish prescription dispensed event: {}", e.getMessage(),
-                                                e);
-                                // Don't fail the dispense operation if event publishing fails
-                        }
+                        publishDispensedEvent(UserEvents.PrescriptionDispensedEvent
+                                        .newBuilder()
+                                        .setPrescriptionId(request.getPrescriptionId())
+                                        .setClinicId(String.valueOf(catalogItem.getClinicId()))
+                                        .setCatalogItemId(request.getCatalogItemId().toString())
+                                        .setQuantityDispensed(request.getQuantityRequired())
+                                        .setTotalCost(totalCost.toString())
+                                        .setTimestamp(System.currentTimeMillis() / 1000)
+                                        .setEventType("PRESCRIPTION_DISPENSED")
+                                        .build());
                 } else {
                         logger.debug("Skipping event publishing - prescriptionId not provided");
                 }
@@ -204,19 +238,179 @@ public class InventoryService {
                                 "Drug dispensed successfully");
         }
 
+        /**
+         * Dispense every line of a prescription in one transaction
+         *
+         * Logic:
+         * 1. Validate every line, load all catalog items (which must share one clinic) and lock all their
+         *    available batches with one query each
+         * 2. Deduct each line FIFO from its item's batches; any shortfall rolls back the whole prescription
+         * 3. Flush the batch updates and one StockTransaction per line as JDBC batches, and
+         *    take the dispensed quantities off the items' on-hand totals
+         * 4. Publish a single prescription dispensed event with a per-item breakdown
+         */
+        @Transactional
+        public BulkDispenseResponse dispenseBulk(BulkDispenseRequest request) {
+                if (request.getLines() == null || request.getLines().isEmpty()) {
+                        throw new IllegalArgumentException("At least one line is required");
+                }
+                for (DispenseLineRequest line : request.getLines()) {
+                        if (line == null || line.getCatalogItemId() == null) {
+                                throw new IllegalArgumentException("Every line needs a catalog item ID");
+                        }
+                        requirePositiveQuantity(line.getQuantityRequired());
+                }
+                logger.info("Bulk dispensing {} lines for prescription: {}", request.getLines().size(),
+                                request.getPrescriptionId());
+
+                Set<UUID> catalogItemIds = request.getLines().stream()
+                                .map(DispenseLineRequest::getCatalogItemId)
+                                .collect(Collectors.toCollection(LinkedHashSet::new));
+                Map<UUID, CatalogItem> catalogItems = catalogItemRepository.findAllById(catalogItemIds).stream()
+                                .collect(Collectors.toMap(CatalogItem::getId, Function.identity()));
+                for (UUID catalogItemId : catalogItemIds) {
+                        if (!catalogItems.containsKey(catalogItemId)) {
+                                throw new CatalogItemNotFoundException("Catalog item not found with ID: " + catalogItemId);
+                        }
+                }
+                // One prescription, one clinic: the event's clinic ID and routing depend on it
+                Set<Long> clinicIds = catalogItems.values().stream()
+                                .map(CatalogItem::getClinicId)
+                                .collect(Collectors.toSet());
+                if (clinicIds.size() != 1) {
+                        throw new IllegalArgumentException("All lines must belong to the same clinic, got clinics: " + clinicIds);
+                }
+                Long clinicId = clinicIds.iterator().next();
+
+                // Batches of all items, locked and in FIFO order per item
+                Map<UUID, List<InventoryBatch>> batchesByItem = inventoryBatchRepository
+                                .findAvailableBatchesForUpdate(catalogItemIds).stream()
+                                .collect(Collectors.groupingBy(batch -> batch.getCatalogItem().getId()));
+
+                List<DispenseResponse> lineResponses = new ArrayList<>();
+                List<StockTransaction> transactions = new ArrayList<>();
+                UserEvents.PrescriptionDispensedEvent.Builder event = UserEvents.PrescriptionDispensedEvent.newBuilder();
+                Map<UUID, Integer> dispensedByItem = new TreeMap<>();
+                int totalQuantity = 0;
+                BigDecimal totalCost = BigDecimal.ZERO;
+                LocalDateTime now = LocalDateTime.now();
+
+                for (DispenseLineRequest line : request.getLines()) {
+                        CatalogItem catalogItem = catalogItems.get(line.getCatalogItemId());
+                        int quantityToDispense = line.getQuantityRequired();
+                        BigDecimal lineCost = BigDecimal.ZERO;
+
+                        // Locked rows: deducting on the managed entities is safe, and the updates are
+                        // flushed together at commit
+                        for (InventoryBatch batch : batchesByItem.getOrDefault(catalogItem.getId(), List.of())) {
+                                if (quantityToDispense <= 0) {
+                                        break;
+                                }
+                                int quantityFromBatch = Math.min(quantityToDispense, batch.getAvailableQuantity());
+                                if (quantityFromBatch == 0) {
+                                        continue;
+                                }
+                                batch.setAvailableQuantity(batch.getAvailableQuantity() - quantityFromBatch);
+                                lineCost = lineCost.add(batch.getCostPrice().multiply(BigDecimal.valueOf(quantityFromBatch)));
+                                quantityToDispense -= quantityFromBatch;
+                        }
+
+                        if (quantityToDispense > 0) {
+                                throw new InsufficientStockException(
+                                                String.format("Insufficient stock for %s. Required: %d, Available: %d",
+                                                                catalogItem.getDrugName(), line.getQuantityRequired(),
+                                                                line.getQuantityRequired() - quantityToDispense));
+                        }
+
+                        StockTransaction transaction = new StockTransaction();
+                        transaction.setCatalogItem(catalogItem);
+                        transaction.setType(TransactionType.DISPENSED);
+                        transaction.setQuantity(line.getQuantityRequired());
+                        transaction.setReferenceId(request.getPrescriptionId());
+                        transaction.setTimestamp(now);
+                        transactions.add(transaction);
+
+                        lineResponses.add(new DispenseResponse(
+                                        catalogItem.getId(),
+                                        line.getQuantityRequired(),
+                                        lineCost,
+                                        request.getPrescriptionId(),
+                                        "Drug dispensed successfully"));
+                        event.addLines(UserEvents.DispensedLine.newBuilder()
+                                        .setCatalogItemId(catalogItem.getId().toString())
+                                        .setQuantityDispensed(line.getQuantityRequired())
+                                        .setTotalCost(lineCost.toString())
+                                        .build());
+                        dispensedByItem.merge(catalogItem.getId(), line.getQuantityRequired(), Integer::sum);
+                        totalQuantity += line.getQuantityRequired();
+                        totalCost = totalCost.add(lineCost);
+                }
+
+                // One on-hand update per item, in ID order so concurrent prescriptions lock the rows alike
+                dispensedByItem.forEach((catalogItemId, quantity) ->
+                                adjustOnHand(catalogItems.get(catalogItemId), -quantity));
+                stockTransactionRepository.saveAll(transactions);
+                logger.info("Prescription dispensed successfully. Lines: {}, Total cost: {}", lineResponses.size(),
+                                totalCost);
+
+                if (request.getPrescriptionId() != null && !request.getPrescriptionId().isEmpty()) {
+                        publishDispensedEvent(event
+                                        .setPrescriptionId(request.getPrescriptionId())
+                                        .setClinicId(String.valueOf(clinicId))
+                                        .setQuantityDispensed(totalQuantity)
+                                        .setTotalCost(totalCost.toString())
+                                        .setTimestamp(System.currentTimeMillis() / 1000)
+                                        .setEventType("PRESCRIPTION_DISPENSED")
+                                        .build());
+                } else {
+                        logger.debug("Skipping event publishing - prescriptionId not provided");
+                }
+
+                return new BulkDispenseResponse(
+                                request.getPrescriptionId(),
+                                lineResponses,
+                                totalQuantity,
+                                totalCost,
+                                "Prescription dispensed successfully");
+        }
+
+        /**
+         * Publish a prescription dispensed event once the dispense commits.
+         * A full event buffer rejects the dispense so it rolls back instead of committing without its event;
+         * a send failure after commit is logged and counted by the publisher and does not fail the dispense.
+         */
+        private void publishDispensedEvent(UserEvents.PrescriptionDispensedEvent event) {
+                rabbitMQPublisher.publishPrescriptionDispensedEvent(event);
+                logger.debug("Scheduled prescription dispensed event for prescription: {}",
+                                event.getPrescriptionId());
+        }
+
+        /**
+         * Deduct up to the wanted quantity from a batch and return how much was taken.
+         * The batch's quantity is re-read when a concurrent dispense changed it, a bounded number of times.
+         */
+        private int deductFromBatch(InventoryBatch batch, int wanted) {
+                int available = batch.getAvailableQuantity();
+                for (int attempt = 0; attempt < MAX_BATCH_DEDUCT_ATTEMPTS && available > 0; attempt++) {
+                        int quantity = Math.min(wanted, available);
+                        if (inventoryBatchRepository.decrementAvailableQuantity(batch.getId(), quantity) == 1) {
+                                return quantity;
+                        }
+                        Integer current = inventoryBatchRepository.findAvailableQuantityById(batch.getId());
+                        available = current != null ? current : 0;
+                }
+                return 0;
+        }
+
         /**
          * Get all items below reorder level for a clinic
          */
         public List<LowStockItemResponse> getLowStockItems(Long clinicId) {
                 logger.info("Fetching low stock items for clinic: {}", clinicId);
 
-                List<CatalogItem> catalogItems = catalogItemRepository.findByClinicId(clinicId);
+                List<CatalogItem> catalogItems = catalogItemRepository.findLowStockItems(clinicId);
 
                 return catalogItems.stream()
-                                .filter(item -> {
-                                        int totalQuantity = getTotalQuantityForItem(item);
-                                        return totalQuantity < item.getReorderLevel();
-                                })
                                 .map(item -> {
                                         int totalQuantity = getTotalQuantityForItem(item);
                                         return new LowStockItemResponse(
@@ -235,10 +429,30 @@ public class InventoryService {
          * Get total available quantity for a catalog item
          */
         public int getTotalQuantityForItem(CatalogItem catalogItem) {
-                List<InventoryBatch> batches = inventoryBatchRepository.findByCatalogItem(catalogItem);
-                return batches.stream()
-                                .mapToInt(InventoryBatch::getAvailableQuantity)
-                                .sum();
+                return catalogItem.getOnHandQuantity();
+        }
+
+        /**
+         * Reject a missing or non-positive quantity before any stock or on-hand total is touched
+         */
+        private static void requirePositiveQuantity(Integer quantity) {
+                if (quantity == null || quantity <= 0) {
+                        throw new IllegalArgumentException("Quantity must be greater than 0, got: " + quantity);
+                }
+        }
+
+        /**
+         * Move a catalog item's on-hand total by delta, in the database and on the loaded entity.
+         * Must run in the transaction that changes the batches so the total never drifts from them.
+         */
+        private void adjustOnHand(CatalogItem catalogItem, int delta) {
+                if (delta == 0) {
+                        return;
+                }
+                // Read first: a lazy item loaded after the UPDATE would already include the delta
+                int onHand = catalogItem.getOnHandQuantity();
+                catalogItemRepository.adjustOnHandQuantity(catalogItem.getId(), delta);
+                catalogItem.setOnHandQuantity(onHand + delta);
         }
 
         /**
@@ -349,9 +563,7 @@ public class InventoryService {
                                                 "Catalog item not found with ID: " + catalogItemId));
 
                 List<InventoryBatch> batches = inventoryBatchRepository.findByCatalogItem(item);
-                int totalQuantity = batches.stream()
-                                .mapToInt(InventoryBatch::getAvailableQuantity)
-                                .sum();
+                int totalQuantity = getTotalQuantityForItem(item);
 
                 var batchDetails = batches.stream()
                                 .map(batch -> new BatchDetailResponse(
@@ -381,12 +593,45 @@ public class InventoryService {
         public List<StockDetailResponse> getClinicInventory(Long clinicId) {
                 logger.info("Fetching complete inventory for clinic: {}", clinicId);
                 List<CatalogItem> catalogItems = catalogItemRepository.findByClinicId(clinicId);
+                Map<UUID, List<InventoryBatch>> batchesByItem = findBatchesByItem(clinicId);
+                LocalDate today = LocalDate.now();
 
                 return catalogItems.stream()
-                                .map(item -> getStockByCatalogItem(item.getId()))
+                                .map(item -> {
+                                        List<InventoryBatch> batches = batchesByItem.getOrDefault(item.getId(), List.of());
+                                        return new StockDetailResponse(
+                                                        item.getId(),
+                                                        item.getDrugName(),
+                                                        item.getGenericName(),
+                                                        item.getUnitType(),
+                                                        getTotalQuantityForItem(item),
+                                                        item.getReorderLevel(),
+                                                        batches.size(),
+                                                        batches.stream()
+                                                                        .map(batch -> toBatchDetailResponse(batch, today))
+                                                                        .toList());
+                                })
                                 .toList();
         }
 
+        /**
+         * All batches of a clinic, loaded with one query and grouped by catalog item ID
+         */
+        private Map<UUID, List<InventoryBatch>> findBatchesByItem(Long clinicId) {
+                return inventoryBatchRepository.findByClinicId(clinicId).stream()
+                                .collect(Collectors.groupingBy(batch -> batch.getCatalogItem().getId()));
+        }
+
+        private BatchDetailResponse toBatchDetailResponse(InventoryBatch batch, LocalDate today) {
+                return new BatchDetailResponse(
+                                batch.getId(),
+                                batch.getBatchNumber(),
+                                batch.getExpiryDate(),
+                                batch.getCostPrice(),
+                                batch.getAvailableQuantity(),
+                                java.time.temporal.ChronoUnit.DAYS.between(today, batch.getExpiryDate()));
+        }
+
         /**
          * Get transaction history for a catalog item
          */
@@ -407,6 +652,78 @@ public class InventoryService {
                                 .toList();
         }
 
+        /**
+         * Export the stock transaction ledger of a clinic, or of one of its catalog items, for the days
+         * from..to inclusive, oldest first
+         *
+         * Rows are read through a database cursor and written to the output as they arrive, so memory use
+         * does not depend on the size of the ledger. The output is not closed.
+         */
+        @Transactional(readOnly = true)
+        public long exportTransactions(Long clinicId, UUID catalogItemId, LocalDate from, LocalDate to,
+                        TransactionExportFormat format, OutputStream out) throws IOException {
+                logger.info("Exporting {} transactions - Clinic: {}, Item: {}, From: {}, To: {}",
+                                format, clinicId, catalogItemId, from, to);
+                LocalDateTime startTime = from.atStartOfDay();
+                LocalDateTime endTime = to.plusDays(1).atStartOfDay();
+
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (format == TransactionExportFormat.CSV) {
+                        writer.write("id,drug_name,type,quantity,reference_id,timestamp\n");
+                }
+
+                long rows = 0;
+                try (Stream<StockTransactionResponse> transactions = catalogItemId != null
+                                ? stockTransactionRepository.streamByCatalogItemAndDateRange(clinicId, catalogItemId,
+                                                startTime, endTime)
+                                : stockTransactionRepository.streamByClinicAndDateRange(clinicId, startTime, endTime)) {
+                        Iterator<StockTransactionResponse> iterator = transactions.iterator();
+                        while (iterator.hasNext()) {
+                                StockTransactionResponse transaction = iterator.next();
+                                if (format == TransactionExportFormat.CSV) {
+                                        writeCsvRow(writer, transaction);
+                                } else {
+                                        writer.write(objectMapper.writeValueAsString(transaction));
+                                        writer.write('\n');
+                                }
+                                rows++;
+                        }
+                }
+                writer.flush();
+
+                logger.info("Exported {} transactions", rows);
+                return rows;
+        }
+
+        private void writeCsvRow(Writer writer, StockTransactionResponse transaction) throws IOException {
+                writer.write(transaction.getId().toString());
+                writer.write(',');
+                writer.write(csvField(transaction.getDrugName()));
+                writer.write(',');
+                writer.write(transaction.getType().name());
+                writer.write(',');
+                writer.write(String.valueOf(transaction.getQuantity()));
+                writer.write(',');
+                writer.write(csvField(transaction.getReferenceId()));
+                writer.write(',');
+                writer.write(transaction.getTimestamp().toString());
+                writer.write('\n');
+        }
+
+        /**
+         * Quote a CSV field (RFC 4180) when it contains a delimiter, quote or line break
+         */
+        static String csvField(String value) {
+                if (value == null) {
+                        return "";
+                }
+                if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                                && value.indexOf('\r') < 0) {
+                        return value;
+                }
+                return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
         /**
          * Get items expiring within specified days
          */
@@ -432,6 +749,34 @@ public class InventoryService {
                                 .toList();
         }
 
+        /**
+         * Summarize a clinic's stock expiring within the given days, per expiry day
+         * Served from the buckets ExpirySweeper precomputes; windows beyond the bucket horizon are
+         * grouped live from the batches in one query.
+         */
+        public ExpiringSoonResponse getExpiringSoon(Long clinicId, Integer days) {
+                logger.info("Fetching expiring stock summary within {} days for clinic: {}", days, clinicId);
+                LocalDate today = LocalDate.now();
+                LocalDate until = today.plusDays(days);
+
+                List<ExpiryBucketResponse> buckets;
+                LocalDateTime refreshedAt = null;
+                if (days <= expiryBucketHorizonDays) {
+                        buckets = expiryBucketRepository.findBuckets(clinicId, today, until);
+                        refreshedAt = expiryBucketRepository.findLastRefreshedAt();
+                } else {
+                        buckets = inventoryBatchRepository.summarizeExpiringByDay(clinicId, today, until);
+                }
+
+                return new ExpiringSoonResponse(
+                                clinicId,
+                                days,
+                                buckets.stream().mapToLong(ExpiryBucketResponse::getBatchCount).sum(),
+                                buckets.stream().mapToLong(ExpiryBucketResponse::getTotalQuantity).sum(),
+                                refreshedAt,
+                                buckets);
+        }
+
         /**
          * Check if sufficient stock is available
          */
@@ -472,28 +817,16 @@ public class InventoryService {
 
         /**
          * Generate comprehensive inventory report for a clinic
+         * Counts, quantity and value come from aggregate queries, so the query count does not grow with the catalog
          */
         public InventoryReportResponse generateInventoryReport(Long clinicId) {
                 logger.info("Generating inventory report for clinic: {}", clinicId);
 
-                List<CatalogItem> catalogItems = catalogItemRepository.findByClinicId(clinicId);
-                List<CatalogItem> activeItems = catalogItemRepository.findByClinicIdAndIsActiveTrue(clinicId);
-
-                int totalMedicationCount = catalogItems.size();
-                int activeMedicationCount = activeItems.size();
-                int totalQuantity = catalogItems.stream()
-                                .mapToInt(this::getTotalQuantityForItem)
-                                .sum();
-
-                BigDecimal totalInventoryValue = BigDecimal.ZERO;
-                for (CatalogItem item : catalogItems) {
-                        List<InventoryBatch> batches = inventoryBatchRepository.findByCatalogItem(item);
-                        for (InventoryBatch batch : batches) {
-                                BigDecimal batchValue = batch.getCostPrice()
-                                                .multiply(BigDecimal.valueOf(batch.getAvailableQuantity()));
-                                totalInventoryValue = totalInventoryValue.add(batchValue);
-                        }
-                }
+                CatalogItemRepository.ClinicStockSummary summary = catalogItemRepository.summarizeByClinicId(clinicId);
+                int totalMedicationCount = summary.getTotalItems().intValue();
+                int activeMedicationCount = summary.getActiveItems().intValue();
+                int totalQuantity = summary.getTotalQuantity().intValue();
+                BigDecimal totalInventoryValue = inventoryBatchRepository.sumStockValueByClinicId(clinicId);
 
                 List<LowStockItemResponse> lowStockItems = getLowStockItems(clinicId);
                 List<ExpiringItemResponse> expiringItems = getExpiringItems(clinicId, 30);
@@ -538,33 +871,18 @@ public class InventoryService {
         public List<ClinicBatchesResponse> getAllBatchesByClinic(Long clinicId) {
                 logger.info("Fetching all batches for clinic: {}", clinicId);
                 List<CatalogItem> catalogItems = catalogItemRepository.findByClinicId(clinicId);
+                Map<UUID, List<InventoryBatch>> batchesByItem = findBatchesByItem(clinicId);
+                LocalDate today = LocalDate.now();
 
                 return catalogItems.stream()
-                                .map(item -> {
-                                        List<InventoryBatch> batches = inventoryBatchRepository.findByCatalogItem(item);
-                                        int totalQty = batches.stream()
-                                                        .mapToInt(InventoryBatch::getAvailableQuantity)
-                                                        .sum();
-
-                                        var batchDetails = batches.stream()
-                                                        .map(batch -> new BatchDetailResponse(
-                                                                        batch.getId(),
-                                                                        batch.getBatchNumber(),
-                                                                        batch.getExpiryDate(),
-                                                                        batch.getCostPrice(),
-                                                                        batch.getAvailableQuantity(),
-                                                                        java.time.temporal.ChronoUnit.DAYS.between(
-                                                                                        LocalDate.now(),
-                                                                                        batch.getExpiryDate())))
-                                                        .toList();
-
-                                        return new ClinicBatchesResponse(
-                                                        item.getId(),
-                                                        item.getDrugName(),
-                                                        item.getGenericName(),
-                                                        totalQty,
-                                                        batchDetails);
-                                })
+                                .map(item -> new ClinicBatchesResponse(
+                                                item.getId(),
+                                                item.getDrugName(),
+                                                item.getGenericName(),
+                                                getTotalQuantityForItem(item),
+                                                batchesByItem.getOrDefault(item.getId(), List.of()).stream()
+                                                                .map(batch -> toBatchDetailResponse(batch, today))
+                                                                .toList()))
                                 .toList();
         }
 
@@ -595,6 +913,12 @@ public class InventoryService {
                                 .orElseThrow(() -> new IllegalArgumentException("Batch not found with ID: " + batchId));
 
                 if (request.getAvailableQuantity() != null) {
+                        if (request.getAvailableQuantity() < 0) {
+                                throw new IllegalArgumentException(
+                                                "Available quantity must not be negative, got: " + request.getAvailableQuantity());
+                        }
+                        adjustOnHand(batch.getCatalogItem(),
+                                        request.getAvailableQuantity() - batch.getAvailableQuantity());
                         batch.setAvailableQuantity(request.getAvailableQuantity());
                 }
                 if (request.getExpiryDate() != null) {
@@ -615,6 +939,9 @@ public class InventoryService {
                 logger.info("Adjusting batch {} quantity by: {}, Reason: {}",
                                 batchId, request.getAdjustmentQuantity(), request.getReason());
 
+                if (request.getAdjustmentQuantity() == null) {
+                        throw new IllegalArgumentException("Adjustment quantity is required");
+                }
                 InventoryBatch batch = inventoryBatchRepository.findById(batchId)
                                 .orElseThrow(() -> new IllegalArgumentException("Batch not found with ID: " + batchId));
 
@@ -629,6 +956,7 @@ public class InventoryService {
 
                 batch.setAvailableQuantity(newQuantity);
                 InventoryBatch updated = inventoryBatchRepository.save(batch);
+                adjustOnHand(batch.getCatalogItem(), request.getAdjustmentQuantity());
 
                 // Log as STOCK_IN or implicit adjustment based on adjustment type
                 TransactionType type = request.getAdjustmentQuantity() > 0 ? TransactionType.STOCK_IN
@@ -652,9 +980,10 @@ public class InventoryService {
                 int quantityExpired = batch.getAvailableQuantity();
                 batch.setAvailableQuantity(0);
                 inventoryBatchRepository.save(batch);
+                adjustOnHand(batch.getCatalogItem(), -quantityExpired);
 
                 // Log as expired transaction
-                logStockTransaction(batch.getCatalogItem(), TransactionType.DISPENSED,
+                logStockTransaction(batch.getCatalogItem(), TransactionType.EXPIRED,
                                 quantityExpired, "EXPIRED:" + batch.getBatchNumber());
 
                 logger.info("Batch marked as expired. Quantity removed: {}", quantityExpired);
@@ -674,6 +1003,7 @@ public class InventoryService {
                                         "Cannot delete batch with available stock. Please mark as expired or adjust quantity first.");
                 }
 
+                // Only empty batches are deleted, so the item's on-hand total is unchanged
                 inventoryBatchRepository.delete(batch);
                 logger.info("Batch deleted successfully");
         }
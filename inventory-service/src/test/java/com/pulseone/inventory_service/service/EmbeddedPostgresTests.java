@@ -0,0 +1,37 @@
+package com.pulseone.inventory_service.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+/**
+ * Base for tests that need a real PostgreSQL: one embedded server per test JVM, with a fresh schema
+ * for every test class (create-drop in the test profile, context closed after the class).
+ * The Spring context is closed while PostgreSQL is still up, as create-drop needs it; the embedded
+ * database stops itself from its own shutdown hook.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+abstract class EmbeddedPostgresTests {
+
+	private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+	}
+
+	private static EmbeddedPostgres startPostgres() {
+		try {
+			return EmbeddedPostgres.start();
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.pulseone.inventory_service.service;
+
+import com.pulseone.inventory_service.dto.BulkDispenseRequest;
+import com.pulseone.inventory_service.dto.BulkDispenseResponse;
+import com.pulseone.inventory_service.dto.CreateCatalogItemRequest;
+import com.pulseone.inventory_service.dto.DispenseLineRequest;
+import com.pulseone.inventory_service.dto.DispenseResponse;
+import com.pulseone.inventory_service.dto.StockInRequest;
+import com.pulseone.inventory_service.entity.CatalogItem;
+import com.pulseone.inventory_service.entity.InventoryBatch;
+import com.pulseone.inventory_service.entity.StockTransaction;
+import com.pulseone.inventory_service.entity.TransactionType;
+import com.pulseone.inventory_service.entity.UnitType;
+import com.pulseone.inventory_service.exception.InsufficientStockException;
+import com.pulseone.inventory_service.repository.CatalogItemRepository;
+import com.pulseone.inventory_service.repository.InventoryBatchRepository;
+import com.pulseone.inventory_service.repository.StockTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Dispenses whole prescriptions against a real PostgreSQL: a prescription is all or nothing, lines for
+ * the same drug draw from one pool of batches, and on-hand totals follow the batches.
+ */
+class InventoryServiceBulkDispenseTests extends EmbeddedPostgresTests {
+
+	private static final long CLINIC_ID = 1L;
+
+	@Autowired
+	private InventoryService inventoryService;
+
+	@Autowired
+	private CatalogItemRepository catalogItemRepository;
+
+	@Autowired
+	private InventoryBatchRepository inventoryBatchRepository;
+
+	@Autowired
+	private StockTransactionRepository stockTransactionRepository;
+
+	@Test
+	void shortLineRollsBackTheWholePrescription() {
+		CatalogItem amoxicillin = item("Amoxicillin 500mg");
+		stock(amoxicillin, "AMX-1", 3, "1.50", 10);
+		stock(amoxicillin, "AMX-2", 6, "1.50", 10);
+		CatalogItem ibuprofen = item("Ibuprofen 400mg");
+		stock(ibuprofen, "IBU-1", 3, "0.40", 5);
+
+		BulkDispenseRequest request = new BulkDispenseRequest("RX-SHORT", List.of(
+				new DispenseLineRequest(amoxicillin.getId(), 12),
+				new DispenseLineRequest(ibuprofen.getId(), 8)));
+
+		assertThatThrownBy(() -> inventoryService.dispenseBulk(request))
+				.isInstanceOf(InsufficientStockException.class)
+				.hasMessageContaining("Ibuprofen 400mg");
+
+		assertThat(batchQuantities(amoxicillin)).containsExactly(10, 10);
+		assertThat(batchQuantities(ibuprofen)).containsExactly(5);
+		assertThat(onHand(amoxicillin)).isEqualTo(20);
+		assertThat(onHand(ibuprofen)).isEqualTo(5);
+		assertThat(dispensed(amoxicillin)).isEmpty();
+		assertThat(dispensed(ibuprofen)).isEmpty();
+	}
+
+	@Test
+	void linesForTheSameItemDrawFromTheSameBatches() {
+		CatalogItem paracetamol = item("Paracetamol 500mg");
+		stock(paracetamol, "PCM-1", 3, "0.20", 10);
+		stock(paracetamol, "PCM-2", 6, "0.30", 10);
+
+		BulkDispenseResponse response = inventoryService.dispenseBulk(new BulkDispenseRequest("RX-TWICE", List.of(
+				new DispenseLineRequest(paracetamol.getId(), 6),
+				new DispenseLineRequest(paracetamol.getId(), 6))));
+
+		// The second line picks up where the first stopped: 4 more from PCM-1, then 2 from PCM-2
+		assertThat(batchQuantities(paracetamol)).containsExactly(0, 8);
+		assertThat(response.getLines()).extracting(DispenseResponse::getTotalCost)
+				.usingElementComparator(BigDecimal::compareTo)
+				.containsExactly(new BigDecimal("1.20"), new BigDecimal("1.40"));
+		assertThat(onHand(paracetamol)).isEqualTo(8);
+		assertThat(dispensed(paracetamol)).extracting(StockTransaction::getQuantity).containsExactlyInAnyOrder(6, 6);
+	}
+
+	@Test
+	void linesForTheSameItemCannotTogetherExceedItsStock() {
+		CatalogItem cetirizine = item("Cetirizine 10mg");
+		stock(cetirizine, "CTZ-1", 3, "0.10", 10);
+		stock(cetirizine, "CTZ-2", 6, "0.10", 10);
+
+		// Each line fits on its own, together they do not
+		BulkDispenseRequest request = new BulkDispenseRequest("RX-OVER", List.of(
+				new DispenseLineRequest(cetirizine.getId(), 15),
+				new DispenseLineRequest(cetirizine.getId(), 6)));
+
+		assertThatThrownBy(() -> inventoryService.dispenseBulk(request))
+				.isInstanceOf(InsufficientStockException.class);
+
+		assertThat(batchQuantities(cetirizine)).containsExactly(10, 10);
+		assertThat(onHand(cetirizine)).isEqualTo(20);
+		assertThat(dispensed(cetirizine)).isEmpty();
+	}
+
+	@Test
+	void successfulDispenseUpdatesBatchesOnHandTotalsAndLedger() {
+		CatalogItem metformin = item("Metformin 850mg");
+		stock(metformin, "MET-1", 3, "0.50", 4);
+		stock(metformin, "MET-2", 6, "0.60", 20);
+		CatalogItem omeprazole = item("Omeprazole 20mg");
+		stock(omeprazole, "OME-1", 3, "0.80", 10);
+
+		BulkDispenseResponse response = inventoryService.dispenseBulk(new BulkDispenseRequest("RX-OK", List.of(
+				new DispenseLineRequest(metformin.getId(), 7),
+				new DispenseLineRequest(omeprazole.getId(), 3))));
+
+		assertThat(response.getTotalQuantityDispensed()).isEqualTo(10);
+		// 4 x 0.50 + 3 x 0.60 + 3 x 0.80
+		assertThat(response.getTotalCost()).isEqualByComparingTo("6.20");
+
+		assertThat(batchQuantities(metformin)).containsExactly(0, 17);
+		assertThat(batchQuantities(omeprazole)).containsExactly(7);
+		assertThat(onHand(metformin)).isEqualTo(17);
+		assertThat(onHand(omeprazole)).isEqualTo(7);
+
+		assertThat(dispensed(metformin)).singleElement().satisfies(transaction -> {
+			assertThat(transaction.getQuantity()).isEqualTo(7);
+			assertThat(transaction.getReferenceId()).isEqualTo("RX-OK");
+		});
+		assertThat(dispensed(omeprazole)).singleElement()
+				.satisfies(transaction -> assertThat(transaction.getQuantity()).isEqualTo(3));
+	}
+
+	private CatalogItem item(String drugName) {
+		return inventoryService.createCatalogItem(
+				new CreateCatalogItemRequest(CLINIC_ID, drugName, drugName, UnitType.TABLET, 5));
+	}
+
+	private void stock(CatalogItem item, String batchNumber, int monthsToExpiry, String costPrice, int quantity) {
+		inventoryService.addStock(new StockInRequest(item.getId(), batchNumber,
+				LocalDate.now().plusMonths(monthsToExpiry), new BigDecimal(costPrice), quantity));
+	}
+
+	/**
+	 * Available quantity of each of the item's batches, earliest expiry first
+	 */
+	private List<Integer> batchQuantities(CatalogItem item) {
+		return inventoryBatchRepository.findByCatalogItem(item).stream()
+				.sorted(Comparator.comparing(InventoryBatch::getExpiryDate))
+				.map(InventoryBatch::getAvailableQuantity)
+				.toList();
+	}
+
+	private int onHand(CatalogItem item) {
+		return catalogItemRepository.findById(item.getId()).orElseThrow().getOnHandQuantity();
+	}
+
+	private List<StockTransaction> dispensed(CatalogItem item) {
+		return stockTransactionRepository.findAll().stream()
+				.filter(transaction -> transaction.getType() == TransactionType.DISPENSED)
+				.filter(transaction -> transaction.getCatalogItem().getId().equals(item.getId()))
+				.toList();
+	}
+}
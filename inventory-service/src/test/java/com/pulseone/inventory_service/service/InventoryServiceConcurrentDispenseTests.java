@@ -0,0 +1,122 @@
+package com.pulseone.inventory_service.service;
+
+import com.pulseone.inventory_service.dto.CreateCatalogItemRequest;
+import com.pulseone.inventory_service.dto.DispenseRequest;
+import com.pulseone.inventory_service.dto.StockInRequest;
+import com.pulseone.inventory_service.entity.CatalogItem;
+import com.pulseone.inventory_service.entity.InventoryBatch;
+import com.pulseone.inventory_service.entity.StockTransaction;
+import com.pulseone.inventory_service.entity.TransactionType;
+import com.pulseone.inventory_service.entity.UnitType;
+import com.pulseone.inventory_service.exception.InsufficientStockException;
+import com.pulseone.inventory_service.repository.CatalogItemRepository;
+import com.pulseone.inventory_service.repository.InventoryBatchRepository;
+import com.pulseone.inventory_service.repository.StockTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dispenses the same drug from many threads at once against a real PostgreSQL and checks that stock
+ * is never oversold: every successful dispense is backed by batch stock, the batches never go
+ * negative, and the on-hand total and the ledger agree with what was actually taken.
+ */
+class InventoryServiceConcurrentDispenseTests extends EmbeddedPostgresTests {
+
+	private static final int THREADS = 8;
+	private static final int DISPENSES = 40;
+	private static final int UNITS_PER_DISPENSE = 3;
+	private static final int UNITS_PER_BATCH = 25;
+	private static final int BATCHES = 3;
+
+	@Autowired
+	private InventoryService inventoryService;
+
+	@Autowired
+	private CatalogItemRepository catalogItemRepository;
+
+	@Autowired
+	private InventoryBatchRepository inventoryBatchRepository;
+
+	@Autowired
+	private StockTransactionRepository stockTransactionRepository;
+
+	@Test
+	void concurrentDispensesNeverOversell() throws Exception {
+		CatalogItem item = inventoryService.createCatalogItem(
+				new CreateCatalogItemRequest(1L, "Amoxicillin 500mg", "Amoxicillin", UnitType.TABLET, 10));
+		for (int i = 0; i < BATCHES; i++) {
+			inventoryService.addStock(new StockInRequest(item.getId(), "AMX-" + i,
+					LocalDate.now().plusMonths(6 + i), new BigDecimal("1.50"), UNITS_PER_BATCH));
+		}
+		int stocked = BATCHES * UNITS_PER_BATCH;
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < DISPENSES; i++) {
+				Callable<Boolean> dispense = () -> {
+					start.await();
+					try {
+						inventoryService.dispenseDrug(new DispenseRequest(item.getId(), UNITS_PER_DISPENSE, null));
+						return true;
+					} catch (InsufficientStockException e) {
+						return false;
+					}
+				};
+				results.add(executor.submit(dispense));
+			}
+			start.countDown();
+
+			int succeeded = 0;
+			for (Future<Boolean> result : results) {
+				if (getWithin(result)) {
+					succeeded++;
+				}
+			}
+			int dispensed = succeeded * UNITS_PER_DISPENSE;
+
+			// More was requested than stocked, so some dispenses must have been turned away
+			assertThat(DISPENSES * UNITS_PER_DISPENSE).isGreaterThan(stocked);
+			assertThat(dispensed).isLessThanOrEqualTo(stocked);
+			assertThat(succeeded).isGreaterThan(0);
+
+			List<InventoryBatch> batches = inventoryBatchRepository.findAll();
+			assertThat(batches).allSatisfy(batch -> assertThat(batch.getAvailableQuantity()).isBetween(0, UNITS_PER_BATCH));
+			int remaining = batches.stream().mapToInt(InventoryBatch::getAvailableQuantity).sum();
+			assertThat(remaining).isEqualTo(stocked - dispensed);
+
+			CatalogItem reloaded = catalogItemRepository.findById(item.getId()).orElseThrow();
+			assertThat(reloaded.getOnHandQuantity()).isEqualTo(remaining);
+
+			List<StockTransaction> ledger = stockTransactionRepository.findAll();
+			assertThat(ledger.stream().filter(t -> t.getType() == TransactionType.DISPENSED)
+					.mapToInt(StockTransaction::getQuantity).sum()).isEqualTo(dispensed);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static boolean getWithin(Future<Boolean> result) throws InterruptedException, ExecutionException {
+		try {
+			return result.get(60, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			throw new AssertionError("Dispense did not finish within 60 seconds", e);
+		}
+	}
+}
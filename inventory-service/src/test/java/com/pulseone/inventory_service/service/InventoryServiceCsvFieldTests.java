@@ -0,0 +1,31 @@
+package com.pulseone.inventory_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryServiceCsvFieldTests {
+
+	@Test
+	void nullBecomesAnEmptyField() {
+		assertThat(InventoryService.csvField(null)).isEmpty();
+	}
+
+	@Test
+	void plainValuesAreWrittenAsIs() {
+		assertThat(InventoryService.csvField("Amoxicillin 500mg")).isEqualTo("Amoxicillin 500mg");
+		assertThat(InventoryService.csvField("")).isEmpty();
+	}
+
+	@Test
+	void valuesWithDelimitersOrLineBreaksAreQuoted() {
+		assertThat(InventoryService.csvField("Paracetamol, 500mg")).isEqualTo("\"Paracetamol, 500mg\"");
+		assertThat(InventoryService.csvField("line one\nline two")).isEqualTo("\"line one\nline two\"");
+		assertThat(InventoryService.csvField("line one\r\nline two")).isEqualTo("\"line one\r\nline two\"");
+	}
+
+	@Test
+	void embeddedQuotesAreDoubled() {
+		assertThat(InventoryService.csvField("Vitamin \"D3\"")).isEqualTo("\"Vitamin \"\"D3\"\"\"");
+	}
+}
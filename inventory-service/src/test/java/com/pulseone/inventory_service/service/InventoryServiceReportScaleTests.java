@@ -0,0 +1,168 @@
+package com.pulseone.inventory_service.service;
+
+import com.pulseone.inventory_service.dto.ClinicBatchesResponse;
+import com.pulseone.inventory_service.dto.InventoryReportResponse;
+import com.pulseone.inventory_service.dto.StockDetailResponse;
+import com.pulseone.inventory_service.entity.CatalogItem;
+import com.pulseone.inventory_service.repository.CatalogItemRepository;
+import com.pulseone.inventory_service.repository.InventoryBatchRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Clinic inventory reads at 10,000 SKUs (five batches each, next to another clinic of the same size),
+ * run through the service against a real PostgreSQL. Each read must issue a fixed number of SQL
+ * statements however large the catalog is; timings are printed next to the old per-item shape
+ * (one batch lookup per catalog item), run through the same repositories for comparison.
+ *
+ * The production indexes from schema.sql are created before seeding.
+ *
+ * Recorded on embedded PostgreSQL 14.15 on a 1-vCPU VM, median of 5 runs after one warm-up (the per-item
+ * shape only loads the batches, the service reads also build the response DTOs):
+ *
+ *   generateInventoryReport       4 statements      268 ms
+ *   getClinicInventory            2 statements      883 ms
+ *   getAllBatchesByClinic         2 statements     1535 ms
+ *   per-item batch lookups    10001 statements     4079 ms
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InventoryServiceReportScaleTests extends EmbeddedPostgresTests {
+
+	private static final long CLINIC_ID = 1L;
+	private static final int SKUS_PER_CLINIC = 10_000;
+	private static final int BATCHES_PER_SKU = 5;
+	private static final int RUNS = 5;
+
+	@Autowired
+	private InventoryService inventoryService;
+
+	@Autowired
+	private CatalogItemRepository catalogItemRepository;
+
+	@Autowired
+	private InventoryBatchRepository inventoryBatchRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeAll
+	void seed() throws IOException {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		// The test schema comes from the entities, which declare no indexes; add the production ones
+		for (String line : Files.readAllLines(Path.of("schema.sql"))) {
+			if (line.startsWith("CREATE INDEX ")) {
+				jdbcTemplate.execute(line);
+			}
+		}
+		// Clinics 1 and 2, 10,000 SKUs each; every 20th SKU is inactive
+		jdbcTemplate.update("INSERT INTO catalog_items " +
+				"(id, clinic_id, drug_name, generic_name, unit_type, reorder_level, is_active, on_hand_quantity) " +
+				"SELECT gen_random_uuid(), 1 + i / ?, 'Drug ' || i, 'Generic ' || (i % 2000), " +
+				"(ARRAY['TABLET', 'BOTTLE', 'STRIP'])[1 + i % 3], 50 + i % 100, i % 20 <> 0, 0 " +
+				"FROM generate_series(0, ? - 1) AS i", SKUS_PER_CLINIC, 2 * SKUS_PER_CLINIC);
+		jdbcTemplate.update("INSERT INTO inventory_batches " +
+				"(id, catalog_item_id, batch_number, expiry_date, cost_price, available_quantity, version) " +
+				"SELECT gen_random_uuid(), c.id, c.id || '-' || n, CURRENT_DATE + (n * 20 + abs(hashtext(c.drug_name)) % 60), " +
+				"(1 + abs(hashtext(c.drug_name || n)) % 5000) / 100.0, abs(hashtext(c.id || '-' || n)) % 200, 0 " +
+				"FROM catalog_items c CROSS JOIN generate_series(1, ?) AS n", BATCHES_PER_SKU);
+		jdbcTemplate.update("UPDATE catalog_items c SET on_hand_quantity = b.total " +
+				"FROM (SELECT catalog_item_id, SUM(available_quantity) AS total FROM inventory_batches GROUP BY catalog_item_id) b " +
+				"WHERE b.catalog_item_id = c.id");
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@Test
+	void inventoryReportRunsAFixedNumberOfStatements() {
+		Measurement<InventoryReportResponse> report = measure("generateInventoryReport",
+				() -> inventoryService.generateInventoryReport(CLINIC_ID));
+
+		assertThat(report.result.getTotalMedicationCount()).isEqualTo(SKUS_PER_CLINIC);
+		assertThat(report.result.getActiveMedicationCount()).isEqualTo(SKUS_PER_CLINIC - SKUS_PER_CLINIC / 20);
+		assertThat(report.result.getTotalQuantity()).isEqualTo(jdbcTemplate.queryForObject(
+				"SELECT SUM(on_hand_quantity) FROM catalog_items WHERE clinic_id = ?", Integer.class, CLINIC_ID));
+		assertThat(report.result.getTotalInventoryValue()).isEqualByComparingTo(jdbcTemplate.queryForObject(
+				"SELECT SUM(b.cost_price * b.available_quantity) FROM inventory_batches b " +
+						"JOIN catalog_items c ON c.id = b.catalog_item_id WHERE c.clinic_id = ?",
+				BigDecimal.class, CLINIC_ID));
+		assertThat(report.statements).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void clinicInventoryLoadsAllBatchesInOneQuery() {
+		Measurement<List<StockDetailResponse>> inventory = measure("getClinicInventory",
+				() -> inventoryService.getClinicInventory(CLINIC_ID));
+
+		assertThat(inventory.result).hasSize(SKUS_PER_CLINIC)
+				.allSatisfy(item -> assertThat(item.getBatches()).hasSize(BATCHES_PER_SKU));
+		assertThat(inventory.statements).isEqualTo(2);
+	}
+
+	@Test
+	void clinicBatchesLoadAllBatchesInOneQuery() {
+		Measurement<List<ClinicBatchesResponse>> batches = measure("getAllBatchesByClinic",
+				() -> inventoryService.getAllBatchesByClinic(CLINIC_ID));
+
+		assertThat(batches.result).hasSize(SKUS_PER_CLINIC)
+				.allSatisfy(item -> assertThat(item.getBatches()).hasSize(BATCHES_PER_SKU));
+		assertThat(batches.statements).isEqualTo(2);
+	}
+
+	@Test
+	void perItemLookupsGrowWithTheCatalog() {
+		Measurement<Integer> perItem = measure("per-item batch lookups", () -> {
+			int batches = 0;
+			for (CatalogItem item : catalogItemRepository.findByClinicId(CLINIC_ID)) {
+				batches += inventoryBatchRepository.findByCatalogItem(item).size();
+			}
+			return batches;
+		});
+
+		assertThat(perItem.result).isEqualTo(SKUS_PER_CLINIC * BATCHES_PER_SKU);
+		assertThat(perItem.statements).isEqualTo(SKUS_PER_CLINIC + 1L);
+	}
+
+	/**
+	 * Run once to warm up and count statements, then report the median time of RUNS more runs
+	 */
+	private <T> Measurement<T> measure(String name, Supplier<T> call) {
+		statistics.clear();
+		T result = call.get();
+		long statements = statistics.getPrepareStatementCount();
+
+		long[] millis = new long[RUNS];
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			call.get();
+			millis[i] = (System.nanoTime() - start) / 1_000_000;
+		}
+		Arrays.sort(millis);
+		System.out.printf("%-25s %6d statements %8d ms (median of %d)%n", name, statements, millis[RUNS / 2], RUNS);
+		return new Measurement<>(result, statements);
+	}
+
+	private record Measurement<T>(T result, long statements) {
+	}
+}
@@ -7,11 +7,16 @@ import io.swagger.v3.oas.models.servers.Server;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.Components;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class OpenApiConfig {
@@ -37,8 +42,20 @@ public class OpenApiConfig {
                                 .bearerFormat("JWT")));
     }
 
+    /**
+     * RestTemplate for calls to other services.
+     * In virtual-thread mode requests go through the JDK HttpClient, whose blocking calls park the
+     * virtual thread instead of holding a carrier thread.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (!virtualThreads) {
+            return new RestTemplate();
+        }
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        return new RestTemplate(new JdkClientHttpRequestFactory(httpClient));
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.pulseone.profile_service.config;
 
+import com.pulseone.profile_service.monitoring.SqlStatementMonitor;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -22,6 +27,8 @@ public class RabbitMQConfig {
     public static final String CLINIC_UPDATE_QUEUE = "clinic-update-events-profile";
     public static final String CLINIC_UPDATE_ROUTING_KEY = "clinic.update.#";
 
+    public static final String USER_REGISTRATION_LISTENER_FACTORY = "userRegistrationListenerFactory";
+
     /**
      * Declare the user events exchange
      */
@@ -65,4 +72,24 @@ public class RabbitMQConfig {
                 .to(userEventsExchange)
                 .with(CLINIC_UPDATE_ROUTING_KEY);
     }
+
+    /**
+     * Listener container for user registration events
+     * Several consumers with a larger prefetch so registration bursts drain in parallel
+     */
+    @Bean(USER_REGISTRATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory userRegistrationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            SqlStatementMonitor sqlStatementMonitor,
+            @Value("${rabbitmq.listener.user-registration.concurrency:2}") int concurrency,
+            @Value("${rabbitmq.listener.user-registration.max-concurrency:8}") int maxConcurrency,
+            @Value("${rabbitmq.listener.user-registration.prefetch:20}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
+        factory.setAdviceChain(sqlStatementMonitor.listenerAdvice());
+        return factory;
+    }
 }
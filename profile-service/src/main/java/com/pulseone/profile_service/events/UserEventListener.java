@@ -25,7 +25,8 @@ public class UserEventListener {
      * Listen for user registration events
      * This method is called when a new user registers in the auth service
      */
-    @RabbitListener(queues = RabbitMQConfig.USER_REGISTRATION_QUEUE)
+    @RabbitListener(queues = RabbitMQConfig.USER_REGISTRATION_QUEUE,
+                    containerFactory = RabbitMQConfig.USER_REGISTRATION_LISTENER_FACTORY)
     @Transactional
     public void handleUserRegistration(byte[] message) {
         try {
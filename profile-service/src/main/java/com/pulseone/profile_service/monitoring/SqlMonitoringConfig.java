@@ -0,0 +1,49 @@
+package com.pulseone.profile_service.monitoring;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers the profile service's SqlStatementMonitor with Hibernate as statement inspector and
+ * post-load listener, so the profile.sql.* meters cover both requests and user registration deliveries.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementMonitorCustomizer(SqlStatementMonitor sqlStatementMonitor) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementMonitor);
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(postLoadIntegrator(sqlStatementMonitor)));
+        };
+    }
+
+    private static Integrator postLoadIntegrator(SqlStatementMonitor sqlStatementMonitor) {
+        return new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_LOAD, sqlStatementMonitor);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.pulseone.profile_service.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a SQL statement counting unit for each profile-service HTTP request, named by method and
+ * URI template (e.g. "GET /doctor/{userId}"). The /internal/user-events endpoint is counted here as
+ * well, next to the same events arriving over RabbitMQ.
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+
+    public SqlStatementFilter(SqlStatementMonitor sqlStatementMonitor) {
+        this.sqlStatementMonitor = sqlStatementMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!sqlStatementMonitor.begin()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // The URI template is known once the request has been dispatched to a handler
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlStatementMonitor.end("http", request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+        }
+    }
+}